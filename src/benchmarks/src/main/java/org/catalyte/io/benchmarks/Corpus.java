@@ -0,0 +1,65 @@
+package org.catalyte.io.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+
+/**
+ * Realistic benchmark inputs extracted from the page dumps in the test resources: text blocks as
+ * getText() would return them, hrefs and FAQ accordion headers.
+ */
+final class Corpus {
+
+  static final String[] PAGES = {"home.html", "get-hired.html", "hire-apprentices.html"};
+  private static final String BASE_URI = "https://www.catalyte.io/";
+
+  final List<String> texts = new ArrayList<>();
+  final List<String> hrefs = new ArrayList<>();
+  final List<String> faqHeaders = new ArrayList<>();
+
+  private Corpus() {
+  }
+
+  static Corpus load() {
+    Corpus corpus = new Corpus();
+    for (String page : PAGES) {
+      Document doc = parse(page);
+      // Section-level text, like a panel or section getText()
+      for (Element e : doc.select("section, .elementor-tab-content, p, li, h1, h2, h3, h6")) {
+        String text = e.wholeText();
+        if (!text.isBlank()) {
+          corpus.texts.add(text);
+        }
+      }
+      for (Element a : doc.select("a[href]")) {
+        String href = a.absUrl("href");
+        if (href.startsWith("http")) {
+          corpus.hrefs.add(href);
+        }
+      }
+      for (Element h : doc.select(".eael-accordion-tab-title")) {
+        corpus.faqHeaders.add(h.wholeText());
+      }
+    }
+    if (corpus.texts.isEmpty() || corpus.hrefs.isEmpty() || corpus.faqHeaders.isEmpty()) {
+      throw new IllegalStateException("Benchmark corpus is empty; is the test-jar on the classpath?");
+    }
+    return corpus;
+  }
+
+  private static Document parse(String resource) {
+    try (InputStream in = Corpus.class.getClassLoader().getResourceAsStream(resource)) {
+      if (in == null) {
+        throw new IllegalStateException("Cannot find " + resource + " on the classpath");
+      }
+      return Jsoup.parse(new String(in.readAllBytes(), StandardCharsets.UTF_8), BASE_URI);
+    } catch (IOException e) {
+      throw new IllegalStateException("Failed to read " + resource, e);
+    }
+  }
+}
@@ -0,0 +1,49 @@
+package org.catalyte.io.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.catalyte.io.utils.ButtonNavHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+
+/**
+ * Candidate locator construction per button href, as done for every link a test clicks.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class LocatorBuildBenchmark {
+
+  private List<String> hrefs;
+  private int i;
+
+  @Setup(Level.Trial)
+  public void load() {
+    hrefs = Corpus.load().hrefs;
+  }
+
+  @Benchmark
+  public List<By> linkCandidatesByHref() {
+    i = i + 1 == Integer.MAX_VALUE ? 0 : i + 1;
+    return ButtonNavHelper.linkCandidatesByHref(hrefs.get(i % hrefs.size()));
+  }
+
+  @Benchmark
+  public By linkByHref() {
+    i = i + 1 == Integer.MAX_VALUE ? 0 : i + 1;
+    return ButtonNavHelper.linkByHref(hrefs.get(i % hrefs.size()));
+  }
+}
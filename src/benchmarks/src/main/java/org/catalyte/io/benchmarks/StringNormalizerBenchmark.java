@@ -0,0 +1,79 @@
+package org.catalyte.io.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.catalyte.io.utils.StringNormalizer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * StringNormalizer over page text, FAQ headers and hrefs. Each invocation processes one input,
+ * cycling through the corpus so the JIT can't specialise on a single string.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class StringNormalizerBenchmark {
+
+  private final StringNormalizer normalizer = new StringNormalizer();
+  private List<String> texts;
+  private List<String> faqHeaders;
+  private List<String> hrefs;
+  private int i;
+
+  @Setup(Level.Trial)
+  public void load() {
+    Corpus corpus = Corpus.load();
+    texts = corpus.texts;
+    faqHeaders = corpus.faqHeaders;
+    hrefs = corpus.hrefs;
+  }
+
+  private String next(List<String> inputs) {
+    i = i + 1 == Integer.MAX_VALUE ? 0 : i + 1;
+    return inputs.get(i % inputs.size());
+  }
+
+  @Benchmark
+  public String normalizePageText() {
+    return normalizer.normalize(next(texts));
+  }
+
+  @Benchmark
+  public boolean containsNormalizedPageText() {
+    // Phrase the FAQ tests wait for; usually absent, so the whole text is scanned
+    return normalizer.containsNormalized(next(texts), "Be at least 18 years old");
+  }
+
+  @Benchmark
+  public String normalizeFaqHeader() {
+    return normalizer.normalize(next(faqHeaders));
+  }
+
+  @Benchmark
+  public String normalizeLocatorFaqHeader() {
+    return normalizer.normalizeLocator(next(faqHeaders));
+  }
+
+  @Benchmark
+  public String slugifyFaqHeader() {
+    return normalizer.slugify(next(faqHeaders));
+  }
+
+  @Benchmark
+  public String cssEscapeHref() {
+    return normalizer.cssEscape(next(hrefs));
+  }
+}
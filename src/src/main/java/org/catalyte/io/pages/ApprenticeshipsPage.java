@@ -4,12 +4,12 @@ import java.time.Duration;
 import java.util.List;
 import java.util.Locale;
 import java.util.stream.Collectors;
+import org.catalyte.io.utils.LocatorCompiler;
 import org.openqa.selenium.By;
 import org.openqa.selenium.ElementClickInterceptedException;
 import org.openqa.selenium.NoSuchElementException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.pagefactory.ByChained;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 
 /**
@@ -79,11 +79,12 @@ public class ApprenticeshipsPage extends Page {
   }
 
   /**
-   * Example of scoping with ByChained instead of element.findElements(...)
+   * Example of scoping with a locator chain instead of element.findElements(...)
    */
   public List<WebElement> getOpportunityMetrics() {
     By section = By.cssSelector(".elementor-element-269de2dc");
-    return driver.findElements(new ByChained(section, By.cssSelector(".elementor-widget-heading")));
+    return elements.findAll(
+        LocatorCompiler.chain(section, By.cssSelector(".elementor-widget-heading")));
   }
 
   // ==== FAQ helpers ====
@@ -97,7 +98,8 @@ public class ApprenticeshipsPage extends Page {
 
     String want = normalizer.normalize(question);
 
-    List<WebElement> headers = driver.findElements(new ByChained(FAQ_ACCORDION_ROOT, FAQ_HEADERS));
+    List<WebElement> headers =
+        elements.findAll(LocatorCompiler.chain(FAQ_ACCORDION_ROOT, FAQ_HEADERS));
     return headers.stream()
         .filter(h -> normalizer.normalize(h.getText()).equals(want))
         .findFirst()
@@ -116,7 +118,7 @@ public class ApprenticeshipsPage extends Page {
   }
 
   public By getAllFaqsButtonBy() {
-    return new ByChained(allFaqsButtonDiv, ALL_FAQS_INNER);
+    return LocatorCompiler.chain(allFaqsButtonDiv, ALL_FAQS_INNER);
   }
 
   public By getFaqSectionBy() {
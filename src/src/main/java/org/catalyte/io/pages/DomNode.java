@@ -0,0 +1,116 @@
+package org.catalyte.io.pages;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import org.openqa.selenium.Rectangle;
+
+/**
+ * Immutable copy of one element from a {@link DomSnapshot}: tag, visible text, attributes,
+ * bounding rect and visibility. Querying it never talks to the browser.
+ */
+public final class DomNode {
+
+  private final String tag;
+  private final String text;
+  private final Map<String, String> attributes;
+  private final int x, y, width, height;
+  private final boolean visible;
+  private final List<DomNode> children;
+
+  DomNode(String tag, String text, Map<String, String> attributes, int x, int y, int width,
+      int height, boolean visible, List<DomNode> children) {
+    this.tag = tag;
+    this.text = text;
+    this.attributes = Collections.unmodifiableMap(new LinkedHashMap<>(attributes));
+    this.x = x;
+    this.y = y;
+    this.width = width;
+    this.height = height;
+    this.visible = visible;
+    this.children = List.copyOf(children);
+  }
+
+  // ===== Predicates for findAll/find =====
+  public static Predicate<DomNode> tag(String tagName) {
+    return n -> n.tag.equalsIgnoreCase(tagName);
+  }
+
+  public static Predicate<DomNode> hasClass(String className) {
+    return n -> n.hasCssClass(className);
+  }
+
+  public static Predicate<DomNode> hasAttribute(String name) {
+    return n -> n.attributes.containsKey(name);
+  }
+
+  public String tag() {
+    return tag;
+  }
+
+  /**
+   * Rendered text of the element (innerText, trimmed), same as WebElement#getText.
+   */
+  public String text() {
+    return text;
+  }
+
+  /**
+   * Attribute value, or null. href/src hold the resolved absolute URL, like getAttribute does.
+   */
+  public String attr(String name) {
+    return attributes.get(name);
+  }
+
+  public Map<String, String> attributes() {
+    return attributes;
+  }
+
+  public boolean hasCssClass(String className) {
+    String cls = attributes.get("class");
+    return cls != null && Arrays.asList(cls.trim().split("\\s+")).contains(className);
+  }
+
+  public Rectangle rect() {
+    return new Rectangle(x, y, height, width);
+  }
+
+  public boolean isDisplayed() {
+    return visible;
+  }
+
+  public List<DomNode> children() {
+    return children;
+  }
+
+  /**
+   * This node and all descendants, in document order.
+   */
+  public Stream<DomNode> stream() {
+    return Stream.concat(Stream.of(this), children.stream().flatMap(DomNode::stream));
+  }
+
+  public List<DomNode> findAll(Predicate<DomNode> filter) {
+    List<DomNode> out = new ArrayList<>();
+    for (DomNode child : children) {
+      child.stream().filter(filter).forEach(out::add);
+    }
+    return out;
+  }
+
+  public Optional<DomNode> find(Predicate<DomNode> filter) {
+    return children.stream().flatMap(DomNode::stream).filter(filter).findFirst();
+  }
+
+  @Override
+  public String toString() {
+    String id = attributes.get("id");
+    return "<" + tag + (id != null ? " id=" + id : "") + "> " + text;
+  }
+}
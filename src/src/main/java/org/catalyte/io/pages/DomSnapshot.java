@@ -0,0 +1,141 @@
+package org.catalyte.io.pages;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Predicate;
+import org.catalyte.io.utils.ScriptLocators;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Immutable model of one or more DOM subtrees, serialized by a single executeScript call.
+ * <p>
+ * Use it where a page object would otherwise call getText()/getAttribute() per element: every
+ * one of those is a WebDriver round-trip, while queries on a snapshot are local.
+ */
+public final class DomSnapshot {
+
+  /**
+   * Serialized node cap per capture; keeps accidental whole-page snapshots bounded.
+   */
+  public static final int MAX_NODES = 5000;
+
+  private static final String CAPTURE = ScriptLocators.RESOLVE_FN + """
+      var locators = arguments[0], budget = arguments[1];
+      function visible(el, r) {
+        if (r.width <= 0 || r.height <= 0) { return false; }
+        if (el.checkVisibility) {
+          return el.checkVisibility({checkOpacity: true, checkVisibilityCSS: true});
+        }
+        var cs = getComputedStyle(el);
+        return cs.display !== 'none' && cs.visibility !== 'hidden' && cs.opacity !== '0';
+      }
+      function ser(el) {
+        if (budget-- <= 0) { return null; }
+        var r = el.getBoundingClientRect(), a = {};
+        for (var i = 0; i < el.attributes.length; i++) {
+          a[el.attributes[i].name] = el.attributes[i].value;
+        }
+        if (el.href && typeof el.href === 'string') { a.href = el.href; }
+        if (el.src && typeof el.src === 'string') { a.src = el.src; }
+        var kids = [];
+        for (var c = el.firstElementChild; c; c = c.nextElementSibling) {
+          if (c.tagName === 'SCRIPT' || c.tagName === 'STYLE') { continue; }
+          var k = ser(c);
+          if (k) { kids.push(k); }
+        }
+        var text = el.innerText !== undefined ? el.innerText : el.textContent;
+        return {t: el.tagName.toLowerCase(), x: (text || '').trim(), a: a,
+            r: [r.left + window.scrollX, r.top + window.scrollY, r.width, r.height],
+            v: visible(el, r), c: kids};
+      }
+      return locators.map(function (loc) {
+        return __resolve(loc).map(ser).filter(function (n) { return n; });
+      });
+      """;
+
+  private final List<DomNode> roots;
+
+  private DomSnapshot(List<DomNode> roots) {
+    this.roots = List.copyOf(roots);
+  }
+
+  /**
+   * Snapshot every element matched by the locator (with its subtree) in one round-trip
+   * (ByChained/RelativeLocator need one extra lookup first).
+   */
+  public static DomSnapshot capture(WebDriver driver, By by) {
+    return captureEach(driver, List.of(by)).get(0);
+  }
+
+  /**
+   * One snapshot per locator, all serialized by the same script call; order follows the input.
+   */
+  public static List<DomSnapshot> captureEach(WebDriver driver, List<By> locators) {
+    List<Object> args = new ArrayList<>();
+    for (By by : locators) {
+      args.add(ScriptLocators.argument(driver, by));
+    }
+    Object raw = ((JavascriptExecutor) driver).executeScript(CAPTURE, args, MAX_NODES);
+
+    List<DomSnapshot> out = new ArrayList<>();
+    List<?> perLocator = raw instanceof List<?> l ? l : List.of();
+    for (int i = 0; i < locators.size(); i++) {
+      List<DomNode> nodes = new ArrayList<>();
+      if (i < perLocator.size() && perLocator.get(i) instanceof List<?> matches) {
+        for (Object m : matches) {
+          nodes.add(toNode(m));
+        }
+      }
+      out.add(new DomSnapshot(nodes));
+    }
+    return out;
+  }
+
+  private static DomNode toNode(Object raw) {
+    Map<?, ?> m = (Map<?, ?>) raw;
+    Map<String, String> attrs = new java.util.LinkedHashMap<>();
+    if (m.get("a") instanceof Map<?, ?> a) {
+      a.forEach((k, v) -> attrs.put(String.valueOf(k), String.valueOf(v)));
+    }
+    List<?> r = m.get("r") instanceof List<?> l ? l : List.of(0, 0, 0, 0);
+    List<DomNode> children = new ArrayList<>();
+    if (m.get("c") instanceof List<?> kids) {
+      for (Object k : kids) {
+        children.add(toNode(k));
+      }
+    }
+    return new DomNode(String.valueOf(m.get("t")), String.valueOf(m.get("x")), attrs,
+        num(r, 0), num(r, 1), num(r, 2), num(r, 3), Boolean.TRUE.equals(m.get("v")), children);
+  }
+
+  private static int num(List<?> values, int i) {
+    Object v = values.get(i);
+    return v instanceof Number n ? (int) Math.round(n.doubleValue()) : 0;
+  }
+
+  /**
+   * Elements matched by the locator, in document order.
+   */
+  public List<DomNode> roots() {
+    return roots;
+  }
+
+  public Optional<DomNode> first() {
+    return roots.stream().findFirst();
+  }
+
+  public boolean isEmpty() {
+    return roots.isEmpty();
+  }
+
+  /**
+   * Matching nodes anywhere in the snapshot (roots included), in document order.
+   */
+  public List<DomNode> findAll(Predicate<DomNode> filter) {
+    return roots.stream().flatMap(DomNode::stream).filter(filter).toList();
+  }
+}
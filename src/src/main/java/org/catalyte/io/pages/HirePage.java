@@ -3,10 +3,10 @@ package org.catalyte.io.pages;
 import java.time.Duration;
 import java.util.List;
 import java.util.NoSuchElementException;
+import org.catalyte.io.utils.LocatorCompiler;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.pagefactory.ByChained;
 
 public class HirePage extends Page {
 
@@ -65,25 +65,37 @@ public class HirePage extends Page {
     return driver.findElement(image3111);
   }
 
+  public By getImage3111By() {
+    return image3111;
+  }
+
   public WebElement getImage3112() {
     return driver.findElement(image3112);
   }
 
+  public By getImage3112By() {
+    return image3112;
+  }
+
   public WebElement getImage3113() {
     return driver.findElement(image3113);
   }
 
+  public By getImage3113By() {
+    return image3113;
+  }
+
   // ===== Buttons / videos (driver-scoped, not element.findElement(...)) =====
 
   /**
-   * Button inside a known “small size” scope; uses ByChained to scope and reach the text anchor.
+   * Button inside a known “small size” scope; chained to reach the text anchor.
    */
   public WebElement getWorkWithUsButton() {
-    return driver.findElement(new ByChained(workWithUsButtonScope, BUTTON_TEXT_ANCHOR));
+    return elements.find(LocatorCompiler.chain(workWithUsButtonScope, BUTTON_TEXT_ANCHOR));
   }
 
   public By getWorkWithUsButtonBy() {
-    return new ByChained(workWithUsButtonScope, BUTTON_TEXT_ANCHOR);
+    return LocatorCompiler.chain(workWithUsButtonScope, BUTTON_TEXT_ANCHOR);
   }
 
   public By getWorkWithUsButtonScope() {
@@ -95,7 +107,7 @@ public class HirePage extends Page {
   }
 
   public WebElement getAboutAIButton() {
-    return driver.findElement(new ByChained(aboutAIButtonDiv, BUTTON_ANCHOR));
+    return elements.find(LocatorCompiler.chain(aboutAIButtonDiv, BUTTON_ANCHOR));
   }
 
   public By getAboutAiSectionBy() {
@@ -107,7 +119,7 @@ public class HirePage extends Page {
   }
 
   public By getAboutAIButtonBy() {
-    return new ByChained(aboutAIButtonDiv, BUTTON_ANCHOR);
+    return LocatorCompiler.chain(aboutAIButtonDiv, BUTTON_ANCHOR);
   }
 
   public By getAboutAIButtonDivBy() {
@@ -122,11 +134,19 @@ public class HirePage extends Page {
     return driver.findElement(testimonialsVideo);
   }
 
+  public By getPRVideoBy() {
+    return prVideo;
+  }
+
+  public By getTestimonialsVideoBy() {
+    return testimonialsVideo;
+  }
+
   // ===== FAQ helpers =====
 
   /**
    * Find the FAQ header by visible text (case/space-insensitive). Uses driver-scoped search +
-   * ByChained for header text span (no element-context relative locators).
+   * Chained locator for header text span (no element-context relative locators).
    */
   private WebElement findFaqHeaderByText(String question) {
     // bring section heading into view if present (optional QoL)
@@ -138,9 +158,9 @@ public class HirePage extends Page {
 
     String want = normalizer.normalize(question);
 
-    // Get all headers under the accordion root via ByChained
-    List<WebElement> headers = driver.findElements(
-        new ByChained(HIRE_FAQ_ACCORDION_ROOT, HIRE_FAQ_HEADERS));
+    // Get all headers under the accordion root via one chained locator
+    List<WebElement> headers = elements.findAll(
+        LocatorCompiler.chain(HIRE_FAQ_ACCORDION_ROOT, HIRE_FAQ_HEADERS));
 
     return headers.stream()
         .filter(h -> {
@@ -163,12 +183,12 @@ public class HirePage extends Page {
     return accordionTextEventuallyContains(header, expected, timeout);
   }
 
-  // ===== All FAQs button (scoped with ByChained) =====
+  // ===== All FAQs button (scoped with a chain) =====
   public WebElement getAllFaqsButton() {
-    return driver.findElement(new ByChained(allFaqsButtonDiv, ALL_FAQS_BUTTON_INNER));
+    return elements.find(LocatorCompiler.chain(allFaqsButtonDiv, ALL_FAQS_BUTTON_INNER));
   }
 
   public By getAllFaqsButtonBy() {
-    return new ByChained(allFaqsButtonDiv, ALL_FAQS_BUTTON_INNER);
+    return LocatorCompiler.chain(allFaqsButtonDiv, ALL_FAQS_BUTTON_INNER);
   }
 }
\ No newline at end of file
@@ -1,13 +1,13 @@
 package org.catalyte.io.pages;
 
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import org.catalyte.io.utils.LocatorCompiler;
 import org.openqa.selenium.By;
 import org.openqa.selenium.NoSuchElementException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.pagefactory.ByChained;
 
 public class HomePage extends Page {
 
@@ -56,9 +56,9 @@ public class HomePage extends Page {
     return driver.findElement(hireAccordion);
   }
 
-  // ===== scoped queries via ByChained (no RelativeLocator) =====
+  // ===== scoped queries via compiled chains (no RelativeLocator) =====
   public List<WebElement> getHomepageHeadingElements() {
-    return driver.findElements(new ByChained(homepageHeadingSection, CHILD_ELEMENT));
+    return elements.findAll(LocatorCompiler.chain(homepageHeadingSection, CHILD_ELEMENT));
   }
 
   public By getHomepageHeadingSectionBy() {
@@ -78,27 +78,28 @@ public class HomePage extends Page {
   }
 
   public WebElement getGetStartedButton() {
-    return driver.findElement(new ByChained(homepageHeadingSection, BUTTON_ANCHOR));
+    return elements.find(LocatorCompiler.chain(homepageHeadingSection, BUTTON_ANCHOR));
   }
 
   public By getGetStartedButtonBy() {
-    return new ByChained(homepageHeadingSection, BUTTON_ANCHOR);
+    return LocatorCompiler.chain(homepageHeadingSection, BUTTON_ANCHOR);
   }
 
   public List<WebElement> getTopHomepageInfoboxes() {
-    return driver.findElements(new ByChained(homepageInfoboxesSectionTop, CHILD_ELEMENT));
+    return elements.findAll(LocatorCompiler.chain(homepageInfoboxesSectionTop, CHILD_ELEMENT));
   }
 
   public List<WebElement> getBottomHomepageInfoboxes() {
-    return driver.findElements(new ByChained(homepageInfoboxesSectionBottom, CHILD_ELEMENT));
+    return elements.findAll(LocatorCompiler.chain(homepageInfoboxesSectionBottom, CHILD_ELEMENT));
   }
 
   public WebElement getPartnerWithUsButton() {
-    return driver.findElement(new ByChained(homepageMidpointDivider, WIDGET_BUTTON, BUTTON_ANCHOR));
+    return elements.find(
+        LocatorCompiler.chain(homepageMidpointDivider, WIDGET_BUTTON, BUTTON_ANCHOR));
   }
 
   public By getPartnerWithUsButtonBy() {
-    return new ByChained(homepageMidpointDivider, WIDGET_BUTTON, BUTTON_ANCHOR);
+    return LocatorCompiler.chain(homepageMidpointDivider, WIDGET_BUTTON, BUTTON_ANCHOR);
   }
 
   public WebElement getHomepageClientTypeHeading() {
@@ -139,14 +140,20 @@ public class HomePage extends Page {
         homepageClientTypeSectionPrivateEquity);
   }
 
+  /**
+   * Section locator → heading text, read with a single snapshot of all five sections.
+   */
   public Map<By, String> getHomepageClientTypes() {
     List<By> sections = getHomepageClientTypeSectionBys();
-    List<String> headings = getHomepageClientTypeSections().stream().map(WebElement::getText)
-        .toList();
-    return sections.stream().collect(Collectors.toMap(
-        key -> key,
-        key -> headings.get(sections.indexOf(key))
-    ));
+    List<DomSnapshot> snapshots = snapshotEach(sections);
+    Map<By, String> headings = new LinkedHashMap<>();
+    for (int i = 0; i < sections.size(); i++) {
+      By sectionBy = sections.get(i);
+      DomNode section = snapshots.get(i).first().orElseThrow(
+          () -> new NoSuchElementException("Client type section not found: " + sectionBy));
+      headings.put(sectionBy, section.text());
+    }
+    return headings;
   }
 
   /**
@@ -156,7 +163,7 @@ public class HomePage extends Page {
    */
   public WebElement getEngagementModelsLearnMoreButton() {
     List<WebElement> buttons = driver.findElements(
-        new ByChained(homepageEngagementModelsSection, BUTTON_ANCHOR));
+        LocatorCompiler.chain(homepageEngagementModelsSection, BUTTON_ANCHOR));
     if (buttons.isEmpty()) {
       throw new NoSuchElementException("No engagement model buttons found");
     }
@@ -164,12 +171,12 @@ public class HomePage extends Page {
   }
 
   public By getEngagementModelsLearnMoreButtonBy() {
-    return new ByChained(homepageEngagementModelsSection, BUTTON_ANCHOR);
+    return LocatorCompiler.chain(homepageEngagementModelsSection, BUTTON_ANCHOR);
   }
 
   // ===== Helper: child elements by section (By-based to avoid stale) =====
   public List<WebElement> getChildElements(By sectionBy) {
-    return driver.findElements(new ByChained(sectionBy, CHILD_ELEMENT));
+    return elements.findAll(LocatorCompiler.chain(sectionBy, CHILD_ELEMENT));
   }
 
   /**
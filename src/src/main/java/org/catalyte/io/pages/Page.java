@@ -1,14 +1,23 @@
 package org.catalyte.io.pages;
 
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
 import java.time.Duration;
+import java.util.List;
+import org.catalyte.io.utils.ConfigUtil;
+import org.catalyte.io.utils.ElementCache;
+import org.catalyte.io.utils.ScriptLocators;
+import org.catalyte.io.utils.Settle;
 import org.catalyte.io.utils.StringNormalizer;
 import org.openqa.selenium.By;
 import org.openqa.selenium.ElementClickInterceptedException;
+import org.openqa.selenium.JavascriptException;
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.ScriptTimeoutException;
 import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.interactions.Actions;
@@ -17,18 +26,75 @@ import org.openqa.selenium.support.ui.WebDriverWait;
 
 public class Page {
 
+  /**
+   * Async script: resolves true once the panel is shown (non-zero rect), has text if required and
+   * its normalized text contains the (already normalized) expected value; false after the budget.
+   * Re-checks on DOM mutations, resizes and transition/animation ends instead of polling. The text
+   * normalization mirrors StringNormalizer#normalize.
+   */
+  private static final String AWAIT_PANEL = ScriptLocators.RESOLVE_FN + """
+      var locator = arguments[0], requireText = arguments[1], want = arguments[2];
+      var budget = arguments[3], done = arguments[arguments.length - 1];
+      function norm(s) {
+        return (s || '').replace(/[\\u00A0\\u2022]/g, ' ').replace(/[\\u2013\\u2014]/g, '-')
+            .replace(/[ \\t\\n\\x0B\\f\\r]+/g, ' ').replace(/^[\\x00-\\x20]+|[\\x00-\\x20]+$/g, '')
+            .toLowerCase();
+      }
+      function panel() { return __resolve(locator)[0]; }
+      function ready() {
+        var p = panel();
+        if (!p || !p.isConnected) { return false; }
+        var r = p.getBoundingClientRect();
+        if (r.width <= 0 || r.height <= 0) { return false; }
+        if (p.checkVisibility && !p.checkVisibility({checkVisibilityCSS: true})) { return false; }
+        if (!requireText && want == null) { return true; }
+        var text = norm(p.innerText);
+        return (!requireText || text.length > 0) && (want == null || text.indexOf(want) >= 0);
+      }
+      if (ready()) { done(true); return; }
+      var finished = false, mo, ro, timer;
+      function finish(result) {
+        if (finished) { return; }
+        finished = true;
+        clearTimeout(timer);
+        if (mo) { mo.disconnect(); }
+        if (ro) { ro.disconnect(); }
+        document.removeEventListener('transitionend', check, true);
+        document.removeEventListener('animationend', check, true);
+        done(result);
+      }
+      function check() { if (!finished && ready()) { finish(true); } }
+      var p = panel(), target = (p && p.parentElement) || document.body;
+      mo = new MutationObserver(check);
+      mo.observe(target, {subtree: true, childList: true, attributes: true, characterData: true});
+      if (p && window.ResizeObserver) {
+        ro = new ResizeObserver(check);
+        ro.observe(p);
+      }
+      document.addEventListener('transitionend', check, true);
+      document.addEventListener('animationend', check, true);
+      timer = setTimeout(function () { finish(ready()); }, budget);
+      """;
+
   protected final WebDriver driver;
   protected final WebDriverWait wait;
   protected final StringNormalizer normalizer;
-  Duration defaultWait = Duration.ofSeconds(10);
+  // Resolved elements for the current document; dropped on navigation
+  protected final ElementCache elements;
+  // Long bound for element waits and panels, short one for optional checks (wait.timeout/default)
+  protected final Duration waitTimeout;
+  Duration defaultWait;
 
   public Page(WebDriver driver) {
     if (driver == null) {
       throw new IllegalArgumentException("WebDriver must not be null");
     }
     this.driver = driver;
-    this.wait = new WebDriverWait(driver, Duration.ofSeconds(20));
+    this.waitTimeout = ConfigUtil.getDuration("wait.timeout", Duration.ofSeconds(20));
+    this.defaultWait = ConfigUtil.getDuration("wait.default", Duration.ofSeconds(10));
+    this.wait = new WebDriverWait(driver, waitTimeout);
     this.normalizer = new StringNormalizer();
+    this.elements = new ElementCache(driver);
   }
 
   protected WebElement find(By locator) {
@@ -49,11 +115,25 @@ public class Page {
     return find(locator).getText();
   }
 
+  /**
+   * Text/attributes/rect/visibility of everything under the locator, in one round-trip.
+   */
+  public DomSnapshot snapshot(By locator) {
+    return DomSnapshot.capture(driver, locator);
+  }
+
+  /**
+   * One snapshot per locator, captured together in a single round-trip.
+   */
+  public List<DomSnapshot> snapshotEach(List<By> locators) {
+    return DomSnapshot.captureEach(driver, locators);
+  }
+
   /**
    * Helper methods to fix flaky clicks.
    **/
   /* ------------------------------------- */
-  public void playVimeoVideo(String widgetCssLocator) throws InterruptedException {
+  public void playVimeoVideo(String widgetCssLocator) {
     WebElement overlay = wait.until(ExpectedConditions.elementToBeClickable(
         By.cssSelector(widgetCssLocator + " .elementor-wrapper")));
     overlay.click();
@@ -66,7 +146,7 @@ public class Page {
         ExpectedConditions.elementToBeClickable(By.cssSelector("button[aria-label='Play']")));
     playButton.click();
 
-    Thread.sleep(2000);
+    // The player swaps Play for Pause once playback has started
     WebElement pauseButton = wait.until(ExpectedConditions.visibilityOfElementLocated(
         By.cssSelector("button[aria-label='Pause']")));
     if (!pauseButton.isDisplayed()) {
@@ -93,14 +173,8 @@ public class Page {
     // wait for presence & visibility & clickability
     WebElement el = wait.until(ExpectedConditions.elementToBeClickable(locator));
 
-    // bring to a safe position (avoid sticky header/footers)
-    scrollToCenter(el);
-
-    // small settle to let CSS/animation finish
-    try {
-      Thread.sleep(75);
-    } catch (InterruptedException ignored) {
-    }
+    // bring to a safe position (avoid sticky header/footers) and let scroll/animation finish
+    Settle.forClick(driver, el);
 
     try {
       el.click();
@@ -122,10 +196,9 @@ public class Page {
           "#onetrust-accept-btn-handler, .ot-sdk-container [data-handler='accept']"));
       if (accept.isDisplayed()) {
         ((JavascriptExecutor) driver).executeScript("arguments[0].click();", accept);
-        Thread.sleep(100); // brief settle
+        Settle.quiet(driver); // banner close animation
       }
-    } catch (NoSuchElementException | StaleElementReferenceException |
-             InterruptedException ignored) {
+    } catch (NoSuchElementException | StaleElementReferenceException ignored) {
     }
   }
 
@@ -133,11 +206,7 @@ public class Page {
    * Click a specific WebElement safely: centers, retries with JS on intercept.
    */
   protected void safeClick(WebElement el) {
-    scrollToCenter(el);
-    try {
-      Thread.sleep(60);
-    } catch (InterruptedException ignored) {
-    }
+    Settle.forClick(driver, el);
     try {
       el.click();
     } catch (ElementClickInterceptedException e) {
@@ -157,16 +226,10 @@ public class Page {
    */
   protected WebElement expandAccordion(WebElement headerEl, By panelLocator, boolean requireText) {
     safeClick(headerEl);
-    return wait.until(d -> {
-      WebElement panel = d.findElement(panelLocator);
-      if (!panel.isDisplayed()) {
-        return null;
-      }
-      if (requireText && panel.getText().trim().isEmpty()) {
-        return null;
-      }
-      return panel;
-    });
+    if (!awaitPanel(panelLocator, requireText, null, waitTimeout)) {
+      throw new TimeoutException("Accordion panel not shown: " + panelLocator);
+    }
+    return driver.findElement(panelLocator);
   }
 
   /**
@@ -206,50 +269,90 @@ public class Page {
    * aria-controls, and wait until expanded.
    */
   protected WebElement expandAccordionStable(WebElement headerEl, Duration timeout) {
+    By panelBy = openAccordion(headerEl);
+    // Wait for the panel to be visible and have non-zero height
+    if (!awaitPanel(panelBy, false, null, timeout)) {
+      throw new TimeoutException("Accordion panel not shown within " + timeout + ": " + panelBy);
+    }
+    return driver.findElement(panelBy);
+  }
+
+  /**
+   * Expand via aria-controls, then wait until panel text contains expected (normalized)
+   */
+  protected boolean accordionTextEventuallyContains(WebElement headerEl, String expected,
+      Duration timeout) {
+    return awaitPanel(openAccordion(headerEl), false, expected, timeout);
+  }
+
+  // Click the header unless already expanded; returns the aria-controls panel locator
+  private By openAccordion(WebElement headerEl) {
     String controlsId = headerEl.getAttribute("aria-controls");
     if (controlsId == null || controlsId.isBlank()) {
       throw new IllegalStateException("Accordion header missing aria-controls");
     }
-    By panelBy = By.id(controlsId.trim());
-
     // If not expanded, click it (some themes toggle aria-expanded on header)
     String expanded = String.valueOf(headerEl.getAttribute("aria-expanded"));
     if (!"true".equalsIgnoreCase(expanded)) {
       safeClick(headerEl);
     }
-
-    // Wait for the panel to be visible and have non-zero height
-    WebDriverWait localWait =
-        new WebDriverWait(driver, timeout);
-    return localWait.until(d -> {
-      WebElement panel = d.findElement(panelBy);
-      boolean visible = panel.isDisplayed() && panel.getRect().height > 0;
-      return visible ? panel : null;
-    });
+    return By.id(controlsId.trim());
   }
 
   /**
-   * Expand via aria-controls, then wait until panel text contains expected (normalized)
+   * Wait until the panel is displayed with a non-zero height, has text (if requireText) and its
+   * normalized text contains {@code expected} (if not null). Event-driven: one async script
+   * round-trip per script-timeout window; falls back to polling if async scripts fail.
    */
-  protected boolean accordionTextEventuallyContains(WebElement headerEl, String expected,
+  protected boolean awaitPanel(By panelBy, boolean requireText, String expected,
       Duration timeout) {
-    WebElement panel = expandAccordionStable(headerEl, timeout);
-    String want = normalizer.normalize(expected);
-    long end =
-        System.nanoTime() + MILLISECONDS.toNanos(timeout.toMillis());
+    String want = expected == null ? null : normalizer.normalize(expected);
+    long end = System.nanoTime() + timeout.toNanos();
+    try {
+      long windowMs = driver.manage().timeouts().getScriptTimeout().toMillis() - 500;
+      while (windowMs > 0) {
+        long remainingMs = MILLISECONDS.convert(end - System.nanoTime(), NANOSECONDS);
+        if (remainingMs <= 0) {
+          return false;
+        }
+        Object ready = js().executeAsyncScript(AWAIT_PANEL,
+            ScriptLocators.argument(driver, panelBy), requireText, want,
+            Math.min(remainingMs, windowMs));
+        if (Boolean.TRUE.equals(ready)) {
+          return true;
+        }
+      }
+    } catch (ScriptTimeoutException | JavascriptException | UnsupportedOperationException e) {
+      // fall through to polling for whatever time is left
+    }
     while (System.nanoTime() < end) {
-      String got = normalizer.normalize(panel.getText());
-      if (got.contains(want)) {
+      if (panelReady(panelBy, requireText, expected)) {
         return true;
       }
       try {
         Thread.sleep(75);
-      } catch (InterruptedException ignored) {
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return false;
       }
     }
     return false;
   }
 
+  private boolean panelReady(By panelBy, boolean requireText, String expected) {
+    try {
+      WebElement panel = driver.findElement(panelBy);
+      if (!panel.isDisplayed() || panel.getRect().height <= 0) {
+        return false;
+      }
+      String text = (requireText || expected != null) ? panel.getText() : "";
+      return (!requireText || !text.isBlank())
+          && (expected == null || normalizer.containsNormalized(text, expected));
+    } catch (NoSuchElementException | StaleElementReferenceException e) {
+      return false;
+    }
+  }
+
   //Confirm the driver model supports JavaScriptExecutor
   protected JavascriptExecutor js() {
     if (driver instanceof JavascriptExecutor) {
@@ -1,25 +1,23 @@
 package org.catalyte.io.pages;
 
-import java.util.Arrays;
 import java.util.List;
+import org.catalyte.io.utils.LocatorCompiler;
+import org.catalyte.io.utils.SiteUrls;
 import org.openqa.selenium.By;
 import org.openqa.selenium.NoSuchElementException;
-import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.locators.RelativeLocator;
-import org.openqa.selenium.support.pagefactory.ByChained;
-import org.openqa.selenium.support.ui.WebDriverWait;
 
 public class PageFooter extends Page {
 
   private static final By H6_HEADING = By.cssSelector("h6.elementor-heading-title");
   private static final By MENU_LINKS = By.cssSelector("a.menu-link[href]");
-  private final List<String> pageURLs = Arrays.asList(
+  private final List<String> pageURLs = SiteUrls.resolveAll(List.of(
       "https://catalyte.io",
       "https://www.catalyte.io/hire-talent/hire-apprentices/",
       "https://www.catalyte.io/apprenticeships/"
-  );
+  ));
   //footer sections
   private final By pageFooterSectionTop = By.cssSelector(".elementor-element-462c93c");
   private final By pageFooterSectionDivider = By.cssSelector(".elementor-element-2eda9b3");
@@ -30,6 +28,12 @@ public class PageFooter extends Page {
   private final By pageFooterNavMenuServices = By.cssSelector(".elementor-element-7195032");
   private final By pageFooterNavMenuJobs = By.cssSelector(".elementor-element-06876e6");
   private final By pageFooterNavMenuFollow = By.cssSelector(".elementor-element-f14ad7f");
+  //Nav menu headings (h6 above each menu)
+  private final By companyHeadingBy =
+      RelativeLocator.with(H6_HEADING).above(pageFooterNavMenuAbout);
+  private final By servicesHeadingBy =
+      RelativeLocator.with(H6_HEADING).above(pageFooterNavMenuServices);
+  private final By jobsHeadingBy = RelativeLocator.with(H6_HEADING).above(pageFooterNavMenuJobs);
 
   public PageFooter(WebDriver driver) {
     super(driver);
@@ -68,7 +72,7 @@ public class PageFooter extends Page {
    * All buttons in the top footer section (scoped) — works for n buttons.
    */
   public List<WebElement> getTopFooterSectionButtons() {
-    return driver.findElements(new ByChained(
+    return elements.findAll(LocatorCompiler.chain(
         pageFooterSectionTop,
         By.cssSelector("a.elementor-button")
     ));
@@ -94,19 +98,17 @@ public class PageFooter extends Page {
     return driver.findElement(pageFooterSectionLegal);
   }
 
+  // RelativeLocator ships a JS atom per lookup; built once and resolved through the cache
   public WebElement companyHeading() {
-    By rel = RelativeLocator.with(H6_HEADING).above(pageFooterNavMenuAbout);
-    return driver.findElement(rel); // ✅ relative locator on driver
+    return elements.find(companyHeadingBy);
   }
 
   public WebElement servicesHeading() {
-    By rel = RelativeLocator.with(H6_HEADING).above(pageFooterNavMenuServices);
-    return driver.findElement(rel);
+    return elements.find(servicesHeadingBy);
   }
 
   public WebElement jobsHeading() {
-    By rel = RelativeLocator.with(H6_HEADING).above(pageFooterNavMenuJobs);
-    return driver.findElement(rel);
+    return elements.find(jobsHeadingBy);
   }
 
   public List<WebElement> getNavMenuHeadings() {
@@ -114,30 +116,26 @@ public class PageFooter extends Page {
   }
 
   public List<By> getNavMenuHeadingBys() {
-    return List.of(
-        RelativeLocator.with(H6_HEADING).above(pageFooterNavMenuAbout),
-        RelativeLocator.with(H6_HEADING).above(pageFooterNavMenuServices),
-        RelativeLocator.with(H6_HEADING).above(pageFooterNavMenuJobs)
-    );
+    return List.of(companyHeadingBy, servicesHeadingBy, jobsHeadingBy);
   }
 
   public List<WebElement> companyLinks() {
-    return driver.findElements(
-        new ByChained(pageFooterNavMenuAbout, MENU_LINKS));  // ✅ scoped without RelativeLocator
+    // ✅ scoped without RelativeLocator
+    return elements.findAll(LocatorCompiler.chain(pageFooterNavMenuAbout, MENU_LINKS));
   }
 
   public List<WebElement> servicesLinks() {
-    return driver.findElements(new ByChained(pageFooterNavMenuServices, MENU_LINKS));
+    return elements.findAll(LocatorCompiler.chain(pageFooterNavMenuServices, MENU_LINKS));
   }
 
   public List<WebElement> jobsLinks() {
-    return driver.findElements(new ByChained(pageFooterNavMenuJobs, MENU_LINKS));
+    return elements.findAll(LocatorCompiler.chain(pageFooterNavMenuJobs, MENU_LINKS));
   }
 
   public WebElement linkInMenu(By menuBy, String href) {
-    By linkBy = new ByChained(menuBy,
+    By linkBy = LocatorCompiler.chain(menuBy,
         By.cssSelector("a.menu-link[href=\"" + normalizer.cssEscape(href) + "\"]"));
-    return driver.findElement(linkBy);
+    return elements.find(linkBy);
   }
 
   public void clickNavMenuLink(WebElement menuItem) {
@@ -145,19 +143,6 @@ public class PageFooter extends Page {
     dismissCookieIfPresent();
   }
 
-  //helper to fix timeouts
-  public boolean waitForUrlChangeOrHash(WebDriverWait wait, String before, String expectedHref) {
-    WebDriverWait localWait = new WebDriverWait(driver, java.time.Duration.ofSeconds(10));
-    try {
-      if (expectedHref.contains("#")) {
-        return localWait.until(d -> d.getCurrentUrl().contains("#"));
-      }
-      return localWait.until(d -> !d.getCurrentUrl().equals(before));
-    } catch (TimeoutException e) {
-      return false;
-    }
-  }
-
   public void clickFooterButton(WebElement button) {
     safeClick(button);
     dismissCookieIfPresent();
@@ -168,7 +153,7 @@ public class PageFooter extends Page {
    * elements.
    */
   public List<WebElement> getTopFooterSectionText() {
-    By textRange = new ByChained(
+    By textRange = LocatorCompiler.chain(
         pageFooterSectionTop,
         By.xpath(
             ".//div[contains(@class,'elementor-element-462c93c')]" +      // start marker
@@ -178,7 +163,7 @@ public class PageFooter extends Page {
                 " count(.//div[contains(@class,'elementor-element-2eda9b3')]/preceding::*)]"
         )
     );
-    return driver.findElements(textRange);
+    return elements.findAll(textRange);
   }
 
   /**
@@ -186,7 +171,7 @@ public class PageFooter extends Page {
    * section).
    */
   public WebElement getTopFooterSectionConnectNowButton() {
-    By withinTop = new ByChained(
+    By withinTop = LocatorCompiler.chain(
         pageFooterSectionTop,
         By.xpath(
             ".//a[contains(@class,'elementor-button')]" +
@@ -194,7 +179,7 @@ public class PageFooter extends Page {
                 "[following::div[contains(@class,'elementor-element-165fd33')]]"
         )
     );
-    return driver.findElement(withinTop);
+    return elements.find(withinTop);
   }
 
   /**
@@ -202,14 +187,14 @@ public class PageFooter extends Page {
    */
   public WebElement getTopFooterSectionLearnMoreButton() {
     // If you can’t reference the divider via XPath easily, pick the last button below 165fd33.
-    By candidates = new ByChained(
+    By candidates = LocatorCompiler.chain(
         pageFooterSectionTop,
         By.xpath(
             ".//a[contains(@class,'elementor-button')]" +
                 "[preceding::div[contains(@class,'elementor-element-165fd33')]]"
         )
     );
-    List<WebElement> list = driver.findElements(candidates);
+    List<WebElement> list = elements.findAll(candidates);
     if (list.isEmpty()) {
       throw new NoSuchElementException("Top footer Learn More button not found");
     }
@@ -3,14 +3,16 @@ package org.catalyte.io.pages;
 import java.time.Duration;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
+import org.catalyte.io.utils.LocatorCompiler;
 import org.openqa.selenium.By;
 import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.pagefactory.ByChained;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 
 /**
@@ -28,7 +30,6 @@ public class PageHeader extends Page {
 
   // Primary (desktop) nav (center)
   private static final By PRIMARY_MENU_UL = By.cssSelector("#ast-hf-menu-1");
-  private static final By TOP_LINKS = By.cssSelector("> li > a.menu-link");
   private static final By MENU_TEXT_SPAN = By.cssSelector(".menu-text");
   private static final By MENU_TOGGLE_BTN = By.cssSelector("button.ast-menu-toggle");
   private static final By SUBMENU_LINKS = By.cssSelector("ul.sub-menu a.menu-link");
@@ -41,6 +42,14 @@ public class PageHeader extends Page {
   private static final By MOBILE_TOGGLE_BTN = By.cssSelector(
       "#ast-mobile-header .main-header-menu-toggle");
   private static final By SECONDARY_NAV_MOBILE = By.id("secondary_menu-site-navigation-mobile");
+  private static final By MENU_LINK = By.cssSelector("a.menu-link");
+  private static final By SECONDARY_CONTACT_DESKTOP =
+      LocatorCompiler.chain(SECONDARY_NAV_DESKTOP, SECONDARY_MENU_UL, MENU_LINK);
+  private static final By SECONDARY_CONTACT_MOBILE =
+      LocatorCompiler.chain(SECONDARY_NAV_MOBILE, SECONDARY_MENU_UL, MENU_LINK);
+
+  // Top-level LI locators by lowercased label, built once per page object
+  private final Map<String, By> topMenuItems = new ConcurrentHashMap<>();
 
   public PageHeader(WebDriver driver) {
     super(driver);
@@ -76,13 +85,17 @@ public class PageHeader extends Page {
   // ==== Top-level menu (desktop) ====
 
   /**
-   * Snapshot top-level menu links (text + href) under the primary UL.
+   * Snapshot top-level menu links (text + href) under the primary UL: its direct li children and
+   * their direct a.menu-link, read from one DOM snapshot.
    */
   public List<Link> snapshotTopLinks() {
-    var els = driver.findElements(new ByChained(PRIMARY_MENU_UL, TOP_LINKS));
-    return els.stream()
-        .map(e -> new Link(visibleText(e), e.getAttribute("href")))
-        .filter(l -> l.text != null && !l.text.isBlank())
+    return snapshot(PRIMARY_MENU_UL).roots().stream()
+        .flatMap(ul -> ul.children().stream())
+        .filter(DomNode.tag("li"))
+        .flatMap(li -> li.children().stream())
+        .filter(DomNode.tag("a").and(DomNode.hasClass("menu-link")))
+        .map(a -> new Link(a.text(), a.attr("href")))
+        .filter(l -> !l.text.isBlank())
         .collect(Collectors.toList());
   }
 
@@ -91,15 +104,15 @@ public class PageHeader extends Page {
    * present/visible.
    */
   public boolean expandTopMenu(String label) {
-    By liBy = topMenuItemByLabel(label);
+    By liBy = topMenuItemBy(label);
     // if already has visible submenu link, short-circuit
-    if (!driver.findElements(new ByChained(liBy, SUBMENU_LINKS)).isEmpty()) {
+    if (!elements.findAll(LocatorCompiler.chain(liBy, SUBMENU_LINKS)).isEmpty()) {
       return true;
     }
 
     // click the per-item toggle (safer than hovering)
     Optional<WebElement> toggle = attempt(() ->
-        driver.findElement(new ByChained(liBy, MENU_TOGGLE_BTN)));
+        elements.find(LocatorCompiler.chain(liBy, MENU_TOGGLE_BTN)));
     if (toggle.isEmpty()) {
       return false;
     }
@@ -112,7 +125,8 @@ public class PageHeader extends Page {
     // wait: presence of at least one submenu link under this LI
     try {
       wait.withTimeout(Duration.ofSeconds(5))
-          .until(ExpectedConditions.presenceOfElementLocated(new ByChained(liBy, SUBMENU_LINKS)));
+          .until(ExpectedConditions.presenceOfElementLocated(
+              LocatorCompiler.chain(liBy, SUBMENU_LINKS)));
       return true;
     } catch (TimeoutException te) {
       return false;
@@ -126,7 +140,7 @@ public class PageHeader extends Page {
     if (!expandTopMenu(label)) {
       return List.of();
     }
-    return driver.findElements(new ByChained(topMenuItemByLabel(label), SUBMENU_LINKS)).stream()
+    return elements.findAll(LocatorCompiler.chain(topMenuItemBy(label), SUBMENU_LINKS)).stream()
         .map(a -> a.getAttribute("href"))
         .filter(Objects::nonNull)
         .distinct()
@@ -150,35 +164,44 @@ public class PageHeader extends Page {
     return true;
   }
 
+  /**
+   * Submenu link with the given href under a top menu (expand the menu first).
+   */
+  public Optional<WebElement> submenuLink(String label, String href) {
+    By linkBy = LocatorCompiler.chain(topMenuItemBy(label), By.cssSelector(
+        "ul.sub-menu a.menu-link[href=\"" + normalizer.cssEscape(href) + "\"]"));
+    return attempt(() -> elements.find(linkBy));
+  }
+
   /**
    * Find the <a.menu-link> inside the LI that has .menu-text == label (case-insensitive).
    */
   private Optional<WebElement> findTopLinkByLabel(String label) {
-    By liBy = topMenuItemByLabel(label);
-    return attempt(() -> driver.findElement(new ByChained(liBy, By.cssSelector("a.menu-link"))));
+    By liBy = topMenuItemBy(label);
+    return attempt(() -> elements.find(LocatorCompiler.chain(liBy, MENU_LINK)));
   }
 
   /**
    * LI locator for a top-level item by its menu text (case-insensitive).
    */
-  private By topMenuItemByLabel(String label) {
-    String lower = label.trim().toLowerCase(Locale.ROOT).replace("'", "''");
-    // Scope to the primary UL, then find an LI that contains a .menu-text matching lowercased text.
-    String xp = ".//li[contains(@class,'menu-item')][.//span[contains(@class,'menu-text') " +
-        "and translate(normalize-space(.),'ABCDEFGHIJKLMNOPQRSTUVWXYZ','abcdefghijklmnopqrstuvwxyz')='"
-        + lower + "']]";
-    return new ByChained(PRIMARY_MENU_UL, By.xpath(xp));
+  public By topMenuItemBy(String label) {
+    String lower = label.trim().toLowerCase(Locale.ROOT);
+    return topMenuItems.computeIfAbsent(lower, key -> {
+      // Scope to the primary UL, then find an LI whose .menu-text matches the lowercased label.
+      String xp = ".//li[contains(@class,'menu-item')][.//span[contains(@class,'menu-text') " +
+          "and translate(normalize-space(.),'ABCDEFGHIJKLMNOPQRSTUVWXYZ','abcdefghijklmnopqrstuvwxyz')='"
+          + key.replace("'", "''") + "']]";
+      return LocatorCompiler.chain(PRIMARY_MENU_UL, By.xpath(xp));
+    });
   }
 
   // ==== Secondary nav (Contact us) ====
   public Optional<WebElement> secondaryContactLinkDesktop() {
-    return attempt(() -> driver.findElement(
-        new ByChained(SECONDARY_NAV_DESKTOP, SECONDARY_MENU_UL, By.cssSelector("a.menu-link"))));
+    return attempt(() -> elements.find(SECONDARY_CONTACT_DESKTOP));
   }
 
   public Optional<WebElement> secondaryContactLinkMobile() {
-    return attempt(() -> driver.findElement(
-        new ByChained(SECONDARY_NAV_MOBILE, SECONDARY_MENU_UL, By.cssSelector("a.menu-link"))));
+    return attempt(() -> elements.find(SECONDARY_CONTACT_MOBILE));
   }
 
   // ==== Mobile ====
@@ -205,11 +228,6 @@ public class PageHeader extends Page {
     }
   }
 
-  private String visibleText(WebElement e) {
-    String t = e.getText();
-    return t == null ? "" : t.trim();
-  }
-
   public void safeClickDismissCookies(WebElement e) {
     safeClick(e);
     dismissCookieIfPresent();
@@ -0,0 +1,255 @@
+package org.catalyte.io.utils;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.text.MessageFormat;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.ErrorManager;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+
+/**
+ * java.util.logging handler that never writes on the calling thread: {@link #publish} stamps the
+ * record with thread, test and page (see {@link LogContext}) and puts it on a lock-free ring; a
+ * daemon writer formats and prints it to stderr. If the ring is full the caller waits for the
+ * writer to free a slot, so nothing is dropped and lines keep the order records were published
+ * in.
+ * <p>
+ * Text lines look like {@code 12:00:01.234 INFO  [TestNG-1] PageFooterTests
+ * test=PageFooterTests.verifyLinks page=https://... | message}; {@code json} prints one object per
+ * record.
+ */
+final class AsyncLogHandler extends Handler {
+
+  private static final DateTimeFormatter TIME =
+      DateTimeFormatter.ofPattern("HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
+  private static final long FULL_BACKOFF_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+  private final MpscRingBuffer<Event> ring;
+  private final boolean json;
+  private final Writer out;
+  private final Thread writer;
+  private final AtomicLong published = new AtomicLong();
+  private volatile long written;
+  private volatile boolean idle;
+
+  AsyncLogHandler(int capacity, boolean json, Writer out) {
+    this.ring = new MpscRingBuffer<>(capacity);
+    this.json = json;
+    this.out = out;
+    this.writer = new Thread(this::drainLoop, "log-writer");
+    writer.setDaemon(true);
+    writer.start();
+    Runtime.getRuntime().addShutdownHook(new Thread(() -> flush(2_000), "log-flush"));
+  }
+
+  @Override
+  public void publish(LogRecord record) {
+    if (!isLoggable(record)) {
+      return;
+    }
+    Event event = new Event(record, Thread.currentThread().getName(), LogContext.test(),
+        LogContext.page());
+    if (ring.offer(event) || awaitSpace(event)) {
+      published.incrementAndGet();
+      if (idle) {
+        LockSupport.unpark(writer);
+      }
+    }
+  }
+
+  @Override
+  public void flush() {
+    flush(5_000);
+  }
+
+  @Override
+  public void close() {
+    flush();
+  }
+
+  /**
+   * Wait (up to the timeout) until everything published so far has been written.
+   */
+  void flush(long timeoutMillis) {
+    long target = published.get();
+    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+    while (written < target && System.nanoTime() < deadline) {
+      LockSupport.unpark(writer);
+      LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+    }
+    synchronized (out) {
+      try {
+        out.flush();
+      } catch (Exception ignored) {
+        // stderr is gone; nothing sensible to do
+      }
+    }
+  }
+
+  // Ring full: back-pressure instead of dropping. Writing inline here would overtake records still
+  // on the ring, so only the writer itself (or a dead writer) does that. True once enqueued.
+  private boolean awaitSpace(Event event) {
+    while (!ring.offer(event)) {
+      if (Thread.currentThread() == writer || !writer.isAlive()) {
+        write(event, true);
+        return false;
+      }
+      LockSupport.unpark(writer);
+      LockSupport.parkNanos(FULL_BACKOFF_NANOS);
+    }
+    return true;
+  }
+
+  private void drainLoop() {
+    while (true) {
+      Event event = ring.poll();
+      if (event != null) {
+        write(event, false);
+        written++;
+        continue;
+      }
+      flushQuietly();
+      idle = true;
+      // Re-check after announcing idleness so a racing publish is never missed
+      if ((event = ring.poll()) != null) {
+        idle = false;
+        write(event, false);
+        written++;
+        continue;
+      }
+      LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(100));
+      idle = false;
+    }
+  }
+
+  private void write(Event event, boolean flush) {
+    String line = json ? json(event) : text(event);
+    synchronized (out) {
+      try {
+        out.write(line);
+        if (flush) {
+          out.flush();
+        }
+      } catch (Exception e) {
+        reportError(null, e, ErrorManager.WRITE_FAILURE);
+      }
+    }
+  }
+
+  private void flushQuietly() {
+    synchronized (out) {
+      try {
+        out.flush();
+      } catch (Exception ignored) {
+        // reported on the next write
+      }
+    }
+  }
+
+  private static String text(Event e) {
+    LogRecord r = e.record;
+    StringBuilder line = new StringBuilder(128)
+        .append(TIME.format(r.getInstant())).append(' ')
+        .append(String.format("%-7s", r.getLevel().getName()))
+        .append(" [").append(e.thread).append("] ")
+        .append(simpleName(r.getLoggerName()));
+    if (e.test != null) {
+      line.append(" test=").append(e.test);
+    }
+    if (e.page != null) {
+      line.append(" page=").append(e.page);
+    }
+    line.append(" | ").append(message(r)).append(System.lineSeparator());
+    if (r.getThrown() != null) {
+      line.append(stackTrace(r.getThrown()));
+    }
+    return line.toString();
+  }
+
+  private static String json(Event e) {
+    LogRecord r = e.record;
+    StringBuilder line = new StringBuilder(160).append('{');
+    field(line, "ts", r.getInstant().toString()).append(',');
+    field(line, "level", r.getLevel().getName()).append(',');
+    field(line, "logger", r.getLoggerName()).append(',');
+    field(line, "thread", e.thread).append(',');
+    field(line, "test", e.test).append(',');
+    field(line, "page", e.page).append(',');
+    field(line, "msg", message(r));
+    if (r.getThrown() != null) {
+      field(line.append(','), "error", stackTrace(r.getThrown()));
+    }
+    return line.append('}').append(System.lineSeparator()).toString();
+  }
+
+  private static StringBuilder field(StringBuilder out, String name, String value) {
+    out.append('"').append(name).append("\":");
+    if (value == null) {
+      return out.append("null");
+    }
+    out.append('"');
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      switch (c) {
+        case '"' -> out.append("\\\"");
+        case '\\' -> out.append("\\\\");
+        case '\n' -> out.append("\\n");
+        case '\r' -> out.append("\\r");
+        case '\t' -> out.append("\\t");
+        default -> {
+          if (c < 0x20) {
+            out.append(String.format("\\u%04x", (int) c));
+          } else {
+            out.append(c);
+          }
+        }
+      }
+    }
+    return out.append('"');
+  }
+
+  // Parameters are filled in on the writer thread, as SimpleFormatter would
+  private static String message(LogRecord r) {
+    String msg = r.getMessage();
+    Object[] params = r.getParameters();
+    if (msg == null || params == null || params.length == 0) {
+      return String.valueOf(msg);
+    }
+    try {
+      return MessageFormat.format(msg, params);
+    } catch (IllegalArgumentException e) {
+      return msg;
+    }
+  }
+
+  private static String simpleName(String loggerName) {
+    return loggerName == null ? "" : loggerName.substring(loggerName.lastIndexOf('.') + 1);
+  }
+
+  private static String stackTrace(Throwable t) {
+    StringWriter trace = new StringWriter();
+    t.printStackTrace(new PrintWriter(trace));
+    return trace.toString();
+  }
+
+  private static final class Event {
+
+    final LogRecord record;
+    final String thread;
+    final String test;
+    final String page;
+
+    Event(LogRecord record, String thread, String test, String page) {
+      this.record = record;
+      this.thread = thread;
+      this.test = test;
+      this.page = page;
+    }
+  }
+}
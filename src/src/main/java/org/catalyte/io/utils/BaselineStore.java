@@ -0,0 +1,440 @@
+package org.catalyte.io.utils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Baseline page fingerprints ({@link DomFingerprint}) in a compact binary file, read through a
+ * memory-mapped {@link FileChannel}: opening a baseline costs one mmap, and nodes and strings are
+ * decoded only when a diff actually looks at them.
+ * <p>
+ * Layout (big endian): magic, version, node count, string count; then one 36-byte record per node
+ * (subtree hash, self hash, subtree size, tag/id/classes/text string indexes); then one offset per
+ * string; then the strings as length-prefixed UTF-8. Strings are deduplicated, index 0 is "".
+ */
+public final class BaselineStore {
+
+  public static final String EXTENSION = ".dom";
+
+  private static final int MAGIC = 0x444F4D46; // "DOMF"
+  private static final int VERSION = 1;
+  private static final int HEADER_BYTES = 16;
+  private static final int NODE_BYTES = 36;
+  // Cap on listed entries per kind; counts always cover everything
+  private static final int MAX_ENTRIES = 200;
+
+  private BaselineStore() {
+  }
+
+  /**
+   * Write {@code fingerprint} to {@code file} (atomically, via a temp file next to it).
+   */
+  public static void write(Path file, Fingerprint fingerprint) {
+    Map<String, Integer> strings = new LinkedHashMap<>();
+    strings.put("", 0);
+    int n = fingerprint.count();
+    ByteBuffer nodes = ByteBuffer.allocate(n * NODE_BYTES);
+    for (int i = 0; i < n; i++) {
+      nodes.putLong(fingerprint.hash(i))
+          .putLong(fingerprint.selfHash(i))
+          .putInt(fingerprint.size(i))
+          .putInt(intern(strings, fingerprint.tag(i)))
+          .putInt(intern(strings, fingerprint.id(i)))
+          .putInt(intern(strings, fingerprint.classes(i)))
+          .putInt(intern(strings, fingerprint.text(i)));
+    }
+
+    List<byte[]> encoded = new ArrayList<>(strings.size());
+    int dataBytes = 0;
+    for (String s : strings.keySet()) {
+      byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+      encoded.add(bytes);
+      dataBytes += 4 + bytes.length;
+    }
+    ByteBuffer out = ByteBuffer.allocate(
+        HEADER_BYTES + nodes.capacity() + 4 * encoded.size() + dataBytes);
+    out.putInt(MAGIC).putInt(VERSION).putInt(n).putInt(encoded.size());
+    out.put(nodes.flip());
+    int offset = 0;
+    for (byte[] bytes : encoded) {
+      out.putInt(offset);
+      offset += 4 + bytes.length;
+    }
+    for (byte[] bytes : encoded) {
+      out.putInt(bytes.length).put(bytes);
+    }
+
+    try {
+      Files.createDirectories(file.toAbsolutePath().getParent());
+      Path tmp = Files.createTempFile(file.toAbsolutePath().getParent(), "baseline", ".tmp");
+      try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+        out.flip();
+        while (out.hasRemaining()) {
+          channel.write(out);
+        }
+      }
+      Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to write baseline " + file, e);
+    }
+  }
+
+  /**
+   * Map a baseline file written by {@link #write}.
+   */
+  public static Baseline open(Path file) {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      // The mapping stays valid after the channel is closed
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      if (buffer.limit() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+        throw new IllegalStateException("Not a baseline file: " + file);
+      }
+      if (buffer.getInt(4) != VERSION) {
+        throw new IllegalStateException(
+            "Unsupported baseline version " + buffer.getInt(4) + " in " + file);
+      }
+      return new Baseline(file, buffer);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to open baseline " + file, e);
+    }
+  }
+
+  /**
+   * Diff two fingerprints. Subtrees with equal hashes are skipped whole; otherwise children are
+   * paired by subtree hash first, then in order by tag/id/classes, and the pairs are diffed
+   * recursively. Unpaired baseline children are removed, unpaired live children added.
+   */
+  public static Diff diff(Fingerprint baseline, Fingerprint live) {
+    Diff diff = new Diff(baseline.count(), live.count());
+    if (baseline.rootHash() == live.rootHash()) {
+      diff.unchanged = baseline.count();
+      return diff;
+    }
+    diffChildren(baseline, baseline.roots(), live, live.roots(), "", diff);
+    return diff;
+  }
+
+  private static void diffNode(Fingerprint b, int bi, Fingerprint l, int li, String parentPath,
+      Diff diff) {
+    if (b.hash(bi) == l.hash(li)) {
+      diff.unchanged += b.size(bi);
+      diff.skipped++;
+      return;
+    }
+    String path = parentPath.isEmpty() ? b.label(bi) : parentPath + " > " + b.label(bi);
+    if (b.selfHash(bi) == l.selfHash(li)) {
+      diff.unchanged++;
+    } else {
+      diff.changedCount++;
+      diff.add(diff.changed, new Entry(path, b.text(bi), l.text(li)));
+    }
+    diffChildren(b, b.children(bi), l, l.children(li), path, diff);
+  }
+
+  private static void diffChildren(Fingerprint b, List<Integer> bc, Fingerprint l,
+      List<Integer> lc, String path, Diff diff) {
+    boolean[] liveUsed = new boolean[lc.size()];
+    boolean[] baselineUsed = new boolean[bc.size()];
+
+    // Unchanged (possibly moved) subtrees
+    Map<Long, ArrayDeque<Integer>> liveByHash = new HashMap<>();
+    for (int j = 0; j < lc.size(); j++) {
+      liveByHash.computeIfAbsent(l.hash(lc.get(j)), k -> new ArrayDeque<>()).add(j);
+    }
+    for (int i = 0; i < bc.size(); i++) {
+      ArrayDeque<Integer> same = liveByHash.get(b.hash(bc.get(i)));
+      if (same != null && !same.isEmpty()) {
+        liveUsed[same.poll()] = true;
+        baselineUsed[i] = true;
+        diff.unchanged += b.size(bc.get(i));
+        diff.skipped++;
+      }
+    }
+
+    // Same element, different content: pair in order and descend
+    int cursor = 0;
+    for (int i = 0; i < bc.size(); i++) {
+      if (baselineUsed[i]) {
+        continue;
+      }
+      int bi = bc.get(i);
+      for (int j = cursor; j < lc.size(); j++) {
+        int li = lc.get(j);
+        if (!liveUsed[j] && b.tag(bi).equals(l.tag(li)) && b.id(bi).equals(l.id(li))
+            && b.classes(bi).equals(l.classes(li))) {
+          liveUsed[j] = true;
+          baselineUsed[i] = true;
+          cursor = j + 1;
+          diffNode(b, bi, l, li, path, diff);
+          break;
+        }
+      }
+      if (!baselineUsed[i]) {
+        diff.removedCount += b.size(bi);
+        diff.add(diff.removed, new Entry(childPath(path, b, bi), b.text(bi), null));
+      }
+    }
+    for (int j = 0; j < lc.size(); j++) {
+      if (!liveUsed[j]) {
+        int li = lc.get(j);
+        diff.addedCount += l.size(li);
+        diff.add(diff.added, new Entry(childPath(path, l, li), null, l.text(li)));
+      }
+    }
+  }
+
+  private static String childPath(String path, Fingerprint f, int node) {
+    return path.isEmpty() ? f.label(node) : path + " > " + f.label(node);
+  }
+
+  private static int intern(Map<String, Integer> strings, String s) {
+    return strings.computeIfAbsent(s == null ? "" : s, k -> strings.size());
+  }
+
+  /**
+   * A memory-mapped baseline. Strings are decoded on first access and cached.
+   */
+  public static final class Baseline implements Fingerprint {
+
+    private final Path file;
+    private final ByteBuffer buffer;
+    private final int count;
+    private final int stringOffsets;
+    private final int stringData;
+    private final String[] strings;
+
+    private Baseline(Path file, ByteBuffer buffer) {
+      this.file = file;
+      this.buffer = buffer;
+      this.count = buffer.getInt(8);
+      int stringCount = buffer.getInt(12);
+      this.stringOffsets = HEADER_BYTES + count * NODE_BYTES;
+      this.stringData = stringOffsets + 4 * stringCount;
+      this.strings = new String[stringCount];
+    }
+
+    public Path file() {
+      return file;
+    }
+
+    @Override
+    public int count() {
+      return count;
+    }
+
+    @Override
+    public long hash(int node) {
+      return buffer.getLong(record(node));
+    }
+
+    @Override
+    public long selfHash(int node) {
+      return buffer.getLong(record(node) + 8);
+    }
+
+    @Override
+    public int size(int node) {
+      return buffer.getInt(record(node) + 16);
+    }
+
+    @Override
+    public String tag(int node) {
+      return string(buffer.getInt(record(node) + 20));
+    }
+
+    @Override
+    public String id(int node) {
+      return string(buffer.getInt(record(node) + 24));
+    }
+
+    @Override
+    public String classes(int node) {
+      return string(buffer.getInt(record(node) + 28));
+    }
+
+    @Override
+    public String text(int node) {
+      return string(buffer.getInt(record(node) + 32));
+    }
+
+    /**
+     * Text of the first {@code title} element, or "" if there is none.
+     */
+    public String title() {
+      for (int i = 0; i < count; i++) {
+        if ("title".equals(tag(i))) {
+          return text(i);
+        }
+      }
+      return "";
+    }
+
+    public Set<String> ids() {
+      Set<String> ids = new HashSet<>();
+      for (int i = 0; i < count; i++) {
+        if (!id(i).isEmpty()) {
+          ids.add(id(i));
+        }
+      }
+      return ids;
+    }
+
+    /**
+     * Number of elements with one of the given tags.
+     */
+    public int countTags(Set<String> tags) {
+      int n = 0;
+      for (int i = 0; i < count; i++) {
+        if (tags.contains(tag(i))) {
+          n++;
+        }
+      }
+      return n;
+    }
+
+    /**
+     * Elements with one of the given {@link DomFingerprint#KEY_TAGS}, in document order, as input
+     * for {@link DomComparator}.
+     */
+    public List<DomComparator.Key> keys(Set<String> tags) {
+      List<DomComparator.Key> keys = new ArrayList<>();
+      for (int i = 0; i < count; i++) {
+        if (tags.contains(tag(i))) {
+          keys.add(new DomComparator.Key(tag(i), id(i), text(i)));
+        }
+      }
+      return keys;
+    }
+
+    private int record(int node) {
+      if (node < 0 || node >= count) {
+        throw new IndexOutOfBoundsException("node " + node + " of " + count);
+      }
+      return HEADER_BYTES + node * NODE_BYTES;
+    }
+
+    private String string(int index) {
+      String s = strings[index];
+      if (s == null) {
+        int at = stringData + buffer.getInt(stringOffsets + 4 * index);
+        byte[] bytes = new byte[buffer.getInt(at)];
+        buffer.get(at + 4, bytes);
+        s = new String(bytes, StandardCharsets.UTF_8);
+        strings[index] = s;
+      }
+      return s;
+    }
+  }
+
+  /**
+   * Result of {@link #diff}. Node counts cover whole subtrees; entry lists are capped.
+   */
+  public static final class Diff {
+
+    public final List<Entry> changed = new ArrayList<>();
+    public final List<Entry> removed = new ArrayList<>();
+    public final List<Entry> added = new ArrayList<>();
+    private final int baselineCount;
+    private final int liveCount;
+    private int unchanged;
+    private int skipped;
+    private int changedCount;
+    private int removedCount;
+    private int addedCount;
+
+    private Diff(int baselineCount, int liveCount) {
+      this.baselineCount = baselineCount;
+      this.liveCount = liveCount;
+    }
+
+    public boolean identical() {
+      return changedCount == 0 && removedCount == 0 && addedCount == 0;
+    }
+
+    /**
+     * Nodes found unchanged, most of them via equal subtree hashes without being visited.
+     */
+    public int unchangedNodes() {
+      return unchanged;
+    }
+
+    /**
+     * Subtrees accepted on their hash alone.
+     */
+    public int skippedSubtrees() {
+      return skipped;
+    }
+
+    public int changedNodes() {
+      return changedCount;
+    }
+
+    public int removedNodes() {
+      return removedCount;
+    }
+
+    public int addedNodes() {
+      return addedCount;
+    }
+
+    /**
+     * Unchanged nodes over the larger of the two pages (1.0 = identical).
+     */
+    public double similarity() {
+      int total = Math.max(baselineCount, liveCount);
+      return total == 0 ? 1.0 : (double) unchanged / total;
+    }
+
+    private void add(List<Entry> list, Entry entry) {
+      if (list.size() < MAX_ENTRIES) {
+        list.add(entry);
+      }
+    }
+
+    @Override
+    public String toString() {
+      return String.format(
+          "similarity=%.3f nodes=%d/%d unchanged=%d (skipped subtrees=%d) changed=%d removed=%d"
+              + " added=%d", similarity(), baselineCount, liveCount, unchanged, skipped,
+          changedCount, removedCount, addedCount);
+    }
+  }
+
+  /**
+   * One reported node: its path of labels and the baseline/live text (null when absent).
+   */
+  public static final class Entry {
+
+    public final String path;
+    public final String baselineText;
+    public final String liveText;
+
+    Entry(String path, String baselineText, String liveText) {
+      this.path = path;
+      this.baselineText = baselineText;
+      this.liveText = liveText;
+    }
+
+    @Override
+    public String toString() {
+      return path + " '" + (baselineText != null ? baselineText : "") + "' → '"
+          + (liveText != null ? liveText : "") + "'";
+    }
+  }
+}
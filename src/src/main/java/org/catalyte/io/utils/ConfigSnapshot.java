@@ -0,0 +1,131 @@
+package org.catalyte.io.utils;
+
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable view of the configuration at one point in time. A key resolves from, highest first:
+ * system property ({@code -Dwait.timeout=30s}), environment variable ({@code CATALYTE_} plus the
+ * key in upper case, dots and dashes as underscores: {@code CATALYTE_WAIT_TIMEOUT=30s}), then the
+ * properties file. Blank values count as unset.
+ * <p>
+ * The prefix keeps variables other tools set ({@code LOG_LEVEL}, {@code BROWSER}) out of the
+ * configuration.
+ */
+public final class ConfigSnapshot {
+
+  static final String ENV_PREFIX = "CATALYTE_";
+
+  private final Map<String, String> file;
+  private final Map<String, String> env;
+  private final Map<String, String> system;
+
+  public ConfigSnapshot(Map<String, String> file, Map<String, String> env,
+      Map<String, String> system) {
+    this.file = Map.copyOf(file);
+    this.env = Map.copyOf(env);
+    this.system = Map.copyOf(system);
+  }
+
+  /**
+   * Raw value of a key, or null if no layer sets it.
+   */
+  public String get(String key) {
+    String value = system.get(key);
+    if (isBlank(value)) {
+      value = env.get(envName(key));
+    }
+    if (isBlank(value)) {
+      value = file.get(key);
+    }
+    return isBlank(value) ? null : value.trim();
+  }
+
+  public String getString(String key, String defaultValue) {
+    String value = get(key);
+    return value == null ? defaultValue : value;
+  }
+
+  public int getInt(String key, int defaultValue) {
+    String value = get(key);
+    try {
+      return value == null ? defaultValue : Integer.parseInt(value);
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Property " + key + " is not an integer: " + value, e);
+    }
+  }
+
+  public long getLong(String key, long defaultValue) {
+    String value = get(key);
+    try {
+      return value == null ? defaultValue : Long.parseLong(value);
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Property " + key + " is not an integer: " + value, e);
+    }
+  }
+
+  public double getDouble(String key, double defaultValue) {
+    String value = get(key);
+    try {
+      return value == null ? defaultValue : Double.parseDouble(value);
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Property " + key + " is not a number: " + value, e);
+    }
+  }
+
+  public boolean getBoolean(String key, boolean defaultValue) {
+    String value = get(key);
+    if (value == null) {
+      return defaultValue;
+    }
+    return switch (value.toLowerCase(Locale.ROOT)) {
+      case "true", "yes", "on", "1" -> true;
+      case "false", "no", "off", "0" -> false;
+      default -> throw new IllegalArgumentException(
+          "Property " + key + " is not a boolean: " + value);
+    };
+  }
+
+  /**
+   * Duration such as {@code 750ms}, {@code 20s}, {@code 2m}, {@code 1h} or ISO-8601
+   * ({@code PT20S}); a bare number is seconds.
+   */
+  public Duration getDuration(String key, Duration defaultValue) {
+    String value = get(key);
+    if (value == null) {
+      return defaultValue;
+    }
+    try {
+      return parseDuration(value);
+    } catch (NumberFormatException | DateTimeParseException e) {
+      throw new IllegalArgumentException("Property " + key + " is not a duration: " + value, e);
+    }
+  }
+
+  static Duration parseDuration(String value) {
+    String v = value.trim().toLowerCase(Locale.ROOT);
+    if (v.startsWith("p")) {
+      return Duration.parse(v.toUpperCase(Locale.ROOT));
+    }
+    if (v.endsWith("ms")) {
+      return Duration.ofMillis(Long.parseLong(v.substring(0, v.length() - 2).trim()));
+    }
+    String number = v.substring(0, v.length() - 1).trim();
+    return switch (v.charAt(v.length() - 1)) {
+      case 's' -> Duration.ofSeconds(Long.parseLong(number));
+      case 'm' -> Duration.ofMinutes(Long.parseLong(number));
+      case 'h' -> Duration.ofHours(Long.parseLong(number));
+      default -> Duration.ofSeconds(Long.parseLong(v));
+    };
+  }
+
+  static String envName(String key) {
+    return ENV_PREFIX + key.toUpperCase(Locale.ROOT).replace('.', '_').replace('-', '_');
+  }
+
+  private static boolean isBlank(String value) {
+    return value == null || value.isBlank();
+  }
+}
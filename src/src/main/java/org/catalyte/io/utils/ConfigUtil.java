@@ -2,21 +2,184 @@ package org.catalyte.io.utils;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
 
+/**
+ * Configuration for the framework and tests, resolved once into an immutable
+ * {@link ConfigSnapshot}: test.properties from the classpath, then {@code config.file} (an
+ * optional properties file laid over it, e.g. per environment), then environment variables, then
+ * system properties.
+ * <p>
+ * With {@code config.watch=true} the {@code config.file} overlay is watched and a change swaps in
+ * a new snapshot, for long soak runs. Every key read so far as a number, boolean or duration must
+ * still parse as one, otherwise the last good snapshot stays. Values read per use (timeouts of new
+ * page objects and waits, thresholds) pick the change up; values held in static fields keep their
+ * startup value.
+ */
 public class ConfigUtil {
 
-  private static final Properties props = new Properties();
+  private static final Path OVERLAY = overlayPath();
+  private static final AtomicReference<ConfigSnapshot> current =
+      new AtomicReference<>(load());
+  // key -> typed read, replayed against a new snapshot before it goes live
+  private static final Map<String, Consumer<ConfigSnapshot>> typedReads =
+      new ConcurrentHashMap<>();
 
   static {
+    if (snapshot().getBoolean("config.watch", false)) {
+      startWatcher();
+    }
+  }
+
+  /**
+   * The snapshot in effect right now; hold on to it to read several values consistently.
+   */
+  public static ConfigSnapshot snapshot() {
+    return current.get();
+  }
+
+  /**
+   * Re-read the properties files, environment and system properties. Throws (and keeps the
+   * current snapshot) when a file cannot be read or a typed key no longer parses.
+   */
+  public static void reload() {
+    ConfigSnapshot next = load();
+    typedReads.values().forEach(read -> read.accept(next));
+    current.set(next);
+  }
+
+  public static String getProperty(String key, String defaultValue) {
+    return snapshot().getString(key, defaultValue);
+  }
+
+  public static int getInt(String key, int defaultValue) {
+    typedReads.putIfAbsent(key, s -> s.getInt(key, defaultValue));
+    return snapshot().getInt(key, defaultValue);
+  }
+
+  public static long getLong(String key, long defaultValue) {
+    typedReads.putIfAbsent(key, s -> s.getLong(key, defaultValue));
+    return snapshot().getLong(key, defaultValue);
+  }
+
+  public static double getDouble(String key, double defaultValue) {
+    typedReads.putIfAbsent(key, s -> s.getDouble(key, defaultValue));
+    return snapshot().getDouble(key, defaultValue);
+  }
+
+  public static boolean getBoolean(String key, boolean defaultValue) {
+    typedReads.putIfAbsent(key, s -> s.getBoolean(key, defaultValue));
+    return snapshot().getBoolean(key, defaultValue);
+  }
+
+  public static Duration getDuration(String key, Duration defaultValue) {
+    typedReads.putIfAbsent(key, s -> s.getDuration(key, defaultValue));
+    return snapshot().getDuration(key, defaultValue);
+  }
+
+  private static ConfigSnapshot load() {
+    Map<String, String> file = new HashMap<>();
     try (InputStream input = ConfigUtil.class.getClassLoader()
         .getResourceAsStream("test.properties")) {
       if (input == null) {
         throw new RuntimeException("Cannot find test.properties in resources");
       }
-      props.load(input);
+      putAll(file, input);
     } catch (IOException e) {
       throw new RuntimeException("Failed to load test.properties", e);
     }
+    if (OVERLAY != null) {
+      try (InputStream input = Files.newInputStream(OVERLAY)) {
+        putAll(file, input);
+      } catch (IOException e) {
+        throw new UncheckedIOException("Failed to load config.file " + OVERLAY, e);
+      }
+    }
+    Map<String, String> system = new HashMap<>();
+    System.getProperties().forEach((k, v) -> system.put(String.valueOf(k), String.valueOf(v)));
+    return new ConfigSnapshot(file, System.getenv(), system);
+  }
+
+  private static void putAll(Map<String, String> target, InputStream input) throws IOException {
+    Properties props = new Properties();
+    props.load(input);
+    props.forEach((k, v) -> target.put(String.valueOf(k), String.valueOf(v)));
+  }
+
+  private static Path overlayPath() {
+    String path = System.getProperty("config.file",
+        System.getenv(ConfigSnapshot.envName("config.file")));
+    return path == null || path.isBlank() ? null : Paths.get(path.trim()).toAbsolutePath();
+  }
+
+  // Only the overlay: test.properties is read from the build output, which edits to
+  // src/test/resources do not reach while tests run. Runs in the static initializer, which
+  // LoggerUtil's own initializer triggers, so problems go to plain java.util.logging.
+  private static void startWatcher() {
+    Logger log = Logger.getLogger(ConfigUtil.class.getName());
+    if (OVERLAY == null) {
+      log.warning("config.watch needs a config.file to watch");
+      return;
+    }
+    WatchService service;
+    try {
+      service = FileSystems.getDefault().newWatchService();
+      OVERLAY.getParent().register(service, StandardWatchEventKinds.ENTRY_MODIFY,
+          StandardWatchEventKinds.ENTRY_CREATE);
+    } catch (IOException e) {
+      log.warning("Config watch unavailable: " + e.getMessage());
+      return;
+    }
+    Thread watcher = new Thread(() -> watch(service), "config-watch");
+    watcher.setDaemon(true);
+    watcher.start();
+  }
+
+  private static void watch(WatchService service) {
+    try {
+      while (true) {
+        WatchKey key = service.take();
+        Path dir = (Path) key.watchable();
+        boolean changed = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+          changed |= dir.resolve((Path) event.context()).equals(OVERLAY);
+        }
+        key.reset();
+        if (changed) {
+          reloadQuietly();
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (ClosedWatchServiceException e) {
+      // shutting down
+    }
+  }
+
+  private static void reloadQuietly() {
+    try {
+      reload();
+      LoggerUtil.info(ConfigUtil.class, "Configuration reloaded");
+    } catch (RuntimeException e) {
+      // Keep the last good snapshot while the file is half-written or broken
+      LoggerUtil.warning(ConfigUtil.class, "Configuration not reloaded: " + e.getMessage());
+    }
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,274 @@
+package org.catalyte.io.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+
+/**
+ * Linear-time DOM comparison of a baseline page against a live one (both jsoup Documents).
+ * <p>
+ * The live document is indexed once (normalized own text, 10-char text windows, ids, classes,
+ * full text of key elements); each baseline key element is then matched with hash lookups instead
+ * of a document scan:
+ * <ul>
+ *   <li>exact: a live key element has the same normalized text, or some live element has it as
+ *   own text</li>
+ *   <li>changed: only the first 10 normalized characters are still found in a live element's
+ *   own text (the old {@code :containsOwn(prefix)} rule), or an element with the same id now has
+ *   different text</li>
+ *   <li>removed: neither</li>
+ * </ul>
+ * Live key elements whose text is not in the baseline are reported as added.
+ */
+public final class DomComparator {
+
+  public static final String DEFAULT_KEY_SELECTOR = "h1, h2, h3, button, a";
+  private static final int PREFIX = 10;
+  private static final StringNormalizer normalizer = new StringNormalizer();
+
+  private DomComparator() {
+  }
+
+  public static Report compare(Document baseline, Document live) {
+    return compare(baseline, Index.of(live), DEFAULT_KEY_SELECTOR);
+  }
+
+  /**
+   * Compare the baseline's key elements ({@code keySelector}) against an already built index of
+   * the live page.
+   */
+  public static Report compare(Document baseline, Index live, String keySelector) {
+    List<Key> keys = new ArrayList<>();
+    for (Element e : baseline.select(keySelector)) {
+      keys.add(new Key(e.tagName(), e.id(), normalizer.normalize(e.text())));
+    }
+    return compare(keys, live, keySelector);
+  }
+
+  /**
+   * Compare pre-extracted baseline key elements (e.g. from a stored baseline) against the live
+   * index; {@code keySelector} selects the live key elements.
+   */
+  public static Report compare(List<Key> baseline, Index live, String keySelector) {
+    Report report = new Report(live);
+    Set<String> baselineTexts = new HashSet<>();
+    // Full text of live key elements (covers links/buttons whose text is split over children)
+    Map<String, Element> liveKeyTexts = new LinkedHashMap<>();
+    for (Element e : live.document.select(keySelector)) {
+      String text = normalizer.normalize(e.text());
+      if (!text.isEmpty()) {
+        liveKeyTexts.putIfAbsent(text, e);
+      }
+    }
+
+    report.keyCount = baseline.size();
+    for (Key key : baseline) {
+      String text = key.text;
+      if (text.isEmpty()) {
+        continue;
+      }
+      baselineTexts.add(text);
+      if (liveKeyTexts.containsKey(text) || live.hasOwnText(text)) {
+        Element byId = key.id.isEmpty() ? null : live.byId(key.id);
+        String liveText = byId == null ? null : normalizer.normalize(byId.text());
+        if (byId != null && !liveText.equals(text)) {
+          report.changed.add(new Change(key, byId, text, liveText));
+        } else {
+          report.unchanged++;
+        }
+      } else if (live.containsOwnTextPrefix(text)) {
+        report.changed.add(new Change(key, live.firstWithPrefix(text), text, null));
+      } else {
+        report.removed.add(new Change(key, null, text, null));
+      }
+    }
+
+    liveKeyTexts.forEach((text, e) -> {
+      if (!baselineTexts.contains(text)) {
+        report.added.add(new Change(null, e, null, text));
+      }
+    });
+    return report;
+  }
+
+  /**
+   * A baseline key element: tag, id ("" if none) and normalized full text.
+   */
+  public static final class Key {
+
+    public final String tag;
+    public final String id;
+    public final String text;
+
+    public Key(String tag, String id, String text) {
+      this.tag = tag;
+      this.id = id;
+      this.text = text;
+    }
+  }
+
+  /**
+   * One-pass index over a (live) document.
+   */
+  public static final class Index {
+
+    final Document document;
+    private final Map<String, Element> ids = new HashMap<>();
+    private final Map<String, Integer> classes = new HashMap<>();
+    private final Map<String, Element> ownTexts = new HashMap<>();
+    private final Map<String, Element> windows = new HashMap<>();
+    private final StringBuilder shortTextScan = new StringBuilder();
+    private final List<Element> shortTextOwners = new ArrayList<>();
+    private final List<Integer> shortTextOffsets = new ArrayList<>();
+
+    private Index(Document document) {
+      this.document = document;
+    }
+
+    public static Index of(Document document) {
+      Index index = new Index(document);
+      for (Element e : document.getAllElements()) {
+        if (!e.id().isEmpty()) {
+          index.ids.putIfAbsent(e.id(), e);
+        }
+        for (String cls : e.classNames()) {
+          index.classes.merge(cls, 1, Integer::sum);
+        }
+        String own = normalizer.normalize(e.ownText());
+        if (own.isEmpty()) {
+          continue;
+        }
+        index.ownTexts.putIfAbsent(own, e);
+        for (int i = 0; i + PREFIX <= own.length(); i++) {
+          index.windows.putIfAbsent(own.substring(i, i + PREFIX), e);
+        }
+        // Separator keeps short needles from matching across two elements
+        index.shortTextOffsets.add(index.shortTextScan.length());
+        index.shortTextOwners.add(e);
+        index.shortTextScan.append(own).append('\u0000');
+      }
+      return index;
+    }
+
+    public Document document() {
+      return document;
+    }
+
+    public boolean hasId(String id) {
+      return ids.containsKey(id);
+    }
+
+    public Element byId(String id) {
+      return ids.get(id);
+    }
+
+    public int classCount(String className) {
+      return classes.getOrDefault(className, 0);
+    }
+
+    public boolean hasOwnText(String normalizedText) {
+      return !normalizedText.isEmpty() && ownTexts.containsKey(normalizedText);
+    }
+
+    /**
+     * Whether some element's own text contains the first 10 characters of the given text.
+     */
+    public boolean containsOwnTextPrefix(String normalizedText) {
+      return firstWithPrefix(normalizedText) != null;
+    }
+
+    Element firstWithPrefix(String normalizedText) {
+      if (normalizedText.length() >= PREFIX) {
+        return windows.get(normalizedText.substring(0, PREFIX));
+      }
+      // Short texts are rare; one scan of the joined own texts
+      int at = shortTextScan.indexOf(normalizedText);
+      if (at < 0) {
+        return null;
+      }
+      int slot = Collections.binarySearch(shortTextOffsets, at);
+      return shortTextOwners.get(slot >= 0 ? slot : -slot - 2);
+    }
+  }
+
+  /**
+   * Result of a comparison. Lists keep document order.
+   */
+  public static final class Report {
+
+    public final List<Change> added = new ArrayList<>();
+    public final List<Change> removed = new ArrayList<>();
+    public final List<Change> changed = new ArrayList<>();
+    private final Index live;
+    private int keyCount;
+    private int unchanged;
+
+    private Report(Index live) {
+      this.live = live;
+    }
+
+    /**
+     * Number of baseline key elements, including ones without text.
+     */
+    public int keyCount() {
+      return keyCount;
+    }
+
+    /**
+     * Percentage of baseline key elements whose text is gone from the live page.
+     */
+    public double missingTextPercent() {
+      return keyCount == 0 ? 0.0 : removed.size() * 100.0 / keyCount;
+    }
+
+    /**
+     * 1.0 = identical key texts; changed nodes count half, added/removed count as mismatches.
+     */
+    public double similarity() {
+      int total = unchanged + changed.size() + removed.size() + added.size();
+      return total == 0 ? 1.0 : (unchanged + 0.5 * changed.size()) / total;
+    }
+
+    public List<String> missingIds(Set<String> ids) {
+      return ids.stream().filter(id -> !live.hasId(id)).sorted().toList();
+    }
+
+    @Override
+    public String toString() {
+      return String.format("similarity=%.3f unchanged=%d changed=%d removed=%d added=%d",
+          similarity(), unchanged, changed.size(), removed.size(), added.size());
+    }
+  }
+
+  /**
+   * One differing node: baseline key/live element (null when absent) and their normalized text.
+   */
+  public static final class Change {
+
+    public final Key baseline;
+    public final Element live;
+    public final String baselineText;
+    public final String liveText;
+
+    Change(Key baseline, Element live, String baselineText, String liveText) {
+      this.baseline = baseline;
+      this.live = live;
+      this.baselineText = baselineText;
+      this.liveText = liveText;
+    }
+
+    @Override
+    public String toString() {
+      String tag = baseline != null ? baseline.tag : live.tagName();
+      return "<" + tag + "> '" + (baselineText != null ? baselineText : "") + "' → '"
+          + (liveText != null ? liveText : "") + "'";
+    }
+  }
+}
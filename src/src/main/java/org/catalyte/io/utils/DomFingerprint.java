@@ -0,0 +1,217 @@
+package org.catalyte.io.utils;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import org.jsoup.nodes.Element;
+
+/**
+ * Structural fingerprint of a page: elements in document (pre)order, each with a self hash (tag,
+ * normalized own text, stable attributes) and a Merkle subtree hash (self hash plus the children's
+ * subtree hashes). Equal subtree hashes mean equal subtrees, so a diff can skip them whole.
+ * <p>
+ * Only attributes that survive a page load are hashed: id, role, type, name, aria-label, href/src
+ * (origin-relative, no query) and classes minus the ones scripts add at runtime. Script, style and
+ * other non-rendered elements are left out; svg is a leaf.
+ */
+public final class DomFingerprint implements Fingerprint {
+
+  /**
+   * Tags whose stored text is the full normalized text rather than own text.
+   */
+  public static final Set<String> KEY_TAGS = Set.of("h1", "h2", "h3", "button", "a");
+
+  static final int MAX_TEXT = 200;
+
+  private static final Set<String> SKIPPED_TAGS = Set.of(
+      "script", "style", "noscript", "template", "link", "meta", "base");
+  private static final Set<String> LEAF_TAGS = Set.of("svg", "iframe", "video", "canvas");
+  private static final List<String> HASHED_ATTRIBUTES = List.of(
+      "id", "role", "type", "name", "aria-label");
+  // Added by Elementor/Astra scripts after load, so absent from saved page sources
+  private static final Set<String> RUNTIME_CLASSES = Set.of(
+      "animated", "elementor-invisible", "e-lazyloaded", "lazyloaded", "elementor-active",
+      "e-n-tab-active", "ast-header-sticked", "elementor-sticky--active",
+      "elementor-sticky--effects");
+  private static final List<String> RUNTIME_CLASS_PREFIXES = List.of(
+      "e--ua-", "fadeIn", "fadeOut", "slideIn", "zoomIn", "bounceIn");
+
+  static final long FNV_OFFSET = 0xcbf29ce484222325L;
+  private static final long FNV_PRIME = 0x100000001b3L;
+  private static final StringNormalizer normalizer = new StringNormalizer();
+
+  private long[] hash;
+  private long[] selfHash;
+  private int[] size;
+  private String[] tag;
+  private String[] id;
+  private String[] classes;
+  private String[] text;
+  private int count;
+
+  private DomFingerprint(int capacity) {
+    hash = new long[capacity];
+    selfHash = new long[capacity];
+    size = new int[capacity];
+    tag = new String[capacity];
+    id = new String[capacity];
+    classes = new String[capacity];
+    text = new String[capacity];
+  }
+
+  /**
+   * Fingerprint the subtree under {@code root} (typically a parsed page, i.e. a jsoup Document).
+   */
+  public static DomFingerprint of(Element root) {
+    DomFingerprint fp = new DomFingerprint(256);
+    for (Element child : root.children()) {
+      if (!SKIPPED_TAGS.contains(child.normalName())) {
+        fp.add(child);
+      }
+    }
+    return fp;
+  }
+
+  @Override
+  public int count() {
+    return count;
+  }
+
+  @Override
+  public long hash(int node) {
+    return hash[node];
+  }
+
+  @Override
+  public long selfHash(int node) {
+    return selfHash[node];
+  }
+
+  @Override
+  public int size(int node) {
+    return size[node];
+  }
+
+  @Override
+  public String tag(int node) {
+    return tag[node];
+  }
+
+  @Override
+  public String id(int node) {
+    return id[node];
+  }
+
+  @Override
+  public String classes(int node) {
+    return classes[node];
+  }
+
+  @Override
+  public String text(int node) {
+    return text[node];
+  }
+
+  private void add(Element e) {
+    int node = count++;
+    if (node == hash.length) {
+      grow();
+    }
+    String name = e.normalName();
+    String own = normalizer.normalize(e.ownText());
+    tag[node] = name;
+    id[node] = e.id();
+    classes[node] = stableClasses(e);
+    text[node] = KEY_TAGS.contains(name) ? normalizer.normalize(e.text()) : truncate(own);
+
+    long self = mix(FNV_OFFSET, name);
+    self = mix(self, own);
+    self = mix(self, classes[node]);
+    for (String attr : HASHED_ATTRIBUTES) {
+      self = mix(self, e.attr(attr));
+    }
+    self = mix(self, urlPath(e.attr("href")));
+    self = mix(self, urlPath(e.attr("src")));
+    selfHash[node] = fmix(self);
+
+    if (!LEAF_TAGS.contains(name)) {
+      for (Element child : e.children()) {
+        if (!SKIPPED_TAGS.contains(child.normalName())) {
+          add(child);
+        }
+      }
+    }
+    size[node] = count - node;
+
+    long h = selfHash[node];
+    for (int c = node + 1; c < count; c += size[c]) {
+      h = combine(h, hash[c]);
+    }
+    hash[node] = fmix(h);
+  }
+
+  private void grow() {
+    int capacity = hash.length * 2;
+    hash = Arrays.copyOf(hash, capacity);
+    selfHash = Arrays.copyOf(selfHash, capacity);
+    size = Arrays.copyOf(size, capacity);
+    tag = Arrays.copyOf(tag, capacity);
+    id = Arrays.copyOf(id, capacity);
+    classes = Arrays.copyOf(classes, capacity);
+    text = Arrays.copyOf(text, capacity);
+  }
+
+  private static String stableClasses(Element e) {
+    Set<String> kept = new TreeSet<>();
+    for (String cls : e.classNames()) {
+      if (!cls.isEmpty() && !RUNTIME_CLASSES.contains(cls)
+          && RUNTIME_CLASS_PREFIXES.stream().noneMatch(cls::startsWith)) {
+        kept.add(cls);
+      }
+    }
+    return kept.isEmpty() ? "" : String.join(" ", kept);
+  }
+
+  // Origin-relative, without query/fragment (cache busters, tracking parameters)
+  static String urlPath(String url) {
+    if (url.isEmpty()) {
+      return url;
+    }
+    String path = SiteUrls.relativize(url.trim());
+    int cut = path.length();
+    for (char c : new char[]{'?', '#'}) {
+      int at = path.indexOf(c);
+      if (at >= 0 && at < cut) {
+        cut = at;
+      }
+    }
+    return path.substring(0, cut);
+  }
+
+  private static String truncate(String s) {
+    return s.length() <= MAX_TEXT ? s : s.substring(0, MAX_TEXT);
+  }
+
+  // FNV-1a over the chars, with a separator so ("ab","c") and ("a","bc") differ
+  private static long mix(long h, String s) {
+    for (int i = 0; i < s.length(); i++) {
+      h = (h ^ s.charAt(i)) * FNV_PRIME;
+    }
+    return (h ^ 0xFFFF) * FNV_PRIME;
+  }
+
+  static long combine(long h, long child) {
+    return (Long.rotateLeft(h, 7) ^ child) * FNV_PRIME;
+  }
+
+  // MurmurHash3 finalizer: spreads FNV's weak low bits
+  static long fmix(long h) {
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= h >>> 33;
+    return h;
+  }
+}
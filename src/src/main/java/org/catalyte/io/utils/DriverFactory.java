@@ -1,36 +1,364 @@
 package org.catalyte.io.utils;
 
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.PageLoadStrategy;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.chromium.HasCdp;
 import org.openqa.selenium.edge.EdgeDriver;
 import org.openqa.selenium.firefox.FirefoxDriver;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.support.events.EventFiringDecorator;
 
+/**
+ * Bounded, thread-confined pool of WebDriver sessions.
+ * <p>
+ * A thread leases a session with {@link #getDriver(String)} and keeps it (via a ThreadLocal) until
+ * {@link #releaseDriver()} hands it back. Returned sessions are reset and kept warm for the next
+ * lease, so test classes reuse browsers instead of launching one each. Idle sessions are
+ * health-checked before being leased again; dead ones are discarded and replaced.
+ * <p>
+ * Pool size comes from {@code driver.pool.size} (defaults to {@code parallel.threads}, then the
+ * number of cores); how a returned session is reset comes from {@code driver.reset} (see
+ * {@link #reset}).
+ */
 public class DriverFactory {
 
-  private static WebDriver driver;
+  private static final int MAX_SIZE = poolSize();
+  private static final long LEASE_TIMEOUT_SECONDS =
+      ConfigUtil.getDuration("driver.pool.lease.timeout", Duration.ofMinutes(5)).toSeconds();
 
+  private static final Semaphore permits = new Semaphore(MAX_SIZE, true);
+  private static final Deque<PooledDriver> idle = new ConcurrentLinkedDeque<>();
+  private static final Set<PooledDriver> all = ConcurrentHashMap.newKeySet();
+  private static final ThreadLocal<PooledDriver> lease = new ThreadLocal<>();
+
+  static {
+    Runtime.getRuntime().addShutdownHook(new Thread(DriverFactory::quitAll, "driver-pool-close"));
+  }
+
+  private DriverFactory() {
+  }
+
+  /**
+   * Lease a driver for the calling thread. Repeated calls on the same thread return the same
+   * session until it is released or quit.
+   */
   public static WebDriver getDriver(String browser) {
-    if (driver == null) {
-      switch (browser.toLowerCase()) {
-        case "firefox":
-          driver = new FirefoxDriver();
-          break;
-        case "edge":
-          driver = new EdgeDriver();
-          break;
-        default:
-          driver = new ChromeDriver();
-          break;
+    PooledDriver current = lease.get();
+    if (current != null) {
+      return current.driver;
+    }
+
+    try {
+      if (!permits.tryAcquire(LEASE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+        throw new IllegalStateException(
+            "Timed out waiting for a free driver (pool size " + MAX_SIZE + ")");
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted waiting for a free driver", e);
+    }
+
+    try {
+      PooledDriver pooled = takeHealthyIdle(browser);
+      if (pooled == null) {
+        makeRoom();
+        pooled = create(browser);
       }
-      driver.manage().window().maximize();
+      lease.set(pooled);
+      return pooled.driver;
+    } catch (RuntimeException e) {
+      permits.release();
+      throw e;
     }
-    return driver;
   }
 
+  /**
+   * The driver currently leased by this thread, or null if none.
+   */
+  public static WebDriver currentDriver() {
+    PooledDriver current = lease.get();
+    return current == null ? null : current.driver;
+  }
+
+  /**
+   * Return this thread's driver to the pool (reset to a blank page, cookies cleared).
+   */
+  public static void releaseDriver() {
+    PooledDriver current = lease.get();
+    if (current == null) {
+      return;
+    }
+    lease.remove();
+    try {
+      if (reset(current)) {
+        idle.push(current);
+      } else {
+        discard(current);
+      }
+    } finally {
+      permits.release();
+    }
+  }
+
+  /**
+   * Quit this thread's driver instead of returning it to the pool.
+   */
   public static void quitDriver() {
-    if (driver != null) {
-      driver.quit();
-      driver = null;
+    PooledDriver current = lease.get();
+    if (current == null) {
+      return;
+    }
+    lease.remove();
+    try {
+      discard(current);
+    } finally {
+      permits.release();
+    }
+  }
+
+  /**
+   * Quit every session the pool has created (idle or leased).
+   */
+  public static void quitAll() {
+    idle.clear();
+    for (PooledDriver pooled : all) {
+      discard(pooled);
+    }
+  }
+
+  public static int maxSize() {
+    return MAX_SIZE;
+  }
+
+  /**
+   * Navigation counter of a pooled driver, or null if the driver did not come from the pool.
+   */
+  public static NavigationEpoch epochOf(WebDriver driver) {
+    for (PooledDriver pooled : all) {
+      if (pooled.driver == driver) {
+        return pooled.epoch;
+      }
+    }
+    return null;
+  }
+
+  /* ================= Pool internals ================= */
+
+  // One session per test thread unless configured otherwise
+  private static int poolSize() {
+    int size = ConfigUtil.getInt("driver.pool.size", 0);
+    if (size <= 0) {
+      size = ConfigUtil.getInt("parallel.threads", 0);
+    }
+    return size > 0 ? size : Runtime.getRuntime().availableProcessors();
+  }
+
+  private static PooledDriver takeHealthyIdle(String browser) {
+    Iterator<PooledDriver> it = idle.iterator();
+    while (it.hasNext()) {
+      PooledDriver candidate = it.next();
+      if (!candidate.browser.equals(key(browser)) || !idle.removeFirstOccurrence(candidate)) {
+        continue;
+      }
+      if (isHealthy(candidate)) {
+        return candidate;
+      }
+      discard(candidate);
+    }
+    return null;
+  }
+
+  // Idle sessions of another browser type still count against the pool size.
+  private static void makeRoom() {
+    while (all.size() >= MAX_SIZE) {
+      PooledDriver victim = idle.pollLast();
+      if (victim == null) {
+        return;
+      }
+      discard(victim);
+    }
+  }
+
+  private static boolean isHealthy(PooledDriver pooled) {
+    try {
+      if (pooled.raw instanceof RemoteWebDriver remote && remote.getSessionId() == null) {
+        return false;
+      }
+      pooled.raw.getWindowHandle();
+      return true;
+    } catch (Exception e) {
+      return false;
+    }
+  }
+
+  /**
+   * Make a returned session look fresh for the next lease. {@code driver.reset}: cdp (default;
+   * clears cookies and all origin storage through DevTools, keeps the HTTP cache warm), cookies
+   * (WebDriver cookie delete + Web Storage clear) or restart (always quit and relaunch).
+   */
+  private static boolean reset(PooledDriver pooled) {
+    String mode = ConfigUtil.getProperty("driver.reset", "cdp").toLowerCase(Locale.ROOT);
+    if ("restart".equals(mode)) {
+      return false;
+    }
+    try {
+      WebDriver driver = pooled.raw;
+      if ("cdp".equals(mode) && driver instanceof HasCdp cdp) {
+        cdp.executeCdpCommand("Network.clearBrowserCookies", Map.of());
+        for (String origin : originsToClear(driver.getCurrentUrl())) {
+          cdp.executeCdpCommand("Storage.clearDataForOrigin",
+              Map.of("origin", origin, "storageTypes", "all"));
+        }
+      } else {
+        driver.manage().deleteAllCookies();
+        if (driver instanceof JavascriptExecutor js) {
+          js.executeScript("try { localStorage.clear(); sessionStorage.clear(); } catch (e) {}");
+        }
+      }
+      driver.navigate().to("about:blank");
+      pooled.epoch.bump(); // not seen by the listener on the raw driver
+      return true;
+    } catch (Exception e) {
+      LoggerUtil.fine(DriverFactory.class, () -> "Reset failed, discarding session: " + e);
+      return false;
+    }
+  }
+
+  // The page the session was left on plus the site under test
+  private static Set<String> originsToClear(String currentUrl) {
+    Set<String> origins = new LinkedHashSet<>();
+    for (String url : new String[]{currentUrl, SiteUrls.base()}) {
+      try {
+        URI uri = URI.create(url);
+        if (uri.getScheme() != null && uri.getScheme().startsWith("http")) {
+          origins.add(uri.getScheme() + "://" + uri.getRawAuthority());
+        }
+      } catch (IllegalArgumentException ignored) {
+      }
+    }
+    return origins;
+  }
+
+  private static void discard(PooledDriver pooled) {
+    all.remove(pooled);
+    try {
+      pooled.raw.quit();
+    } catch (Exception ignored) {
+    }
+    deleteProfile(pooled.userDataDir);
+  }
+
+  private static PooledDriver create(String browser) {
+    String key = key(browser);
+    PooledDriver pooled;
+    switch (key) {
+      case "firefox":
+        pooled = new PooledDriver(key, new FirefoxDriver(), null);
+        pooled.driver.manage().window().maximize();
+        break;
+      case "edge":
+        pooled = new PooledDriver(key, new EdgeDriver(), null);
+        pooled.driver.manage().window().maximize();
+        break;
+      default:
+        Path profile = createProfileDir();
+        pooled = new PooledDriver(key, new ChromeDriver(chromeOptions(profile)), profile);
+        break;
+    }
+    pooled.driver.manage().timeouts().pageLoadTimeout(
+        ConfigUtil.getDuration("driver.pageload.timeout", Duration.ofSeconds(12)));
+    pooled.driver.manage().timeouts().scriptTimeout(
+        ConfigUtil.getDuration("driver.script.timeout", Duration.ofSeconds(10)));
+    all.add(pooled);
+    LoggerUtil.fine(DriverFactory.class,
+        () -> "Created " + key + " session (" + all.size() + "/" + MAX_SIZE + ")");
+    return pooled;
+  }
+
+  private static ChromeOptions chromeOptions(Path userDataDir) {
+    ChromeOptions opts = new ChromeOptions();
+
+    // Stable flags for CI runners
+    opts.setPageLoadStrategy(PageLoadStrategy.EAGER);     // don't wait for every subresource
+    opts.addArguments("--headless=new");                  // headless in CI
+    opts.addArguments("--disable-gpu", "--no-sandbox", "--disable-dev-shm-usage"); // CI stability
+    opts.addArguments("--disable-extensions", "--disable-infobars");
+    opts.addArguments("--blink-settings=imagesEnabled=false"); // lighter pages
+    opts.addArguments("--window-size=1920,1080");
+
+    if (userDataDir != null) {
+      opts.addArguments("--user-data-dir=" + userDataDir.toAbsolutePath());
+    }
+    return opts;
+  }
+
+  // Unique profile per pooled session so parallel browsers never share a profile lock
+  private static Path createProfileDir() {
+    String runId = System.getenv().getOrDefault("GITHUB_RUN_ID", String.valueOf(System.nanoTime()));
+    try {
+      return Files.createTempDirectory("chrome-prof-" + runId + "-");
+    } catch (IOException e) {
+      return null;
+    }
+  }
+
+  private static void deleteProfile(Path dir) {
+    if (dir == null) {
+      return;
+    }
+    try (Stream<Path> paths = Files.walk(dir)) {
+      paths.sorted(Comparator.reverseOrder()) // delete children first
+          .forEach(p -> {
+            try {
+              Files.deleteIfExists(p);
+            } catch (Exception ignored) {
+            }
+          });
+    } catch (Exception ignored) {
+    }
+  }
+
+  private static String key(String browser) {
+    String b = browser == null ? "chrome" : browser.toLowerCase();
+    return b.equals("firefox") || b.equals("edge") ? b : "chrome";
+  }
+
+  private static final class PooledDriver {
+
+    final String browser;
+    // What tests get: the session wrapped with the navigation (and timing) listeners
+    final WebDriver driver;
+    final WebDriver raw;
+    final NavigationEpoch epoch = new NavigationEpoch();
+    final Path userDataDir;
+
+    PooledDriver(String browser, WebDriver raw, Path userDataDir) {
+      this.browser = browser;
+      this.raw = raw;
+      this.driver = Timings.ENABLED
+          ? new EventFiringDecorator<>(epoch, new TimingListener()).decorate(raw)
+          : new EventFiringDecorator<>(epoch).decorate(raw);
+      this.userDataDir = userDataDir;
     }
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,354 @@
+package org.catalyte.io.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.interactions.Coordinates;
+import org.openqa.selenium.interactions.Locatable;
+
+/**
+ * Per-page cache of resolved elements, keyed by locator. Entries belong to one document: they are
+ * dropped when the page navigates (URL change, reload, frame/window switch) or the document is
+ * back in {@code readyState == 'loading'}.
+ * <p>
+ * On pooled sessions whose navigations are observed through DevTools ({@link NavigationObserver}
+ * bumps the {@link NavigationEpoch} when a navigation commits, including one a click started
+ * after returning), the epoch says whether anything could have navigated since the last check, so
+ * repeated lookups on an unchanged page cost no round-trip at all; after a navigation-capable
+ * call one small script compares a token stored on {@code document}. Other drivers run that
+ * script on every lookup. Returned elements re-resolve themselves once if they go stale.
+ * {@code element.cache=false} turns caching off.
+ * <p>
+ * Only single lookups are cached: lists grow and shrink within one document (menus expanding,
+ * lazily rendered sections), so {@link #findAll} always asks the driver.
+ */
+public final class ElementCache {
+
+  private static final boolean ENABLED = ConfigUtil.getBoolean("element.cache", true);
+
+  // Token lives as long as the document; null while a new one is still loading
+  private static final String DOCUMENT_TOKEN = """
+      var d = document;
+      if (!d.__elementCacheToken) {
+        d.__elementCacheToken = Date.now().toString(36) + Math.random().toString(36).slice(2);
+      }
+      return d.readyState === 'loading' ? null : d.__elementCacheToken;
+      """;
+
+  private static final LongAdder hits = new LongAdder();
+  private static final LongAdder misses = new LongAdder();
+  private static final LongAdder validations = new LongAdder();
+  private static final LongAdder recoveries = new LongAdder();
+
+  private final WebDriver driver;
+  private final NavigationEpoch epoch; // null unless navigation commits bump it
+  private final Map<Object, WebElement> singles = new ConcurrentHashMap<>();
+  private volatile long validatedEpoch = -1;
+  private volatile String token;
+
+  public ElementCache(WebDriver driver) {
+    this.driver = driver;
+    NavigationEpoch sessionEpoch = DriverFactory.epochOf(driver);
+    // Without commit events a click bumps the epoch before its navigation has started
+    this.epoch = sessionEpoch != null && NavigationObserver.of(driver).usesDevTools()
+        ? sessionEpoch : null;
+  }
+
+  /**
+   * Cached {@code driver.findElement(by)}; throws NoSuchElementException like the driver.
+   */
+  public WebElement find(By by) {
+    if (!ENABLED || !validate()) {
+      misses.increment();
+      return driver.findElement(by);
+    }
+    Object key = key(by);
+    WebElement cached = singles.get(key);
+    if (cached != null) {
+      hits.increment();
+      return cached;
+    }
+    misses.increment();
+    WebElement found = new CachedElement(this, by, -1, driver.findElement(by));
+    singles.put(key, found);
+    return found;
+  }
+
+  /**
+   * {@code driver.findElements(by)}, always resolved afresh; the elements still re-resolve
+   * themselves once if they go stale.
+   */
+  public List<WebElement> findAll(By by) {
+    misses.increment();
+    List<WebElement> raw = driver.findElements(by);
+    if (!ENABLED || raw.isEmpty()) {
+      return raw;
+    }
+    List<WebElement> found = new ArrayList<>(raw.size());
+    for (int i = 0; i < raw.size(); i++) {
+      found.add(new CachedElement(this, by, i, raw.get(i)));
+    }
+    return List.copyOf(found);
+  }
+
+  public void invalidate() {
+    singles.clear();
+  }
+
+  /**
+   * Lookup totals across all caches.
+   */
+  public static String summary() {
+    return String.format("ElementCache: hits=%d misses=%d validations=%d stale recoveries=%d",
+        hits.sum(), misses.sum(), validations.sum(), recoveries.sum());
+  }
+
+  /**
+   * True if entries may be used (and stored) for the current document.
+   */
+  private boolean validate() {
+    if (epoch != null && epoch.current() == validatedEpoch) {
+      return true;
+    }
+    long seen = epoch == null ? -1 : epoch.current();
+    validations.increment();
+    String current;
+    try {
+      current = (String) ((JavascriptExecutor) driver).executeScript(DOCUMENT_TOKEN);
+    } catch (WebDriverException | ClassCastException e) {
+      current = null;
+    }
+    if (current == null || !current.equals(token)) {
+      invalidate();
+    }
+    token = current;
+    validatedEpoch = current == null ? -1 : seen;
+    return current != null;
+  }
+
+  // Fresh element for a stale entry; throws the original exception if it is gone for good
+  private WebElement reresolve(By by, int index, StaleElementReferenceException stale) {
+    recoveries.increment();
+    if (index < 0) {
+      singles.remove(key(by));
+      return driver.findElement(by);
+    }
+    List<WebElement> fresh = driver.findElements(by);
+    if (index >= fresh.size()) {
+      throw stale;
+    }
+    return fresh.get(index);
+  }
+
+  // By#equals compares toString(); locators without one (RelativeLocator) fall back to identity
+  private static Object key(By by) {
+    String text = by.toString();
+    return text.contains("[unknown locator]") ? new IdentityKey(by) : by;
+  }
+
+  private static final class IdentityKey {
+
+    final By by;
+
+    IdentityKey(By by) {
+      this.by = by;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      return o instanceof IdentityKey other && other.by == by;
+    }
+
+    @Override
+    public int hashCode() {
+      return System.identityHashCode(by);
+    }
+  }
+
+  /**
+   * Element handle that re-resolves its locator once when the underlying reference is stale.
+   */
+  private static final class CachedElement implements WebElement, WrapsElement, Locatable {
+
+    private final ElementCache cache;
+    private final By by;
+    private final int index;
+    private volatile WebElement element;
+
+    CachedElement(ElementCache cache, By by, int index, WebElement element) {
+      this.cache = cache;
+      this.by = by;
+      this.index = index;
+      this.element = element;
+    }
+
+    private <T> T call(Function<WebElement, T> action) {
+      try {
+        return action.apply(element);
+      } catch (StaleElementReferenceException e) {
+        element = cache.reresolve(by, index, e);
+        return action.apply(element);
+      }
+    }
+
+    private void run(Consumer<WebElement> action) {
+      call(e -> {
+        action.accept(e);
+        return null;
+      });
+    }
+
+    @Override
+    public WebElement getWrappedElement() {
+      return element;
+    }
+
+    @Override
+    public void click() {
+      run(WebElement::click);
+    }
+
+    @Override
+    public void submit() {
+      run(WebElement::submit);
+    }
+
+    @Override
+    public void sendKeys(CharSequence... keysToSend) {
+      run(e -> e.sendKeys(keysToSend));
+    }
+
+    @Override
+    public void clear() {
+      run(WebElement::clear);
+    }
+
+    @Override
+    public String getTagName() {
+      return call(WebElement::getTagName);
+    }
+
+    @Override
+    public String getDomProperty(String name) {
+      return call(e -> e.getDomProperty(name));
+    }
+
+    @Override
+    public String getDomAttribute(String name) {
+      return call(e -> e.getDomAttribute(name));
+    }
+
+    @Override
+    public String getAttribute(String name) {
+      return call(e -> e.getAttribute(name));
+    }
+
+    @Override
+    public String getAriaRole() {
+      return call(WebElement::getAriaRole);
+    }
+
+    @Override
+    public String getAccessibleName() {
+      return call(WebElement::getAccessibleName);
+    }
+
+    @Override
+    public boolean isSelected() {
+      return call(WebElement::isSelected);
+    }
+
+    @Override
+    public boolean isEnabled() {
+      return call(WebElement::isEnabled);
+    }
+
+    @Override
+    public String getText() {
+      return call(WebElement::getText);
+    }
+
+    @Override
+    public List<WebElement> findElements(By locator) {
+      return call(e -> e.findElements(locator));
+    }
+
+    @Override
+    public WebElement findElement(By locator) {
+      return call(e -> e.findElement(locator));
+    }
+
+    @Override
+    public SearchContext getShadowRoot() {
+      return call(WebElement::getShadowRoot);
+    }
+
+    @Override
+    public boolean isDisplayed() {
+      return call(WebElement::isDisplayed);
+    }
+
+    @Override
+    public Point getLocation() {
+      return call(WebElement::getLocation);
+    }
+
+    @Override
+    public Dimension getSize() {
+      return call(WebElement::getSize);
+    }
+
+    @Override
+    public Rectangle getRect() {
+      return call(WebElement::getRect);
+    }
+
+    @Override
+    public String getCssValue(String propertyName) {
+      return call(e -> e.getCssValue(propertyName));
+    }
+
+    @Override
+    public <X> X getScreenshotAs(OutputType<X> target) {
+      return call(e -> e.getScreenshotAs(target));
+    }
+
+    @Override
+    public Coordinates getCoordinates() {
+      return call(e -> ((Locatable) e).getCoordinates());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      Object other = o instanceof CachedElement c ? c.element : o;
+      return Objects.equals(element, other);
+    }
+
+    @Override
+    public int hashCode() {
+      return element.hashCode();
+    }
+
+    @Override
+    public String toString() {
+      return "Cached[" + by + (index >= 0 ? " #" + index : "") + "] " + element;
+    }
+  }
+}
@@ -0,0 +1,90 @@
+package org.catalyte.io.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read access to a structural page fingerprint: nodes in document (pre)order, addressed by index.
+ * Implemented in memory by {@link DomFingerprint} and file-backed by {@link BaselineStore.Baseline}.
+ */
+public interface Fingerprint {
+
+  int count();
+
+  /**
+   * Merkle hash of the subtree rooted at {@code node}.
+   */
+  long hash(int node);
+
+  /**
+   * Hash of the node alone: tag, normalized own text, stable attributes.
+   */
+  long selfHash(int node);
+
+  /**
+   * Number of nodes in the subtree rooted at {@code node}, itself included.
+   */
+  int size(int node);
+
+  String tag(int node);
+
+  String id(int node);
+
+  /**
+   * Stable classes, sorted and space separated.
+   */
+  String classes(int node);
+
+  /**
+   * Normalized text: full text for {@link DomFingerprint#KEY_TAGS}, own text (truncated) for other
+   * elements.
+   */
+  String text(int node);
+
+  /**
+   * Hash of the whole page; equal root hashes mean structurally identical pages.
+   */
+  default long rootHash() {
+    long h = DomFingerprint.FNV_OFFSET;
+    for (int i = 0; i < count(); i += size(i)) {
+      h = DomFingerprint.combine(h, hash(i));
+    }
+    return DomFingerprint.fmix(h);
+  }
+
+  /**
+   * Indexes of the direct children of {@code node}.
+   */
+  default List<Integer> children(int node) {
+    List<Integer> out = new ArrayList<>();
+    for (int c = node + 1; c < node + size(node); c += size(c)) {
+      out.add(c);
+    }
+    return out;
+  }
+
+  /**
+   * Indexes of the top-level nodes (normally just {@code html}).
+   */
+  default List<Integer> roots() {
+    List<Integer> out = new ArrayList<>();
+    for (int c = 0; c < count(); c += size(c)) {
+      out.add(c);
+    }
+    return out;
+  }
+
+  /**
+   * Label for reports: {@code tag#id.class1.class2}.
+   */
+  default String label(int node) {
+    StringBuilder sb = new StringBuilder(tag(node));
+    if (!id(node).isEmpty()) {
+      sb.append('#').append(id(node));
+    }
+    if (!classes(node).isEmpty()) {
+      sb.append('.').append(classes(node).replace(' ', '.'));
+    }
+    return sb.toString();
+  }
+}
@@ -0,0 +1,95 @@
+package org.catalyte.io.utils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with power-of-two microsecond buckets (bucket i counts samples in
+ * [2^i, 2^(i+1)) µs), so percentiles are accurate to within a factor of two. Recording is a few
+ * LongAdder increments.
+ */
+public final class LatencyHistogram {
+
+  private static final int BUCKETS = 40;
+
+  private final LongAdder[] buckets = new LongAdder[BUCKETS];
+  private final LongAdder count = new LongAdder();
+  private final LongAdder totalNanos = new LongAdder();
+  private final LongAccumulator maxNanos = new LongAccumulator(Long::max, 0);
+
+  public LatencyHistogram() {
+    for (int i = 0; i < BUCKETS; i++) {
+      buckets[i] = new LongAdder();
+    }
+  }
+
+  public void record(long nanos) {
+    long micros = Math.max(1, nanos / 1_000);
+    int bucket = Math.min(BUCKETS - 1, 63 - Long.numberOfLeadingZeros(micros));
+    buckets[bucket].increment();
+    count.increment();
+    totalNanos.add(nanos);
+    maxNanos.accumulate(nanos);
+  }
+
+  public long count() {
+    return count.sum();
+  }
+
+  public long totalNanos() {
+    return totalNanos.sum();
+  }
+
+  public long maxNanos() {
+    return maxNanos.get();
+  }
+
+  /**
+   * Upper bound (ns) of the bucket holding the q-th quantile, capped at the maximum seen.
+   */
+  public long percentileNanos(double q) {
+    long n = count();
+    if (n == 0) {
+      return 0;
+    }
+    long rank = (long) Math.ceil(q * n);
+    long seen = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      seen += buckets[i].sum();
+      if (seen >= rank) {
+        return Math.min(maxNanos(), (2L << i) * 1_000);
+      }
+    }
+    return maxNanos();
+  }
+
+  /**
+   * count, total, mean, p50/p90/p99 and max (ms) for JSON output.
+   */
+  public Map<String, Object> toMap() {
+    long n = count();
+    Map<String, Object> out = new LinkedHashMap<>();
+    out.put("count", n);
+    out.put("totalMs", ms(totalNanos()));
+    out.put("meanMs", n == 0 ? 0 : ms(totalNanos() / n));
+    out.put("p50Ms", ms(percentileNanos(0.50)));
+    out.put("p90Ms", ms(percentileNanos(0.90)));
+    out.put("p99Ms", ms(percentileNanos(0.99)));
+    out.put("maxMs", ms(maxNanos()));
+    return out;
+  }
+
+  private static double ms(long nanos) {
+    return Math.round(nanos / 1e4) / 100.0;
+  }
+
+  @Override
+  public String toString() {
+    long n = count();
+    return String.format("n=%d total=%.1fms mean=%.1fms p90=%.1fms max=%.1fms", n,
+        totalNanos() / 1e6, n == 0 ? 0 : totalNanos() / 1e6 / n, percentileNanos(0.90) / 1e6,
+        maxNanos() / 1e6);
+  }
+}
@@ -0,0 +1,288 @@
+package org.catalyte.io.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.support.pagefactory.ByChained;
+
+/**
+ * Drop-in for {@code new ByChained(...)} that resolves a chain in one round-trip instead of one
+ * per segment (and per scope element):
+ * <ul>
+ *   <li>CSS-compatible segments (css/id/class/name/tag) merge into one descendant selector when
+ *   every segment after the first is a single compound selector (or a list of them);</li>
+ *   <li>XPath segments merge into one path;</li>
+ *   <li>other mixes of native locators run as one script that walks the chain in the page.</li>
+ * </ul>
+ * Results come in document order without duplicates (ByChained lists them per scope element, so
+ * nested scopes could repeat one). A later CSS segment with a combinator is not merged: run from
+ * a scope element its left-hand part may still match ancestors outside that scope, which one
+ * merged selector cannot express. Chains with composite segments (RelativeLocator, ByChained) or
+ * scope-escaping segments (absolute or parenthesised XPath, {@code :scope}) keep ByChained's
+ * segment-by-segment lookup.
+ */
+public final class LocatorCompiler {
+
+  // arguments[0]: scope element or null (document), arguments[1]: locator specs
+  private static final String WALK_CHAIN = ScriptLocators.RESOLVE_FN + """
+      var scopes = [arguments[0]], specs = arguments[1];
+      for (var i = 0; i < specs.length && scopes.length; i++) {
+        var next = new Set();
+        for (var j = 0; j < scopes.length; j++) {
+          __resolve(specs[i], scopes[j]).forEach(function (e) { next.add(e); });
+        }
+        scopes = Array.from(next);
+      }
+      return scopes.sort(function (a, b) {
+        return a === b ? 0 : (a.compareDocumentPosition(b) & 4) ? -1 : 1;
+      });
+      """;
+
+  private LocatorCompiler() {
+  }
+
+  /**
+   * One locator equivalent to {@code new ByChained(bys)}.
+   */
+  public static By chain(By... bys) {
+    List<By> segments = new ArrayList<>();
+    for (By by : bys) {
+      if (by instanceof ScriptChain nested) {
+        segments.addAll(nested.segments);
+      } else {
+        segments.add(by);
+      }
+    }
+    if (segments.size() == 1) {
+      return segments.get(0);
+    }
+    String css = css(segments);
+    if (css != null) {
+      return By.cssSelector(css);
+    }
+    String xpath = xpath(segments);
+    if (xpath != null) {
+      return By.xpath(xpath);
+    }
+    if (segments.stream().allMatch(LocatorCompiler::scriptable)) {
+      return new ScriptChain(segments);
+    }
+    return new ByChained(segments.toArray(By[]::new));
+  }
+
+  // "a b c" (":is(...)" around selector lists), or null if any segment is not CSS-compatible
+  // or a later one has a combinator
+  static String css(List<By> segments) {
+    StringBuilder out = new StringBuilder();
+    for (By by : segments) {
+      String selector = cssSegment(by);
+      if (selector == null || (!out.isEmpty() && !compound(selector))) {
+        return null;
+      }
+      if (!out.isEmpty()) {
+        out.append(' ');
+      }
+      out.append(topLevel(selector, ',') ? ":is(" + selector + ")" : selector);
+    }
+    return out.toString();
+  }
+
+  // First segment as-is, later ones appended as relative steps; null if one cannot be appended
+  static String xpath(List<By> segments) {
+    StringBuilder out = new StringBuilder();
+    for (By by : segments) {
+      Map<String, Object> spec = ScriptLocators.spec(by);
+      if (spec == null || !"xpath".equals(spec.get("using"))) {
+        return null;
+      }
+      String path = ((String) spec.get("value")).trim();
+      if (out.isEmpty()) {
+        out.append(topLevel(path, '|') ? "(" + path + ")" : path);
+      } else if (path.startsWith("/") || path.startsWith("(") || topLevel(path, '|')) {
+        return null; // absolute, or a filter over the whole per-scope result
+      } else if (path.startsWith("./")) {
+        out.append(path, 1, path.length());
+      } else {
+        out.append('/').append(path);
+      }
+    }
+    return out.toString();
+  }
+
+  private static String cssSegment(By by) {
+    Map<String, Object> spec = ScriptLocators.spec(by);
+    if (spec == null) {
+      return null;
+    }
+    String value = (String) spec.get("value");
+    return switch ((String) spec.get("using")) {
+      case "css selector" -> value.contains(":scope") ? null : value.trim();
+      case "id" -> "[id=\"" + quote(value) + "\"]";
+      case "name" -> "[name=\"" + quote(value) + "\"]";
+      case "class name" -> "." + identifier(value);
+      case "tag name" -> value;
+      default -> null;
+    };
+  }
+
+  // Every comma-separated part is one compound selector (no descendant, child or sibling step)
+  private static boolean compound(String selector) {
+    for (String part : topLevelSplit(selector, ',')) {
+      String p = part.trim();
+      if (p.isEmpty() || topLevelIndex(p, " \t\n\r\f>+~", 0) >= 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean scriptable(By by) {
+    Map<String, Object> spec = ScriptLocators.spec(by);
+    return spec != null && !String.valueOf(spec.get("value")).contains(":scope");
+  }
+
+  // True if c occurs outside quotes, brackets, parentheses and escapes
+  private static boolean topLevel(String s, char c) {
+    return topLevelIndex(s, String.valueOf(c), 0) >= 0;
+  }
+
+  // Index of the first of chars at or after from, outside quotes, brackets, parentheses and
+  // escapes; -1 if none
+  private static int topLevelIndex(String s, String chars, int from) {
+    int depth = 0;
+    char quote = 0;
+    for (int i = from; i < s.length(); i++) {
+      char ch = s.charAt(i);
+      if (ch == '\\') {
+        i = escapeEnd(s, i);
+      } else if (quote != 0) {
+        if (ch == quote) {
+          quote = 0;
+        }
+      } else if (ch == '"' || ch == '\'') {
+        quote = ch;
+      } else if (ch == '(' || ch == '[') {
+        depth++;
+      } else if (ch == ')' || ch == ']') {
+        depth--;
+      } else if (depth == 0 && chars.indexOf(ch) >= 0) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  // Last index of the escape starting at i: one char, or up to 6 hex digits plus one whitespace
+  private static int escapeEnd(String s, int i) {
+    int j = i + 1;
+    while (j < s.length() && j - i <= 6 && Character.digit(s.charAt(j), 16) >= 0) {
+      j++;
+    }
+    if (j == i + 1) {
+      return Math.min(i + 1, s.length() - 1);
+    }
+    return j < s.length() && Character.isWhitespace(s.charAt(j)) ? j : j - 1;
+  }
+
+  private static List<String> topLevelSplit(String s, char separator) {
+    List<String> parts = new ArrayList<>();
+    int start = 0;
+    for (int i; (i = topLevelIndex(s, String.valueOf(separator), start)) >= 0; start = i + 1) {
+      parts.add(s.substring(start, i));
+    }
+    parts.add(s.substring(start));
+    return parts;
+  }
+
+  private static String quote(String value) {
+    return value.replace("\\", "\\\\").replace("\"", "\\\"");
+  }
+
+  // CSS identifier escape (as CSS.escape) for class names
+  private static String identifier(String value) {
+    StringBuilder out = new StringBuilder();
+    for (int i = 0; i < value.length(); i++) {
+      char ch = value.charAt(i);
+      boolean plain = Character.isLetter(ch) || ch == '_' || ch == '-' || ch >= 0x80
+          || (Character.isDigit(ch) && i > 0 && !(i == 1 && value.charAt(0) == '-'));
+      if (plain) {
+        out.append(ch);
+      } else {
+        out.append('\\').append(Integer.toHexString(ch)).append(' ');
+      }
+    }
+    return out.toString();
+  }
+
+  /**
+   * Mixed chain of native locators, walked by one script.
+   */
+  private static final class ScriptChain extends By {
+
+    private final List<By> segments;
+    private final List<Map<String, Object>> specs;
+
+    ScriptChain(List<By> segments) {
+      this.segments = List.copyOf(segments);
+      this.specs = segments.stream().map(ScriptLocators::spec).toList();
+    }
+
+    @Override
+    public WebElement findElement(SearchContext context) {
+      List<WebElement> found = findElements(context);
+      if (found.isEmpty()) {
+        throw new NoSuchElementException("Cannot locate an element using " + this);
+      }
+      return found.get(0);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<WebElement> findElements(SearchContext context) {
+      SearchContext scope = unwrapCache(context);
+      JavascriptExecutor js = executor(scope);
+      if (js == null) {
+        return new ByChained(segments.toArray(By[]::new)).findElements(context);
+      }
+      Object result = js.executeScript(WALK_CHAIN, scope instanceof WebElement ? scope : null,
+          specs);
+      return result instanceof List<?> list ? (List<WebElement>) list : List.of();
+    }
+
+    // Cache wrappers only; a decorated element also wraps its raw element, and stops here
+    private static SearchContext unwrapCache(SearchContext context) {
+      SearchContext current = context;
+      while (current instanceof WrapsElement wrapper && !(current instanceof WrapsDriver)) {
+        current = wrapper.getWrappedElement();
+      }
+      return current;
+    }
+
+    // The driver as the caller has it: through the event-firing decorator, elements come back
+    // decorated and their clicks reach the navigation and timing listeners
+    private static JavascriptExecutor executor(SearchContext context) {
+      if (context instanceof WebDriver) {
+        return context instanceof JavascriptExecutor js ? js : null;
+      }
+      if (context instanceof WrapsDriver wraps) {
+        return wraps.getWrappedDriver() instanceof JavascriptExecutor js ? js : null;
+      }
+      return null;
+    }
+
+    @Override
+    public String toString() {
+      return "By.chained({" + segments.stream().map(By::toString)
+          .collect(Collectors.joining(",")) + "})";
+    }
+  }
+}
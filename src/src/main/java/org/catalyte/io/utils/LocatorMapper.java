@@ -1,5 +1,6 @@
 package org.catalyte.io.utils;
 
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -8,7 +9,6 @@ import org.catalyte.io.pages.Page;
 import org.catalyte.io.pages.PageFooter;
 import org.catalyte.io.pages.PageHeader;
 import org.openqa.selenium.By;
-import org.openqa.selenium.support.pagefactory.ByChained;
 
 public class LocatorMapper {
 
@@ -64,7 +64,7 @@ public class LocatorMapper {
    */
   public Optional<By> linksInMenuBy(String headingText) {
     return menuBy(headingText).map(
-        menu -> new ByChained(menu, By.cssSelector("a.menu-link[href]")));
+        menu -> LocatorCompiler.chain(menu, By.cssSelector("a.menu-link[href]")));
   }
 
   /**
@@ -72,10 +72,15 @@ public class LocatorMapper {
    */
   public Optional<By> linkInMenuBy(String headingText, String href) {
     String css = "a.menu-link[href=\"" + normalizer.cssEscape(href) + "\"]";
-    return menuBy(headingText).map(menu -> new ByChained(menu, By.cssSelector(css)));
+    return menuBy(headingText).map(menu -> LocatorCompiler.chain(menu, By.cssSelector(css)));
   }
 
+  /**
+   * Allowed destinations per heading, mapped onto the current site base.
+   */
   public Map<String, List<String>> getAllowedUrls() {
-    return ALLOW;
+    Map<String, List<String>> resolved = new LinkedHashMap<>();
+    ALLOW.forEach((heading, urls) -> resolved.put(heading, SiteUrls.resolveAll(urls)));
+    return resolved;
   }
 }
\ No newline at end of file
@@ -0,0 +1,36 @@
+package org.catalyte.io.utils;
+
+/**
+ * Per-thread context stamped on every log record: the running test and the page URL the thread's
+ * driver last navigated to. Set by the test listener and the navigation listener; reading it
+ * never touches the browser.
+ */
+public final class LogContext {
+
+  private static final ThreadLocal<String> test = new ThreadLocal<>();
+  private static final ThreadLocal<String> page = new ThreadLocal<>();
+
+  private LogContext() {
+  }
+
+  public static void setTest(String name) {
+    test.set(name);
+  }
+
+  public static void setPage(String url) {
+    page.set(url);
+  }
+
+  public static String test() {
+    return test.get();
+  }
+
+  public static String page() {
+    return page.get();
+  }
+
+  public static void clear() {
+    test.remove();
+    page.remove();
+  }
+}
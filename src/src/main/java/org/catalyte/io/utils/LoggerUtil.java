@@ -1,12 +1,38 @@
 package org.catalyte.io.utils;
 
-import java.util.logging.ConsoleHandler;
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import java.util.logging.SimpleFormatter;
 
+/**
+ * Loggers for the framework and tests. Every logger is configured once per class and shares one
+ * {@link AsyncLogHandler}, so logging calls return without waiting on stderr and each record
+ * carries thread, test and page URL.
+ * <p>
+ * {@code log.level} (default INFO) is checked before anything is built; the Supplier overloads
+ * also skip building the message, so disabled FINE logging costs one level check.
+ * {@code log.format}: text (default) or json.
+ */
 public class LoggerUtil {
 
+  private static final Level LEVEL =
+      Level.parse(ConfigUtil.getProperty("log.level", "INFO").toUpperCase(Locale.ROOT));
+  private static final AsyncLogHandler HANDLER = new AsyncLogHandler(
+      ConfigUtil.getInt("log.buffer", 8192),
+      "json".equalsIgnoreCase(ConfigUtil.getProperty("log.format", "text")),
+      new BufferedWriter(new OutputStreamWriter(System.err, StandardCharsets.UTF_8), 1 << 16));
+  private static final Map<Class<?>, Logger> loggers = new ConcurrentHashMap<>();
+
+  static {
+    HANDLER.setLevel(Level.ALL);
+  }
+
   private LoggerUtil() {
   }
 
@@ -17,17 +43,25 @@ public class LoggerUtil {
    * @return Logger instance
    */
   public static Logger getLogger(Class<?> clazz) {
-    Logger logger = Logger.getLogger(clazz.getName());
+    Logger logger = loggers.get(clazz);
+    return logger != null ? logger : loggers.computeIfAbsent(clazz, LoggerUtil::configure);
+  }
 
-    if (logger.getHandlers().length == 0) {
-      ConsoleHandler handler = new ConsoleHandler();
-      handler.setLevel(Level.ALL);
-      handler.setFormatter(new SimpleFormatter());
-      logger.addHandler(handler);
-      logger.setUseParentHandlers(false);
-    }
+  /**
+   * Block until queued records are written (end of suite).
+   */
+  public static void flush() {
+    HANDLER.flush();
+  }
 
-    logger.setLevel(Level.ALL);
+  private static Logger configure(Class<?> clazz) {
+    Logger logger = Logger.getLogger(clazz.getName());
+    for (var h : logger.getHandlers()) {
+      logger.removeHandler(h);
+    }
+    logger.addHandler(HANDLER);
+    logger.setUseParentHandlers(false);
+    logger.setLevel(LEVEL);
     return logger;
   }
 
@@ -49,4 +83,19 @@ public class LoggerUtil {
   public static void fine(Class<?> fine, String message) {
     getLogger(fine).fine(message);
   }
-}
\ No newline at end of file
+
+  /**
+   * Lazy variants: the message is only built if the level is enabled.
+   */
+  public static void info(Class<?> info, Supplier<String> message) {
+    getLogger(info).info(message);
+  }
+
+  public static void warning(Class<?> warning, Supplier<String> message) {
+    getLogger(warning).warning(message);
+  }
+
+  public static void fine(Class<?> fine, Supplier<String> message) {
+    getLogger(fine).fine(message);
+  }
+}
@@ -0,0 +1,64 @@
+package org.catalyte.io.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free queue for many producers and one consumer (Vyukov's sequence-per-slot ring).
+ * {@link #offer} never blocks; it returns false when the ring is full.
+ */
+final class MpscRingBuffer<T> {
+
+  private final AtomicReferenceArray<T> slots;
+  // Slot i is free for position p when sequence == p, holds p's item when sequence == p + 1
+  private final AtomicLongArray sequence;
+  private final int mask;
+  private final AtomicLong tail = new AtomicLong();
+  private long head; // consumer thread only
+
+  MpscRingBuffer(int capacity) {
+    int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+    slots = new AtomicReferenceArray<>(size);
+    sequence = new AtomicLongArray(size);
+    mask = size - 1;
+    for (int i = 0; i < size; i++) {
+      sequence.set(i, i);
+    }
+  }
+
+  boolean offer(T item) {
+    long pos = tail.get();
+    while (true) {
+      int index = (int) (pos & mask);
+      long diff = sequence.get(index) - pos;
+      if (diff == 0) {
+        if (tail.compareAndSet(pos, pos + 1)) {
+          slots.set(index, item);
+          sequence.set(index, pos + 1);
+          return true;
+        }
+        pos = tail.get();
+      } else if (diff < 0) {
+        return false; // full: the consumer has not freed this slot yet
+      } else {
+        pos = tail.get(); // another producer took pos
+      }
+    }
+  }
+
+  /**
+   * Next item, or null if none is ready. Consumer thread only.
+   */
+  T poll() {
+    int index = (int) (head & mask);
+    if (sequence.get(index) != head + 1) {
+      return null;
+    }
+    T item = slots.get(index);
+    slots.set(index, null);
+    sequence.set(index, head + mask + 1);
+    head++;
+    return item;
+  }
+}
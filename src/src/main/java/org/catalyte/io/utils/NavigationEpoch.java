@@ -0,0 +1,146 @@
+package org.catalyte.io.utils;
+
+import java.net.URL;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WindowType;
+import org.openqa.selenium.interactions.Sequence;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+/**
+ * Counter bumped after every driver call that may replace the current document or browsing
+ * context: navigation, clicks/submits/actions, frame and window switches, and scripts that click
+ * or touch {@code location}/{@code history}. Caches compare it with the value they last validated
+ * at; while it is unchanged, nothing can have navigated and no round-trip is needed.
+ * <p>
+ * Attached to pooled sessions by {@link DriverFactory} through an EventFiringDecorator.
+ */
+public final class NavigationEpoch implements WebDriverListener {
+
+  private final AtomicLong value = new AtomicLong();
+
+  public long current() {
+    return value.get();
+  }
+
+  public void bump() {
+    value.incrementAndGet();
+  }
+
+  // Explicit navigations also tell the log context which page this thread is on
+  @Override
+  public void afterGet(WebDriver driver, String url) {
+    bump();
+    LogContext.setPage(url);
+  }
+
+  @Override
+  public void afterTo(WebDriver.Navigation navigation, String url) {
+    bump();
+    LogContext.setPage(url);
+  }
+
+  @Override
+  public void afterTo(WebDriver.Navigation navigation, URL url) {
+    bump();
+    LogContext.setPage(String.valueOf(url));
+  }
+
+  @Override
+  public void afterBack(WebDriver.Navigation navigation) {
+    bump();
+  }
+
+  @Override
+  public void afterForward(WebDriver.Navigation navigation) {
+    bump();
+  }
+
+  @Override
+  public void afterRefresh(WebDriver.Navigation navigation) {
+    bump();
+  }
+
+  @Override
+  public void afterClick(WebElement element) {
+    bump();
+  }
+
+  @Override
+  public void afterSubmit(WebElement element) {
+    bump();
+  }
+
+  @Override
+  public void afterSendKeys(WebElement element, CharSequence... keysToSend) {
+    bump(); // Enter may submit a form
+  }
+
+  @Override
+  public void afterPerform(WebDriver driver, Collection<Sequence> actions) {
+    bump();
+  }
+
+  @Override
+  public void afterExecuteScript(WebDriver driver, String script, Object[] args, Object result) {
+    if (mayNavigate(script)) {
+      bump();
+    }
+  }
+
+  @Override
+  public void afterExecuteAsyncScript(WebDriver driver, String script, Object[] args,
+      Object result) {
+    if (mayNavigate(script)) {
+      bump();
+    }
+  }
+
+  @Override
+  public void afterFrame(WebDriver.TargetLocator targetLocator, int index, WebDriver driver) {
+    bump();
+  }
+
+  @Override
+  public void afterFrame(WebDriver.TargetLocator targetLocator, String nameOrId,
+      WebDriver driver) {
+    bump();
+  }
+
+  @Override
+  public void afterFrame(WebDriver.TargetLocator targetLocator, WebElement frameElement,
+      WebDriver driver) {
+    bump();
+  }
+
+  @Override
+  public void afterParentFrame(WebDriver.TargetLocator targetLocator, WebDriver driver) {
+    bump();
+  }
+
+  @Override
+  public void afterDefaultContent(WebDriver.TargetLocator targetLocator, WebDriver driver) {
+    bump();
+  }
+
+  @Override
+  public void afterWindow(WebDriver.TargetLocator targetLocator, String nameOrHandle,
+      WebDriver driver) {
+    bump();
+  }
+
+  @Override
+  public void afterNewWindow(WebDriver.TargetLocator targetLocator, WindowType typeHint,
+      WebDriver driver) {
+    bump();
+  }
+
+  // Read-only scripts (snapshots, settle/await scripts) leave the epoch alone
+  private static boolean mayNavigate(String script) {
+    return script != null && (script.contains(".click(") || script.contains("location")
+        || script.contains("history.") || script.contains(".submit(")
+        || script.contains("window.stop"));
+  }
+}
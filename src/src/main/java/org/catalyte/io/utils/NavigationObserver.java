@@ -0,0 +1,234 @@
+package org.catalyte.io.utils;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonInput;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+/**
+ * Main-frame navigations of a session as they commit, pushed by DevTools
+ * {@code Page.frameNavigated} (a new document) and {@code Page.navigatedWithinDocument} (hash and
+ * history changes). Waiting for a click to navigate returns the moment the destination commits,
+ * rather than on the next getCurrentUrl() poll, and the rest of that page's load can be stopped
+ * right there. Each commit also bumps the session's {@link NavigationEpoch}, including
+ * navigations started by page script.
+ * <p>
+ * Waits only accept commits after a {@link #mark()} taken before the click, so a URL committed by
+ * an earlier navigation is never mistaken for the click's destination.
+ * <p>
+ * Sessions without DevTools (Firefox, or when attaching fails) poll the URL instead.
+ */
+public final class NavigationObserver {
+
+  private static final Duration POLL = Duration.ofMillis(100);
+  private static final Function<JsonInput, Map<String, Object>> AS_MAP =
+      input -> input.read(Json.MAP_TYPE);
+
+  // Observers hold no reference to their driver, so entries go away with the session
+  private static final Map<WebDriver, NavigationObserver> observers =
+      Collections.synchronizedMap(new WeakHashMap<>());
+
+  private final DevTools devTools; // null: poll the URL
+  private final Commits commits;
+
+  private NavigationObserver(DevTools devTools, NavigationEpoch epoch) {
+    this.devTools = devTools;
+    this.commits = new Commits(epoch);
+  }
+
+  public static NavigationObserver of(WebDriver driver) {
+    return observers.computeIfAbsent(driver, NavigationObserver::attach);
+  }
+
+  /**
+   * Drop the session's observer once its DevTools listeners have been cleared; the next
+   * {@link #of} attaches a new one.
+   */
+  public static void forget(WebDriver driver) {
+    observers.remove(driver);
+  }
+
+  /**
+   * Wait until the main frame commits, after {@code mark}, a URL other than {@code before} (a URL
+   * with a '#' when {@code expectedHref} has one), stop loading the rest of that page and return
+   * the URL; empty after the timeout.
+   */
+  public static Optional<String> awaitNavigation(WebDriver driver, String before,
+      String expectedHref, long mark, Duration timeout) {
+    NavigationObserver observer = of(driver);
+    boolean hash = expectedHref != null && expectedHref.contains("#");
+    Optional<String> url = observer.awaitCommit(driver, before, hash, mark, timeout);
+    url.ifPresent(u -> {
+      observer.stopLoading(driver);
+      LogContext.setPage(u);
+    });
+    return url;
+  }
+
+  /**
+   * Position in this session's commits; take it before the click whose navigation is awaited.
+   */
+  public long mark() {
+    return commits.mark();
+  }
+
+  /**
+   * Main-frame URL committed after {@code mark} and different from {@code before} (containing
+   * '#' if {@code hash}), or empty after the timeout.
+   */
+  public Optional<String> awaitCommit(WebDriver driver, String before, boolean hash, long mark,
+      Duration timeout) {
+    if (devTools == null) {
+      return poll(driver, before, hash, timeout);
+    }
+    return commits.await(before, hash, mark, timeout);
+  }
+
+  /**
+   * Stop loading the current document (subresources, pending scripts); the URL stays committed.
+   */
+  public void stopLoading(WebDriver driver) {
+    try {
+      if (devTools != null) {
+        devTools.send(new Command<>("Page.stopLoading", Map.of()));
+      } else {
+        ((JavascriptExecutor) driver).executeScript("window.stop();");
+      }
+    } catch (RuntimeException ignored) {
+      // the next page action reports a broken session
+    }
+  }
+
+  public boolean usesDevTools() {
+    return devTools != null;
+  }
+
+  private static NavigationObserver attach(WebDriver driver) {
+    NavigationEpoch epoch = DriverFactory.epochOf(driver);
+    if (!(driver instanceof HasDevTools hasDevTools)) {
+      return new NavigationObserver(null, epoch);
+    }
+    try {
+      DevTools devTools = hasDevTools.getDevTools();
+      devTools.createSessionIfThereIsNotOne();
+      NavigationObserver observer = new NavigationObserver(devTools, epoch);
+      Consumer<Map<String, Object>> onFrame = observer.commits::frameNavigated;
+      Consumer<Map<String, Object>> onSameDocument = observer.commits::navigatedWithinDocument;
+      devTools.addListener(new Event<>("Page.frameNavigated", AS_MAP), onFrame);
+      devTools.addListener(new Event<>("Page.navigatedWithinDocument", AS_MAP), onSameDocument);
+      devTools.send(new Command<>("Page.enable", Map.of()));
+      Map<String, Object> tree =
+          devTools.send(new Command<>("Page.getFrameTree", Map.of(), AS_MAP));
+      observer.commits.frameNavigated(asMap(tree.get("frameTree")));
+      return observer;
+    } catch (RuntimeException e) {
+      LoggerUtil.fine(NavigationObserver.class,
+          () -> "DevTools unavailable, polling for navigation: " + e.getMessage());
+      return new NavigationObserver(null, epoch);
+    }
+  }
+
+  private static Optional<String> poll(WebDriver driver, String before, boolean hash,
+      Duration timeout) {
+    try {
+      return Optional.of(new WebDriverWait(driver, timeout, POLL).until(d -> {
+        String url = d.getCurrentUrl();
+        return arrived(url, before, hash) ? url : null;
+      }));
+    } catch (TimeoutException e) {
+      return Optional.empty();
+    }
+  }
+
+  private static boolean arrived(String url, String before, boolean hash) {
+    return url != null && !url.equals(before) && (!hash || url.contains("#"));
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Map<String, Object> asMap(Object value) {
+    return value instanceof Map ? (Map<String, Object>) value : Map.of();
+  }
+
+  /**
+   * Main-frame commits as DevTools reports them, numbered so waits can ignore earlier ones.
+   */
+  static final class Commits {
+
+    private final NavigationEpoch epoch;
+    private String mainFrameId; // guarded by this
+    private String committedUrl; // guarded by this
+    private long count; // guarded by this
+
+    Commits(NavigationEpoch epoch) {
+      this.epoch = epoch;
+    }
+
+    synchronized long mark() {
+      return count;
+    }
+
+    synchronized Optional<String> await(String before, boolean hash, long mark,
+        Duration timeout) {
+      long deadline = System.nanoTime() + timeout.toNanos();
+      while (count <= mark || !arrived(committedUrl, before, hash)) {
+        long left = deadline - System.nanoTime();
+        if (left <= 0) {
+          return Optional.empty();
+        }
+        try {
+          TimeUnit.NANOSECONDS.timedWait(this, left);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return Optional.empty();
+        }
+      }
+      return Optional.of(committedUrl);
+    }
+
+    // DevTools thread
+    void frameNavigated(Map<String, Object> params) {
+      Map<String, Object> frame = asMap(params.get("frame"));
+      if (frame.get("parentId") != null) {
+        return; // iframes do not move the page
+      }
+      Object fragment = frame.get("urlFragment");
+      String url = frame.get("url") + (fragment == null ? "" : String.valueOf(fragment));
+      synchronized (this) {
+        mainFrameId = String.valueOf(frame.get("id"));
+        commit(url);
+      }
+    }
+
+    // DevTools thread
+    void navigatedWithinDocument(Map<String, Object> params) {
+      synchronized (this) {
+        if (mainFrameId == null || mainFrameId.equals(params.get("frameId"))) {
+          commit(String.valueOf(params.get("url")));
+        }
+      }
+    }
+
+    private void commit(String url) {
+      committedUrl = url;
+      count++;
+      if (epoch != null) {
+        epoch.bump();
+      }
+      notifyAll();
+    }
+  }
+}
@@ -0,0 +1,86 @@
+package org.catalyte.io.utils;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.WeakHashMap;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.HasCdp;
+
+/**
+ * Blocks third-party requests the tests never look at (video players, analytics/ad pixels, the
+ * OneTrust consent script, web fonts) through DevTools {@code Network.setBlockedURLs}, on top of
+ * the EAGER load strategy and disabled images set in {@link DriverFactory}.
+ * <p>
+ * {@code network.block}: default (the list below), none, or a comma-separated list of URL
+ * patterns ({@code *} is a wildcard). Test classes that need some of it pass allow entries: every
+ * pattern containing one of them (case-insensitive) is left out, e.g. "vimeo" for the video
+ * checks. Non-Chromium sessions load everything.
+ */
+public final class RequestBlocking {
+
+  public static final List<String> DEFAULT_PROFILE = List.of(
+      // video players
+      "*vimeo.com*", "*vimeocdn.com*",
+      // analytics, ads and tracking pixels
+      "*googletagmanager.com*", "*google-analytics.com*", "*doubleclick.net*",
+      "*connect.facebook.net*", "*snap.licdn.com*", "*px.ads.linkedin.com*",
+      "*getwarmly.com*", "*ml314.com*",
+      // cookie consent
+      "*cookielaw.org*", "*onetrust.com*",
+      // web fonts
+      "*fonts.googleapis.com*", "*fonts.gstatic.com*", "*use.fontawesome.com*",
+      "*.woff", "*.woff2", "*.ttf");
+
+  // Pattern list last sent to each session, so unchanged profiles cost no command
+  private static final Map<WebDriver, List<String>> applied =
+      Collections.synchronizedMap(new WeakHashMap<>());
+
+  private RequestBlocking() {
+  }
+
+  /**
+   * Configured patterns minus those matching any of {@code allow}.
+   */
+  public static List<String> patterns(Collection<String> allow) {
+    String setting = ConfigUtil.getProperty("network.block", "default").trim();
+    List<String> profile = switch (setting.toLowerCase(Locale.ROOT)) {
+      case "default" -> DEFAULT_PROFILE;
+      case "none", "" -> List.of();
+      default -> Arrays.stream(setting.split(",")).map(String::trim)
+          .filter(p -> !p.isEmpty()).toList();
+    };
+    return profile.stream()
+        .filter(p -> allow.stream().noneMatch(
+            a -> p.toLowerCase(Locale.ROOT).contains(a.toLowerCase(Locale.ROOT))))
+        .toList();
+  }
+
+  /**
+   * Block the configured patterns (minus {@code allow}) for subsequent requests of this session.
+   */
+  public static void apply(WebDriver driver, Collection<String> allow) {
+    if (!(driver instanceof HasCdp cdp)) {
+      return;
+    }
+    List<String> patterns = patterns(allow);
+    if (patterns.equals(applied.get(driver))) {
+      return;
+    }
+    try {
+      cdp.executeCdpCommand("Network.enable", Map.of());
+      cdp.executeCdpCommand("Network.setBlockedURLs", Map.of("urls", patterns));
+      applied.put(driver, patterns);
+      LoggerUtil.fine(RequestBlocking.class,
+          () -> "Blocking " + patterns.size() + " URL pattern(s)");
+    } catch (WebDriverException e) {
+      applied.remove(driver);
+      LoggerUtil.fine(RequestBlocking.class,
+          () -> "Request blocking unavailable: " + e.getMessage());
+    }
+  }
+}
@@ -0,0 +1,82 @@
+package org.catalyte.io.utils;
+
+import java.util.Map;
+import java.util.Set;
+import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+
+/**
+ * Lets scripts resolve Selenium locators inside the page, so a lookup and whatever is done with
+ * the result cost a single executeScript round-trip.
+ * <p>
+ * Scripts include {@link #RESOLVE_FN} and call {@code __resolve(arg)} on a value produced by
+ * {@link #argument(SearchContext, By)}: either a locator spec the page can evaluate itself
+ * (css/xpath/id/class/tag/name/link text) or, for composite locators such as ByChained and
+ * RelativeLocator, the elements Selenium already resolved.
+ */
+public final class ScriptLocators {
+
+  /**
+   * Defines {@code __resolve(arg, ctx)}: arg is an element array or a {using, value} spec; ctx
+   * defaults to document.
+   */
+  public static final String RESOLVE_FN = """
+      function __resolve(arg, ctx) {
+        if (Array.isArray(arg)) { return arg; }
+        ctx = ctx || document;
+        var v = arg.value, list = function (l) { return Array.prototype.slice.call(l); };
+        var attr = function (name) {
+          return list(ctx.querySelectorAll('[' + name + '="'
+              + String(v).replace(/(["\\\\])/g, '\\\\$1') + '"]'));
+        };
+        switch (arg.using) {
+          case 'css selector': return list(ctx.querySelectorAll(v));
+          case 'id': return attr('id');
+          case 'name': return attr('name');
+          case 'class name': return list(ctx.getElementsByClassName(v));
+          case 'tag name': return list(ctx.getElementsByTagName(v));
+          case 'xpath':
+            var r = document.evaluate(v, ctx, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);
+            var out = [];
+            for (var i = 0; i < r.snapshotLength; i++) {
+              if (r.snapshotItem(i).nodeType === 1) { out.push(r.snapshotItem(i)); }
+            }
+            return out;
+          case 'link text':
+          case 'partial link text':
+            return list(ctx.querySelectorAll('a')).filter(function (a) {
+              var t = (a.innerText || '').trim();
+              return arg.using === 'link text' ? t === v : t.indexOf(v) >= 0;
+            });
+        }
+        throw new Error('Unsupported locator strategy: ' + arg.using);
+      }
+      """;
+
+  private static final Set<String> NATIVE = Set.of("css selector", "id", "name", "class name",
+      "tag name", "xpath", "link text", "partial link text");
+
+  private ScriptLocators() {
+  }
+
+  /**
+   * {using, value} spec for locators the page can evaluate natively, or null for composite ones.
+   */
+  public static Map<String, Object> spec(By by) {
+    // RelativeLocator is Remotable too, but only the driver can evaluate "relative"
+    if (by instanceof By.Remotable remotable
+        && NATIVE.contains(remotable.getRemoteParameters().using())) {
+      By.Remotable.Parameters p = remotable.getRemoteParameters();
+      return Map.of("using", p.using(), "value", String.valueOf(p.value()));
+    }
+    return null;
+  }
+
+  /**
+   * Script argument for {@code __resolve}: the spec when possible, else the resolved elements.
+   */
+  public static Object argument(SearchContext context, By by) {
+    Map<String, Object> spec = spec(by);
+    return spec != null ? spec : context.findElements(by);
+  }
+}
@@ -0,0 +1,146 @@
+package org.catalyte.io.utils;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+
+/**
+ * Condition-based settling to replace fixed sleeps before/after UI interactions. Every wait is a
+ * single async script bounded by {@code ui.settle.timeout} (default 750ms), and its real duration
+ * is recorded so {@link #summary()} shows what settling actually cost.
+ */
+public final class Settle {
+
+  public static final Duration CEILING =
+      ConfigUtil.getDuration("ui.settle.timeout", Duration.ofMillis(750));
+
+  /**
+   * Scroll the element to the viewport center, then resolve once scrolling has stopped and its
+   * rect is unchanged for two animation frames. Hit-testing at its center is reported, not waited
+   * for: sticky headers, banners and child overlays cover a center that never clears.
+   */
+  private static final String FOR_CLICK = """
+      var el = arguments[0], budget = arguments[1], callback = arguments[arguments.length - 1];
+      var last = null, stable = 0, finished = false;
+      function done(result) { if (!finished) { finished = true; callback(result); } }
+      // rAF does not run in background tabs; the timer still ends the wait
+      setTimeout(function () { done(false); }, budget);
+      el.scrollIntoView({block: 'center', inline: 'center', behavior: 'instant'});
+      function hitTestable(r) {
+        var x = r.left + r.width / 2, y = r.top + r.height / 2;
+        if (x < 0 || y < 0 || x >= window.innerWidth || y >= window.innerHeight) { return false; }
+        var hit = document.elementFromPoint(x, y);
+        return !!hit && (hit === el || el.contains(hit) || hit.contains(el));
+      }
+      function frame() {
+        if (!el.isConnected) { done(false); return; }
+        var r = el.getBoundingClientRect();
+        var key = [window.scrollX, window.scrollY, r.left, r.top, r.width, r.height].join();
+        stable = key === last ? stable + 1 : 0;
+        last = key;
+        if (stable >= 2) { done(hitTestable(r) ? 'clear' : 'covered'); return; }
+        if (!finished) { requestAnimationFrame(frame); }
+      }
+      requestAnimationFrame(frame);
+      """;
+
+  /**
+   * Resolve once no nodes have been added or removed for two consecutive animation frames.
+   * Attribute changes are ignored: carousels and animations rewrite style and class forever.
+   */
+  private static final String QUIET = """
+      var budget = arguments[0], callback = arguments[arguments.length - 1];
+      var dirty = true, quiet = 0, finished = false;
+      var mo = new MutationObserver(function () { dirty = true; });
+      mo.observe(document.documentElement, {subtree: true, childList: true});
+      function done(result) {
+        if (!finished) { finished = true; mo.disconnect(); callback(result); }
+      }
+      setTimeout(function () { done(false); }, budget);
+      function frame() {
+        quiet = dirty ? 0 : quiet + 1;
+        dirty = false;
+        if (quiet >= 2) { done(true); return; }
+        if (!finished) { requestAnimationFrame(frame); }
+      }
+      requestAnimationFrame(frame);
+      """;
+
+  private static final Stats clickStats = new Stats();
+  private static final Stats quietStats = new Stats();
+
+  private Settle() {
+  }
+
+  /**
+   * Bring the element to the viewport center and wait until it stops moving. Returns false on
+   * timeout or script failure (callers just go ahead with the click); an element that settled
+   * but is covered at its center still returns true and is counted as covered.
+   */
+  public static boolean forClick(WebDriver driver, WebElement el) {
+    Object result = run(clickStats, driver, FOR_CLICK, el, CEILING.toMillis());
+    if ("covered".equals(result)) {
+      clickStats.covered.increment();
+    }
+    return result != null;
+  }
+
+  /**
+   * Wait until the DOM stops changing (e.g. after a banner closes or between click retries).
+   */
+  public static boolean quiet(WebDriver driver) {
+    return run(quietStats, driver, QUIET, CEILING.toMillis()) != null;
+  }
+
+  /**
+   * One-line totals per settle kind: count, timeouts, total/mean/max milliseconds.
+   */
+  public static String summary() {
+    return "Settle: click " + clickStats + "; quiet " + quietStats;
+  }
+
+  // Script result when settled (true or a detail string), null on timeout or failure
+  private static Object run(Stats stats, WebDriver driver, String script, Object... args) {
+    long start = System.nanoTime();
+    Object result = null;
+    try {
+      result = ((JavascriptExecutor) driver).executeAsyncScript(script, args);
+    } catch (WebDriverException | ClassCastException e) {
+      LoggerUtil.fine(Settle.class, () -> "Settle script failed: " + e.getMessage());
+    }
+    Object settled = Boolean.FALSE.equals(result) ? null : result;
+    stats.record(System.nanoTime() - start, settled != null);
+    return settled;
+  }
+
+  private static final class Stats {
+
+    final LongAdder count = new LongAdder();
+    final LongAdder timeouts = new LongAdder();
+    final LongAdder covered = new LongAdder();
+    final LongAdder totalNanos = new LongAdder();
+    final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+    void record(long nanos, boolean settled) {
+      count.increment();
+      totalNanos.add(nanos);
+      maxNanos.accumulate(nanos);
+      if (!settled) {
+        timeouts.increment();
+      }
+    }
+
+    @Override
+    public String toString() {
+      long n = count.sum();
+      double totalMs = totalNanos.sum() / 1e6;
+      return String.format("n=%d timeouts=%d covered=%d total=%.0fms mean=%.1fms max=%.1fms", n,
+          timeouts.sum(), covered.sum(), totalMs, n == 0 ? 0.0 : totalMs / n,
+          maxNanos.get() / 1e6);
+    }
+  }
+}
@@ -0,0 +1,86 @@
+package org.catalyte.io.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Base-URL switch for the site under test. URLs are written against the live origin and mapped
+ * to {@code site.base.url} at use time, so the same tests run against the live site or a local
+ * fixture server.
+ */
+public final class SiteUrls {
+
+  public static final String ORIGIN = "https://www.catalyte.io";
+
+  // Spellings of the origin that show up in tests and page content
+  private static final List<String> ORIGIN_ALIASES = List.of(
+      "https://www.catalyte.io", "https://catalyte.io",
+      "http://www.catalyte.io", "http://catalyte.io");
+
+  private SiteUrls() {
+  }
+
+  /**
+   * Current base URL without trailing slash (the live origin unless overridden).
+   */
+  public static String base() {
+    String base = ConfigUtil.getProperty("site.base.url", ORIGIN);
+    return base.endsWith("/") ? base.substring(0, base.length() - 1) : base;
+  }
+
+  public static boolean isLive() {
+    return base().equalsIgnoreCase(ORIGIN);
+  }
+
+  /**
+   * Map a live-site URL (or a root-relative path) onto the current base. Other URLs, and all
+   * absolute URLs when running live, are returned unchanged.
+   */
+  public static String resolve(String url) {
+    if (url == null || (isLive() && !url.startsWith("/"))) {
+      return url;
+    }
+    if (url.startsWith("/")) {
+      return base() + url;
+    }
+    for (String alias : ORIGIN_ALIASES) {
+      if (hasOrigin(url, alias)) {
+        return base() + url.substring(alias.length());
+      }
+    }
+    return url;
+  }
+
+  /**
+   * Inverse of {@link #resolve}: strip the live origin (any alias) or the current base, so URLs
+   * from live and fixture pages compare equal. Other URLs are returned unchanged.
+   */
+  public static String relativize(String url) {
+    if (url == null) {
+      return null;
+    }
+    for (String prefix : concat(base(), ORIGIN_ALIASES)) {
+      if (hasOrigin(url, prefix)) {
+        String rest = url.substring(prefix.length());
+        return rest.isEmpty() ? "/" : rest;
+      }
+    }
+    return url;
+  }
+
+  public static List<String> resolveAll(List<String> urls) {
+    return urls.stream().map(SiteUrls::resolve).toList();
+  }
+
+  private static boolean hasOrigin(String url, String origin) {
+    return url.regionMatches(true, 0, origin, 0, origin.length())
+        && (url.length() == origin.length() || "/?#".indexOf(url.charAt(origin.length())) >= 0);
+  }
+
+  private static List<String> concat(String first, List<String> rest) {
+    List<String> all = new ArrayList<>(rest.size() + 1);
+    all.add(first);
+    all.addAll(rest);
+    return all;
+  }
+}
@@ -7,20 +7,172 @@ import java.util.Locale;
  */
 public class StringNormalizer {
 
+  // Larger buffers are dropped after use instead of being kept per thread
+  private static final int MAX_RETAINED_BUFFER = 1 << 16;
+  private static final ThreadLocal<StringBuilder> BUFFER =
+      ThreadLocal.withInitial(() -> new StringBuilder(256));
+
+  private final Locale locale; // null: the default locale at the time of the call
+
   public StringNormalizer() {
+    this(null);
   }
 
+  /**
+   * Lowercase with a fixed locale instead of the JVM default.
+   */
+  public StringNormalizer(Locale locale) {
+    this.locale = locale;
+  }
+
+  /**
+   * Fold nbsp/bullets to spaces and en/em dashes to '-', collapse whitespace runs, trim and
+   * lowercase (default or configured locale) in a single pass.
+   */
   public String normalize(String s) {
     if (s == null) {
       return "";
     }
-    return s.replace('\u00A0', ' ')         // nbsp -> space
-        .replace('\u2022', ' ')         // bullet -> space
-        .replace('\u2013', '-')         // en dash -> hyphen (optional)
-        .replace('\u2014', '-')         // em dash -> hyphen (optional)
-        .replaceAll("\\s+", " ")       // collapse whitespace
-        .trim()
-        .toLowerCase();
+    StringBuilder out = BUFFER.get();
+    out.setLength(0);
+    Locale lower = locale();
+    boolean fullLowerCase = appendNormalized(s, out, asciiLowerCaseIsSafe(lower));
+    String result = out.toString();
+    if (out.capacity() > MAX_RETAINED_BUFFER) {
+      BUFFER.remove();
+    }
+    return fullLowerCase ? result.toLowerCase(lower) : result;
+  }
+
+  /**
+   * {@code normalize(text).contains(normalize(expected))} without building the normalized copy of
+   * {@code text}: the text is normalized on the fly and matched against the expected value.
+   */
+  public boolean containsNormalized(CharSequence text, CharSequence expected) {
+    if (text == null) {
+      text = "";
+    }
+    String want = normalize(expected == null ? null : expected.toString());
+    if (want.isEmpty()) {
+      return true;
+    }
+    if (!asciiLowerCaseIsSafe(locale())) {
+      return normalize(text.toString()).contains(want);
+    }
+    int[] fallback = failureTable(want);
+    int matched = 0;
+    boolean started = false, pendingSpace = false;
+    for (int i = 0, n = text.length(); i < n; i++) {
+      char c = fold(text.charAt(i));
+      if (isWhitespace(c)) {
+        pendingSpace = started;
+        continue;
+      }
+      if (!started && c <= ' ') {
+        continue;
+      }
+      started = true;
+      if (pendingSpace) {
+        matched = advance(want, fallback, matched, ' ');
+        pendingSpace = false;
+      }
+      if (c >= 0x80 && (Character.toLowerCase(c) != c || Character.isSurrogate(c))) {
+        // Case mapping needs the whole string (e.g. final sigma); take the slow path
+        return normalize(text.toString()).contains(want);
+      }
+      matched = advance(want, fallback, matched, lowerAscii(c));
+      if (matched == want.length()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  // Appends the normalized form of s; returns true if lowercasing still has to be done by
+  // String#toLowerCase (locale- or context-sensitive characters)
+  private static boolean appendNormalized(CharSequence s, StringBuilder out, boolean asciiOnly) {
+    boolean fullLowerCase = !asciiOnly;
+    boolean pendingSpace = false;
+    int end = 0; // length up to the last char > ' ' (String#trim semantics)
+    for (int i = 0, n = s.length(); i < n; i++) {
+      char c = fold(s.charAt(i));
+      if (isWhitespace(c)) {
+        pendingSpace = out.length() > 0;
+        continue;
+      }
+      if (out.length() == 0 && c <= ' ') {
+        continue;
+      }
+      if (pendingSpace) {
+        out.append(' ');
+        pendingSpace = false;
+      }
+      if (c < 0x80) {
+        out.append(asciiOnly ? lowerAscii(c) : c);
+      } else {
+        fullLowerCase |= Character.toLowerCase(c) != c || Character.isSurrogate(c);
+        out.append(c);
+      }
+      if (c > ' ') {
+        end = out.length();
+      }
+    }
+    out.setLength(end);
+    return fullLowerCase;
+  }
+
+  private static char fold(char c) {
+    switch (c) {
+      case '\u00A0': // nbsp -> space
+      case '\u2022': // bullet -> space
+        return ' ';
+      case '\u2013': // en dash -> hyphen
+      case '\u2014': // em dash -> hyphen
+        return '-';
+      default:
+        return c;
+    }
+  }
+
+  // Same set as the regex \s: [ \t\n\x0B\f\r]
+  private static boolean isWhitespace(char c) {
+    return c == ' ' || (c >= '\t' && c <= '\r');
+  }
+
+  private static char lowerAscii(char c) {
+    return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+  }
+
+  // Turkish/Azeri/Lithuanian casing differs from ASCII even for 'I'
+  private static boolean asciiLowerCaseIsSafe(Locale locale) {
+    String lang = locale.getLanguage();
+    return !"tr".equals(lang) && !"az".equals(lang) && !"lt".equals(lang);
+  }
+
+  private Locale locale() {
+    return locale != null ? locale : Locale.getDefault();
+  }
+
+  // KMP failure function
+  private static int[] failureTable(String pattern) {
+    int[] table = new int[pattern.length()];
+    for (int i = 1, k = 0; i < pattern.length(); i++) {
+      while (k > 0 && pattern.charAt(i) != pattern.charAt(k)) {
+        k = table[k - 1];
+      }
+      if (pattern.charAt(i) == pattern.charAt(k)) {
+        k++;
+      }
+      table[i] = k;
+    }
+    return table;
+  }
+
+  private static int advance(String pattern, int[] table, int matched, char c) {
+    while (matched > 0 && pattern.charAt(matched) != c) {
+      matched = table[matched - 1];
+    }
+    return pattern.charAt(matched) == c ? matched + 1 : matched;
   }
 
   public String normalizeLink(String p) {
@@ -32,16 +184,7 @@ public class StringNormalizer {
   }
 
   public String normalizeLocator(String s) {
-    if (s == null) {
-      return "";
-    }
-    return s.replace('\u00A0', ' ')         // nbsp -> space
-        .replace('\u2022', ' ')         // bullet -> space
-        .replace('\u2013', '-')         // en dash -> hyphen (optional)
-        .replace('\u2014', '-')         // em dash -> hyphen (optional)
-        .replaceAll("\\s+", " ")       // collapse whitespace
-        .trim()
-        .toLowerCase();
+    return normalize(s);
   }
 
   public String slugify(String txt) {
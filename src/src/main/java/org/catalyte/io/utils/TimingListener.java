@@ -0,0 +1,61 @@
+package org.catalyte.io.utils;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+/**
+ * Times every call made through a decorated driver (and the elements, navigation and options it
+ * hands out) and reports it to {@link Timings} as "Interface.method", e.g. "WebElement.click",
+ * "Navigation.to" or "JavascriptExecutor.executeScript".
+ * <p>
+ * Attached to pooled sessions by {@link DriverFactory} unless {@code metrics.timing=false}.
+ */
+public final class TimingListener implements WebDriverListener {
+
+  // Start times of the calls in flight on this thread (decorated calls can nest)
+  private static final ThreadLocal<Starts> starts = ThreadLocal.withInitial(Starts::new);
+
+  @Override
+  public void beforeAnyCall(Object target, Method method, Object[] args) {
+    starts.get().push(System.nanoTime());
+  }
+
+  @Override
+  public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+    finish(method);
+  }
+
+  @Override
+  public void onError(Object target, Method method, Object[] args,
+      InvocationTargetException e) {
+    finish(method);
+  }
+
+  private static void finish(Method method) {
+    Starts s = starts.get();
+    if (s.size == 0) {
+      return;
+    }
+    long nanos = System.nanoTime() - s.pop();
+    Timings.record(method.getDeclaringClass().getSimpleName() + "." + method.getName(), nanos);
+  }
+
+  private static final class Starts {
+
+    long[] values = new long[8];
+    int size;
+
+    void push(long value) {
+      if (size == values.length) {
+        values = Arrays.copyOf(values, size * 2);
+      }
+      values[size++] = value;
+    }
+
+    long pop() {
+      return values[--size];
+    }
+  }
+}
@@ -0,0 +1,149 @@
+package org.catalyte.io.utils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import org.openqa.selenium.json.Json;
+
+/**
+ * Latency histograms for driver commands, split three ways: per command type for the run, per
+ * page-object method (the outermost org.catalyte.io.pages frame that issued the command) and per
+ * test. A test's commands are collected on its thread between {@link #startTest()} and
+ * {@link #finishTest}, which returns a table for the report; {@link #writeSummary} dumps the whole
+ * run as JSON.
+ * <p>
+ * Recording costs LongAdder increments plus one stack walk per command, which is noise next to a
+ * WebDriver round-trip. {@code metrics.timing=false} turns it off.
+ */
+public final class Timings {
+
+  public static final boolean ENABLED = ConfigUtil.getBoolean("metrics.timing", true);
+
+  private static final String PAGES_PACKAGE = "org.catalyte.io.pages.";
+  private static final StackWalker WALKER = StackWalker.getInstance();
+
+  private static final Map<String, LatencyHistogram> commands = new ConcurrentHashMap<>();
+  private static final Map<String, LatencyHistogram> pageMethods = new ConcurrentHashMap<>();
+  private static final Map<String, LatencyHistogram> tests = new ConcurrentHashMap<>();
+  // Commands of the test running on this thread (only touched by that thread)
+  private static final ThreadLocal<Map<String, LatencyHistogram>> currentTest =
+      new ThreadLocal<>();
+
+  private Timings() {
+  }
+
+  static void record(String command, long nanos) {
+    histogram(commands, command).record(nanos);
+    pageMethod().ifPresent(method -> histogram(pageMethods, method).record(nanos));
+    Map<String, LatencyHistogram> test = currentTest.get();
+    if (test != null) {
+      test.computeIfAbsent(command, k -> new LatencyHistogram()).record(nanos);
+    }
+  }
+
+  /**
+   * Start collecting this thread's commands for a new test.
+   */
+  public static void startTest() {
+    currentTest.set(new HashMap<>());
+  }
+
+  /**
+   * Stop collecting for the current test, record its duration and return its command table
+   * (empty if {@link #startTest()} was not called on this thread).
+   */
+  public static String finishTest(String name, long durationNanos) {
+    Map<String, LatencyHistogram> test = currentTest.get();
+    currentTest.remove();
+    histogram(tests, name).record(durationNanos);
+    return test == null ? "" : table(name, durationNanos, test);
+  }
+
+  /**
+   * Write the run's histograms as JSON ({@code commands}, {@code pageMethods}, {@code tests}).
+   */
+  public static void writeSummary(Path file) {
+    Map<String, Object> out = new LinkedHashMap<>();
+    out.put("commands", toMaps(commands));
+    out.put("pageMethods", toMaps(pageMethods));
+    out.put("tests", toMaps(tests));
+    try {
+      Files.createDirectories(file.toAbsolutePath().getParent());
+      Files.writeString(file, new Json().toJson(out), StandardCharsets.UTF_8);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to write " + file, e);
+    }
+  }
+
+  /**
+   * Command totals for the run, slowest command types first.
+   */
+  public static String summary() {
+    StringBuilder out = new StringBuilder("Timings:");
+    sorted(commands).limit(8).forEach(e -> out.append("\n  ").append(e.getKey()).append(' ')
+        .append(e.getValue()));
+    return out.toString();
+  }
+
+  private static String table(String name, long durationNanos, Map<String, LatencyHistogram> h) {
+    StringBuilder out = new StringBuilder(String.format("%s: %.0f ms%n%n", name,
+        durationNanos / 1e6));
+    out.append(String.format("%-40s %6s %10s %9s %9s %9s%n", "command", "count", "total ms",
+        "mean ms", "p90 ms", "max ms"));
+    sorted(h).forEach(e -> {
+      LatencyHistogram v = e.getValue();
+      out.append(String.format("%-40s %6d %10.1f %9.1f %9.1f %9.1f%n", e.getKey(), v.count(),
+          v.totalNanos() / 1e6, v.totalNanos() / 1e6 / v.count(), v.percentileNanos(0.9) / 1e6,
+          v.maxNanos() / 1e6));
+    });
+    return out.toString();
+  }
+
+  private static Stream<Map.Entry<String, LatencyHistogram>> sorted(
+      Map<String, LatencyHistogram> h) {
+    return h.entrySet().stream().sorted(
+        Comparator.comparingLong((Map.Entry<String, LatencyHistogram> e) ->
+            e.getValue().totalNanos()).reversed());
+  }
+
+  private static Map<String, Object> toMaps(Map<String, LatencyHistogram> h) {
+    Map<String, Object> out = new LinkedHashMap<>();
+    sorted(h).forEach(e -> out.put(e.getKey(), e.getValue().toMap()));
+    return out;
+  }
+
+  private static LatencyHistogram histogram(Map<String, LatencyHistogram> map, String key) {
+    LatencyHistogram h = map.get(key);
+    return h != null ? h : map.computeIfAbsent(key, k -> new LatencyHistogram());
+  }
+
+  // "HomePage.getTopHomepageInfoboxes" for the outermost page-object frame on the stack
+  private static Optional<String> pageMethod() {
+    return WALKER.walk(frames -> {
+      String found = null;
+      for (var it = frames.iterator(); it.hasNext(); ) {
+        StackWalker.StackFrame f = it.next();
+        if (f.getClassName().startsWith(PAGES_PACKAGE)) {
+          found = f.getClassName().substring(PAGES_PACKAGE.length()) + "." + f.getMethodName();
+        } else if (found != null) {
+          break;
+        }
+      }
+      return Optional.ofNullable(found).map(Timings::tidy);
+    });
+  }
+
+  // Lambdas show up as "lambda$method$0"; nested classes as "Outer$Inner"
+  private static String tidy(String frame) {
+    return frame.replaceAll("lambda\\$(\\w+)\\$\\d+", "$1").replace('$', '.');
+  }
+}
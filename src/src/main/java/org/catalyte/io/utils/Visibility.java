@@ -0,0 +1,112 @@
+package org.catalyte.io.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+/**
+ * Presence and visibility of many locators or elements from one executeScript call, instead of a
+ * findElements plus an isDisplayed atom per element.
+ * <p>
+ * "Displayed" follows WebDriver's rules for the layouts these pages use: connected, not a hidden
+ * input, not hidden by display/visibility/opacity on itself or an ancestor, and with a non-empty
+ * box (or a descendant that has one). Composite locators (RelativeLocator) cost one extra lookup,
+ * as in {@link ScriptLocators}.
+ */
+public final class Visibility {
+
+  // arguments[0]: one __resolve argument per entry; returns [found, displayed] per entry
+  private static final String COUNT = ScriptLocators.RESOLVE_FN + """
+      function __sized(e) {
+        var r = e.getBoundingClientRect();
+        return r.width > 0 && r.height > 0;
+      }
+      function __shown(e) {
+        if (!e || !e.isConnected) { return false; }
+        if (e.tagName === 'INPUT' && e.type === 'hidden') { return false; }
+        if (e.checkVisibility) {
+          var opts = {opacityProperty: true, visibilityProperty: true,
+                      checkOpacity: true, checkVisibilityCSS: true};
+          if (!e.checkVisibility(opts)) { return false; }
+        } else {
+          for (var a = e; a && a.nodeType === 1; a = a.parentElement) {
+            var s = getComputedStyle(a);
+            if (s.display === 'none' || s.opacity === '0') { return false; }
+          }
+          if (getComputedStyle(e).visibility !== 'visible') { return false; }
+        }
+        return __sized(e) || Array.prototype.some.call(e.querySelectorAll('*'), __sized);
+      }
+      return arguments[0].map(function (arg) {
+        var els = __resolve(arg);
+        return [els.length, els.filter(__shown).length];
+      });
+      """;
+
+  private Visibility() {
+  }
+
+  /**
+   * Matches and displayed matches for each locator, in order.
+   */
+  public static List<Counts> count(WebDriver driver, List<By> locators) {
+    List<Object> args = new ArrayList<>(locators.size());
+    for (By by : locators) {
+      args.add(ScriptLocators.argument(driver, by));
+    }
+    return run(driver, args);
+  }
+
+  /**
+   * isDisplayed() for each element, in order.
+   */
+  public static List<Boolean> displayed(WebDriver driver, List<? extends WebElement> elements) {
+    List<Object> args = new ArrayList<>(elements.size());
+    for (WebElement element : elements) {
+      args.add(List.of(element));
+    }
+    return run(driver, args).stream().map(c -> c.displayed > 0).toList();
+  }
+
+  @SuppressWarnings("unchecked")
+  private static List<Counts> run(WebDriver driver, List<Object> args) {
+    if (args.isEmpty()) {
+      return List.of();
+    }
+    List<List<Number>> raw =
+        (List<List<Number>>) ((JavascriptExecutor) driver).executeScript(COUNT, args);
+    return raw.stream()
+        .map(pair -> new Counts(pair.get(0).intValue(), pair.get(1).intValue()))
+        .toList();
+  }
+
+  /**
+   * Result for one locator (or element).
+   */
+  public static final class Counts {
+
+    public final int found;
+    public final int displayed;
+
+    Counts(int found, int displayed) {
+      this.found = found;
+      this.displayed = displayed;
+    }
+
+    public boolean anyDisplayed() {
+      return displayed > 0;
+    }
+
+    public boolean allDisplayed() {
+      return found > 0 && displayed == found;
+    }
+
+    @Override
+    public String toString() {
+      return displayed + "/" + found + " displayed";
+    }
+  }
+}
@@ -2,16 +2,17 @@ package org.catalyte.io.tests.scenarios;
 
 import io.qameta.allure.testng.AllureTestNg;
 import java.time.Duration;
-import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import org.catalyte.io.pages.ApprenticeshipsPage;
 import org.catalyte.io.tests.unit.BaseUiTest;
 import org.catalyte.io.utils.ButtonNavHelper;
+import org.catalyte.io.utils.Scoreboard;
+import org.catalyte.io.utils.SiteUrls;
 import org.catalyte.io.utils.TestListener;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebElement;
-import org.testng.Assert;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Listeners;
@@ -21,17 +22,17 @@ import org.testng.asserts.SoftAssert;
 @Listeners({AllureTestNg.class, TestListener.class})
 public class ApprenticeshipsPageTests extends BaseUiTest {
 
-  private final String apprenticeshipsPageUrl = "https://www.catalyte.io/apprenticeships/";
-  private ApprenticeshipsPage page;
+  private final String apprenticeshipsPageUrl = SiteUrls.resolve("https://www.catalyte.io/apprenticeships/");
 
   @BeforeClass(alwaysRun = true)
   public void setUpPages() {
-    if (driver == null) {
-      throw new IllegalStateException("Driver is null in setUpPages()");
-    }
     open(apprenticeshipsPageUrl);
-    page = new ApprenticeshipsPage(driver);
-    page.waitForCards(2);
+    page().waitForCards(2);
+  }
+
+  // Page object bound to the current thread's driver
+  private ApprenticeshipsPage page() {
+    return pageObject(ApprenticeshipsPage.class, ApprenticeshipsPage::new);
   }
 
   @BeforeMethod(alwaysRun = true)
@@ -40,31 +41,26 @@ public class ApprenticeshipsPageTests extends BaseUiTest {
     return apprenticeshipsPageUrl;
   }
 
-  @BeforeMethod(alwaysRun = true)
-  protected List<String> failures() {
-    return new ArrayList<>();
-  }
-
   @Test
   public void verifyAllKeyElementsOfHowItWorksSectionPresent() {
     SoftAssert sa = new SoftAssert();
 
-    sa.assertTrue(!page.getIconBoxTitles().isEmpty(),
+    sa.assertTrue(!page().getIconBoxTitles().isEmpty(),
         "No elements found for: elementor-icon-box-title");
 
-    sa.assertTrue(page.getWpImage2230().isDisplayed(),
+    sa.assertTrue(page().getWpImage2230().isDisplayed(),
         "WP image with class 'wp-image-2230' not displayed");
 
-    sa.assertTrue(!page.getElement4b74d2c3SizeDefault().isEmpty(),
+    sa.assertTrue(!page().getElement4b74d2c3SizeDefault().isEmpty(),
         "No size-default elements under elementor-element-4b74d2c3");
 
-    sa.assertTrue(!page.getElement2570aea1ImageBoxWrappers().isEmpty(),
+    sa.assertTrue(!page().getElement2570aea1ImageBoxWrappers().isEmpty(),
         "No image box wrappers under elementor-element-2570aea1");
 
-    sa.assertTrue(!page.getElement3d21807cImageBoxWrappers().isEmpty(),
+    sa.assertTrue(!page().getElement3d21807cImageBoxWrappers().isEmpty(),
         "No image box wrappers under elementor-element-3d21807c");
 
-    sa.assertTrue(!page.getImageBoxTitles().isEmpty(),
+    sa.assertTrue(!page().getImageBoxTitles().isEmpty(),
         "No elements found for: elementor-image-box-title");
 
     sa.assertAll();
@@ -72,7 +68,7 @@ public class ApprenticeshipsPageTests extends BaseUiTest {
 
   @Test
   public void regressionTestForAllApprenticeshipLinks_CheckNavigationFunctionality() {
-    List<String> apprenticeships = page.getApprenticeshipNames();
+    List<String> apprenticeships = page().getApprenticeshipNames();
     int totalPages = apprenticeships.size();
     logger.info("Found apprenticeships: " + totalPages + apprenticeships);
     int testedPages = 0;
@@ -85,15 +81,15 @@ public class ApprenticeshipsPageTests extends BaseUiTest {
       testedPages++;
       logger.info("Testing apprenticeship: " + name);
       try {
-        page.clickApprenticeshipType(name);
-        sa.assertTrue(page.verifyApprenticeshipPage(name),
-            "Validation failed for: " + name + " | URL: " + driver.getCurrentUrl());
+        page().clickApprenticeshipType(name);
+        sa.assertTrue(page().verifyApprenticeshipPage(name),
+            "Validation failed for: " + name + " | URL: " + driver().getCurrentUrl());
       } catch (Exception e) {
         sa.fail("Exception while testing '" + name + "': " + e.getMessage());
         testedPages--;
       } finally {
-        driver.navigate().back();
-        page.waitUntilBackOnCards();
+        driver().navigate().back();
+        page().waitUntilBackOnCards();
       }
       sa.assertAll();
       logger.info("Pages tested successfully: " + testedPages + " of " + totalPages);
@@ -102,62 +98,43 @@ public class ApprenticeshipsPageTests extends BaseUiTest {
 
   @Test
   public void verifyAllOpportunityMetricsElementsPresent() {
-    for (WebElement e : page.getOpportunityMetrics()) {
+    for (WebElement e : page().getOpportunityMetrics()) {
       checkElement(e::isDisplayed, "Element " + e.getAttribute("data-id") + " missing.");
     }
   }
 
   @Test
   public void faqAccordion_DisplaysExpectedText() {
-    String howDoesItWork = "How does a Catalyte apprenticeship work?";
-    Assert.assertTrue(
-        page.faqContentContainsAfterAllottedTime(howDoesItWork, "paid while learning",
-            Duration.ofSeconds(5)),
-        "FAQ content did not contain expected phrase for: " + howDoesItWork
-    );
-
-    String cost = "How much does an apprenticeship cost?";
-    Assert.assertTrue(
-        page.faqContentContainsAfterAllottedTime(cost, "100% free", Duration.ofSeconds(5)),
-        "FAQ content did not contain expected phrase for: " + cost
-    );
-
-    String applyRequirements = "What are the requirements to apply?";
-    Assert.assertTrue(
-        page.faqContentContainsAfterAllottedTime(applyRequirements, "Be at least 18 years old",
-            Duration.ofSeconds(5)),
-        "Requirements FAQ missing expected bullet."
-    );
-
-    String commitment = "Are apprenticeships a full-time or part-time commitment?";
-    Assert.assertTrue(
-        page.faqContentContainsAfterAllottedTime(commitment, "40 hours", Duration.ofSeconds(5)),
-        "FAQ content did not contain expected phrase for: " + commitment
-    );
-
-    String needDegree = "Do I need a college degree to apply?";
-    Assert.assertTrue(
-        page.faqContentContainsAfterAllottedTime(needDegree, "do not take degrees",
-            Duration.ofSeconds(5)),
-        "FAQ content did not contain expected phrase for: " + needDegree
-    );
+    // Question -> phrase its panel must show; accordions.threshold is 0.0, so every FAQ must pass
+    Map<String, String> faqs = new LinkedHashMap<>();
+    faqs.put("How does a Catalyte apprenticeship work?", "paid while learning");
+    faqs.put("How much does an apprenticeship cost?", "100% free");
+    faqs.put("What are the requirements to apply?", "Be at least 18 years old");
+    faqs.put("Are apprenticeships a full-time or part-time commitment?", "40 hours");
+    faqs.put("Do I need a college degree to apply?", "do not take degrees");
+
+    Scoreboard.Tally accordions = Scoreboard.start(Scoreboard.Category.ACCORDIONS, faqs.size());
+    faqs.forEach((question, phrase) -> accordions.record(
+        page().faqContentContainsAfterAllottedTime(question, phrase, Duration.ofSeconds(5)),
+        "FAQ content did not contain expected phrase for: " + question));
+    accordions.finish();
   }
 
   @Test
   public void testAllFaqsButtonDisplayedAndFunctionsLenient() {
-    var buttons = ButtonNavHelper.snapshotButton(driver,
-        page.getAllFaqsButtonBy());
+    var buttons = ButtonNavHelper.snapshotButton(driver(),
+        page().getAllFaqsButtonBy());
     Map<String, String> expect = Map.of("All FAQs", "/about/faqs/");
 
-    By ALL_FAQS_SECTION = page.getFaqSectionBy();
-    By PAGE_DID_LOAD = page.pageLoadedIfDisplayed();
+    By ALL_FAQS_SECTION = page().getFaqSectionBy();
+    By PAGE_DID_LOAD = page().pageLoadedIfDisplayed();
 
     for (var b : buttons) {
-      ButtonNavHelper.verifyButton(driver, apprenticeshipsPageUrl, PAGE_DID_LOAD, ALL_FAQS_SECTION,
+      ButtonNavHelper.verifyButton(driver(), apprenticeshipsPageUrl, PAGE_DID_LOAD, ALL_FAQS_SECTION,
               b, expect,
               defaultWait)
-          .ifPresent(failures()::add);
+          .ifPresent(warnings()::add);
     }
-    failures().forEach(logger::warning);
+    warnings().forEach(logger::warning);
   }
 }
\ No newline at end of file
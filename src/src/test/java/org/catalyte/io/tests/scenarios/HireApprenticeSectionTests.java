@@ -2,15 +2,16 @@ package org.catalyte.io.tests.scenarios;
 
 import io.qameta.allure.testng.AllureTestNg;
 import java.time.Duration;
-import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import org.catalyte.io.pages.HirePage;
 import org.catalyte.io.tests.unit.BaseUiTest;
 import org.catalyte.io.utils.ButtonNavHelper;
+import org.catalyte.io.utils.Scoreboard;
+import org.catalyte.io.utils.SiteUrls;
 import org.catalyte.io.utils.TestListener;
 import org.openqa.selenium.By;
-import org.testng.Assert;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Listeners;
@@ -19,22 +20,23 @@ import org.testng.annotations.Test;
 @Listeners({AllureTestNg.class, TestListener.class})
 public class HireApprenticeSectionTests extends BaseUiTest {
 
-  private final String hirePageUrl = "https://www.catalyte.io/hire-talent/hire-apprentices/";
-  private HirePage page;
+  private final String hirePageUrl = SiteUrls.resolve("https://www.catalyte.io/hire-talent/hire-apprentices/");
 
   @BeforeClass(alwaysRun = true)
   public void setUpPages() {
-    // BaseUiTest.setUpBase() runs first and creates 'driver'
-    if (driver == null) {
-      throw new IllegalStateException("Driver is null in setUpPages()");
-    }
+    // BaseUiTest.setUpBase() runs first and leases this thread's driver
     open(hirePageUrl);
-    page = new HirePage(driver);
   }
 
-  @BeforeMethod
-  public void resetWarnings() {
-    warnings = new ArrayList<>();
+  // The PR and testimonial videos are Vimeo embeds
+  @Override
+  protected List<String> allowedResourcePatterns() {
+    return List.of("vimeo");
+  }
+
+  // Page object bound to the current thread's driver
+  private HirePage page() {
+    return pageObject(HirePage.class, HirePage::new);
   }
 
   @BeforeMethod(alwaysRun = true)
@@ -43,114 +45,95 @@ public class HireApprenticeSectionTests extends BaseUiTest {
     return hirePageUrl;
   }
 
-  @BeforeMethod(alwaysRun = true)
-  protected List<String> failures() {
-    return new ArrayList<>();
-  }
-
   @Test
   public void testImagesExistLenient() {
-    checkAll(
-        Check.of(page.getImage3111()::isDisplayed, "Image 3111 missing"),
-        Check.of(page.getImage3112()::isDisplayed, "Image 3112 missing"),
-        Check.of(page.getImage3113()::isDisplayed, "Image 3113 missing"));
+    checkAll(Scoreboard.Category.IMAGES,
+        displayedCheck(page().getImage3111By(), "Image 3111 missing"),
+        displayedCheck(page().getImage3112By(), "Image 3112 missing"),
+        displayedCheck(page().getImage3113By(), "Image 3113 missing"));
   }
 
   @Test
   public void testVideosExistLenient() throws InterruptedException {
     checkAll(
-        Check.of(page.getPRVideo()::isDisplayed, "Apprenticeships PR video iframe missing"),
-        Check.of(page.getTestimonialsVideo()::isDisplayed,
+        displayedCheck(page().getPRVideoBy(), "Apprenticeships PR video iframe missing"),
+        displayedCheck(page().getTestimonialsVideoBy(),
             "Apprenticeships testimonials video iframe missing"));
   }
 
   @Test
   public void testWorkWithUsButtonDisplayedAndFunctionsLenient() {
-    var buttons = ButtonNavHelper.snapshotButton(driver,
-        page.getWorkWithUsButtonBy());
+    var buttons = ButtonNavHelper.snapshotButton(driver(),
+        page().getWorkWithUsButtonBy());
     Map<String, String> expect = Map.of("Connect now", "/about/contact-sales/");
 
-    By WORK_WITH_US_SECTION = page.getWorkWithUsButtonScope();
-    By PAGE_DID_LOAD = page.pageLoadedIfDisplayed();
+    By WORK_WITH_US_SECTION = page().getWorkWithUsButtonScope();
+    By PAGE_DID_LOAD = page().pageLoadedIfDisplayed();
 
     for (var b : buttons) {
-      ButtonNavHelper.verifyButton(driver, hirePageUrl, PAGE_DID_LOAD, WORK_WITH_US_SECTION, b,
+      ButtonNavHelper.verifyButton(driver(), hirePageUrl, PAGE_DID_LOAD, WORK_WITH_US_SECTION, b,
               expect,
               defaultWait)
-          .ifPresent(failures()::add);
+          .ifPresent(warnings()::add);
     }
-    failures().forEach(logger::warning);
+    warnings().forEach(logger::warning);
   }
 
   @Test
   public void testMenuTextItemsLenient() {
-    if (page.getMenuTextItems().isEmpty()) {
-      warnings.add("Menu text items missing");
+    if (page().getMenuTextItems().isEmpty()) {
+      warnings().add("Menu text items missing");
       logger.warning("Menu text items missing");
     }
   }
 
   @Test
   public void faqAccordion_ExistsAndDisplaysExpectedText() {
-    String howCanIHire = "How can I hire Catalyte talent?";
-    Assert.assertTrue(
-        page.faqContentContainsAfterAllottedTime(howCanIHire, "We work closely",
-            Duration.ofSeconds(5)),
-        "FAQ content did not contain expected phrase for: " + howCanIHire
-    );
-
-    String findTalent = "How do you deliver high-quality talent?";
-    Assert.assertTrue(
-        page.faqContentContainsAfterAllottedTime(findTalent, "three steps", Duration.ofSeconds(5)),
-        "FAQ content did not contain expected phrase for: " + findTalent
-    );
-
-    String whatIndustries = "What industries do you provide talent for?";
-    Assert.assertTrue(
-        page.faqContentContainsAfterAllottedTime(whatIndustries, "clients in many industries",
-            Duration.ofSeconds(5)),
-        "Requirements FAQ missing expected phrase for: " + whatIndustries
-    );
-
-    String ifNeedMore = "What if I need more than apprentice talent?";
-    Assert.assertTrue(
-        page.faqContentContainsAfterAllottedTime(ifNeedMore, "across all experience levels",
-            Duration.ofSeconds(5)),
-        "FAQ content did not contain expected phrase for: " + ifNeedMore
-    );
+    // Question -> phrase its panel must show; accordions.threshold is 0.0, so every FAQ must pass
+    Map<String, String> faqs = new LinkedHashMap<>();
+    faqs.put("How can I hire Catalyte talent?", "We work closely");
+    faqs.put("How do you deliver high-quality talent?", "three steps");
+    faqs.put("What industries do you provide talent for?", "clients in many industries");
+    faqs.put("What if I need more than apprentice talent?", "across all experience levels");
+
+    Scoreboard.Tally accordions = Scoreboard.start(Scoreboard.Category.ACCORDIONS, faqs.size());
+    faqs.forEach((question, phrase) -> accordions.record(
+        page().faqContentContainsAfterAllottedTime(question, phrase, Duration.ofSeconds(5)),
+        "FAQ content did not contain expected phrase for: " + question));
+    accordions.finish();
   }
 
   @Test
   public void testAllFaqsButtonDisplayedAndFunctionsLenient() {
-    var buttons = ButtonNavHelper.snapshotButton(driver,
-        page.getAllFaqsButtonBy());
+    var buttons = ButtonNavHelper.snapshotButton(driver(),
+        page().getAllFaqsButtonBy());
     Map<String, String> expect = Map.of("All FAQs", "/about/faqs/");
 
-    By ALL_FAQS_SECTION = page.getAllFaqsSectionBy();
-    By PAGE_DID_LOAD = page.pageLoadedIfDisplayed();
+    By ALL_FAQS_SECTION = page().getAllFaqsSectionBy();
+    By PAGE_DID_LOAD = page().pageLoadedIfDisplayed();
 
     for (var b : buttons) {
-      ButtonNavHelper.verifyButton(driver, hirePageUrl, PAGE_DID_LOAD, ALL_FAQS_SECTION, b, expect,
+      ButtonNavHelper.verifyButton(driver(), hirePageUrl, PAGE_DID_LOAD, ALL_FAQS_SECTION, b, expect,
               defaultWait)
-          .ifPresent(failures()::add);
+          .ifPresent(warnings()::add);
     }
-    failures().forEach(logger::warning);
+    warnings().forEach(logger::warning);
   }
 
   @Test
   public void testAboutAIButtonDisplayedAndFunctionsLenient() {
-    var buttons = ButtonNavHelper.snapshotButton(driver,
-        page.getAboutAIButtonBy());
+    var buttons = ButtonNavHelper.snapshotButton(driver(),
+        page().getAboutAIButtonBy());
     Map<String, String> expect = Map.of("About our AI", "/about/catalyte-ai/");
 
-    By ABOUT_AI_SECTION = page.getAboutAiSectionBy();
-    By PAGE_DID_LOAD = page.pageLoadedIfDisplayed();
+    By ABOUT_AI_SECTION = page().getAboutAiSectionBy();
+    By PAGE_DID_LOAD = page().pageLoadedIfDisplayed();
 
     for (var b : buttons) {
-      ButtonNavHelper.verifyButton(driver, hirePageUrl, PAGE_DID_LOAD, ABOUT_AI_SECTION, b, expect,
+      ButtonNavHelper.verifyButton(driver(), hirePageUrl, PAGE_DID_LOAD, ABOUT_AI_SECTION, b, expect,
               defaultWait)
-          .ifPresent(failures()::add);
+          .ifPresent(warnings()::add);
     }
-    failures().forEach(logger::warning);
+    warnings().forEach(logger::warning);
   }
 }
\ No newline at end of file
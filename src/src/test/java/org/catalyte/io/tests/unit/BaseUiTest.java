@@ -1,26 +1,37 @@
 package org.catalyte.io.tests.unit;
 
 import static org.catalyte.io.utils.ButtonNavHelper.js;
-import io.qameta.allure.Attachment;
+import io.qameta.allure.Allure;
 import io.qameta.allure.testng.AllureTestNg;
-import java.nio.file.Files;
-import java.nio.file.Path;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import org.catalyte.io.utils.ConfigUtil;
+import org.catalyte.io.utils.DriverFactory;
+import org.catalyte.io.utils.FixtureServer;
 import org.catalyte.io.utils.LoggerUtil;
+import org.catalyte.io.utils.NavigationCapture;
+import org.catalyte.io.utils.RequestBlocking;
+import org.catalyte.io.utils.Scoreboard;
+import org.catalyte.io.utils.SiteUrls;
 import org.catalyte.io.utils.TestListener;
+import org.catalyte.io.utils.Timings;
+import org.catalyte.io.utils.Visibility;
 import org.openqa.selenium.By;
 import org.openqa.selenium.Dimension;
 import org.openqa.selenium.JavascriptExecutor;
-import org.openqa.selenium.OutputType;
-import org.openqa.selenium.PageLoadStrategy;
-import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.StaleElementReferenceException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.support.ui.ExpectedCondition;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.testng.ITestResult;
@@ -33,19 +44,29 @@ import org.testng.annotations.Listeners;
 @Listeners({AllureTestNg.class, TestListener.class})
 public abstract class BaseUiTest {
 
+  static {
+    // Before any subclass field resolves a site URL
+    FixtureServer.startIfEnabled();
+  }
+
+  // shared: checkAll waits for all timed checks in one polling loop; sequential: one after another
+  private static final boolean SHARED_WAITS =
+      "shared".equalsIgnoreCase(ConfigUtil.getProperty("checks.mode", "shared"));
+  private static final Duration WAIT_POLL = Duration.ofMillis(250);
+
   protected final java.util.logging.Logger logger = LoggerUtil.getLogger(getClass());
-  protected WebDriver driver;
-  protected WebDriverWait wait;
-  protected List<String> warnings;
-  protected Duration defaultWait = Duration.ofSeconds(10);
-  // Keep a handle to delete the temp profile afterward
-  private Path userDataDir;
+  protected Duration defaultWait = ConfigUtil.getDuration("wait.default", Duration.ofSeconds(10));
+  // Per-thread state so the class is safe under parallel="methods"
+  private final ThreadLocal<Bound> wait = new ThreadLocal<>();
+  private final ThreadLocal<List<String>> warnings = ThreadLocal.withInitial(ArrayList::new);
+  private final ThreadLocal<Map<Class<?>, Bound>> pageObjects =
+      ThreadLocal.withInitial(HashMap::new);
 
   /**
    * Override to change default timeout (seconds).
    */
   protected int defaultTimeoutSeconds() {
-    return 20;
+    return (int) ConfigUtil.getDuration("wait.timeout", Duration.ofSeconds(20)).toSeconds();
   }
 
   /**
@@ -56,93 +77,108 @@ public abstract class BaseUiTest {
   }
 
   /**
-   * One-time driver init per class.
+   * Browser used for this class; sessions are leased from the shared DriverFactory pool.
+   */
+  protected String browserName() {
+    return ConfigUtil.getProperty("browser", "chrome");
+  }
+
+  /**
+   * Third-party requests this class needs despite {@code network.block} (substrings of the
+   * blocked URL patterns, e.g. "vimeo"). Everything in the profile is blocked by default.
+   */
+  protected List<String> allowedResourcePatterns() {
+    return List.of();
+  }
+
+  /**
+   * One-time driver lease per class (reuses a warm pooled session when one is idle).
    */
   @BeforeClass(alwaysRun = true)
   public final void setUpBase() throws Exception {
-    ChromeOptions opts = new ChromeOptions();
-
-    // Stable flags for CI runners
-    opts.setPageLoadStrategy(PageLoadStrategy.EAGER);     // don't wait for every subresource
-    opts.addArguments("--headless=new");                  // headless in CI
-    opts.addArguments("--disable-gpu", "--no-sandbox", "--disable-dev-shm-usage"); // CI stability
-    opts.addArguments("--disable-extensions", "--disable-infobars");
-    opts.addArguments("--blink-settings=imagesEnabled=false"); // lighter pages
+    TestListener.setDriver(driver());
+    RequestBlocking.apply(driver(), allowedResourcePatterns());
+  }
 
-    // Make the profile path unique for each test class + CI run
-    String runId = System.getenv().getOrDefault("GITHUB_RUN_ID", String.valueOf(System.nanoTime()));
-    userDataDir = Files.createTempDirectory(
-        "chrome-prof-" + getClass().getSimpleName() + "-" + runId + "-");
-    opts.addArguments("--user-data-dir=" + userDataDir.toAbsolutePath());
+  /**
+   * Driver leased by the calling thread. Under parallel execution every worker thread gets its
+   * own session from the pool.
+   */
+  protected WebDriver driver() {
+    return DriverFactory.getDriver(browserName());
+  }
 
-    driver = new ChromeDriver(opts);
-    wait = new WebDriverWait(driver, Duration.ofSeconds(defaultTimeoutSeconds()));
-    warnings = new ArrayList<>();
+  /**
+   * Warnings collected by the current test method (thread-confined, reset per method).
+   */
+  protected List<String> warnings() {
+    return warnings.get();
+  }
 
-    driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(12));
-    driver.manage().timeouts().scriptTimeout(Duration.ofSeconds(10));
+  /**
+   * Page object bound to the calling thread's driver; rebuilt when the thread's driver changes.
+   */
+  protected <P> P pageObject(Class<P> type, Function<WebDriver, P> factory) {
+    WebDriver d = driver();
+    Bound bound = pageObjects.get().get(type);
+    if (bound == null || bound.driver != d) {
+      bound = new Bound(d, factory.apply(d));
+      pageObjects.get().put(type, bound);
+    }
+    return type.cast(bound.value);
   }
 
   //Resetting driver state per method to stop flakiness
   protected String startUrlForThisClass() {
-    return "https://google.com";
+    return SiteUrls.resolve("/");
   }
 
   @BeforeMethod(alwaysRun = true)
   public void resetState() {
-    driver.manage().deleteAllCookies();
-    driver.navigate().to("about:blank");
-    driver.get(startUrlForThisClass());
+    Timings.startTest();
+    WebDriver d = driver();
+    TestListener.setDriver(d);
+    // Pooled sessions move between classes; a no-op when the profile is unchanged
+    RequestBlocking.apply(d, allowedResourcePatterns());
+    warnings.set(new ArrayList<>());
+    d.manage().deleteAllCookies();
+    d.navigate().to("about:blank");
+    d.get(startUrlForThisClass());
   }
 
   //lazy getter to protect run order
   protected WebDriverWait getWait() {
-    if (wait == null) {
-      if (driver == null) {
-        throw new IllegalStateException("Driver is null; BaseUiTest did not start correctly.");
-      }
-      wait = new WebDriverWait(driver, Duration.ofSeconds(defaultTimeoutSeconds()));
+    WebDriver d = driver();
+    Bound w = wait.get();
+    if (w == null || w.driver != d) {
+      w = new Bound(d, new WebDriverWait(d, Duration.ofSeconds(defaultTimeoutSeconds())));
+      wait.set(w);
     }
-    return wait;
+    return (WebDriverWait) w.value;
   }
 
   /**
    * Optional helper to open a URL (keeps tests tidy).
    */
   protected void open(String url) {
-    driver.get(url);
+    driver().get(url);
   }
 
   //Helpers to fix browser timeouts
-  protected synchronized void restartDriver() {
-    try {
-      if (driver != null) {
-        driver.quit();
-      }
-    } catch (Exception ignored) {
-    }
-
-    this.driver = buildDriver();
-  }
-
-  private WebDriver buildDriver() {
-    org.openqa.selenium.chrome.ChromeOptions opts = new org.openqa.selenium.chrome.ChromeOptions();
-    opts.setPageLoadStrategy(org.openqa.selenium.PageLoadStrategy.EAGER);
-    opts.addArguments("--headless=new", "--disable-gpu", "--no-sandbox", "--disable-dev-shm-usage",
-        "--disable-extensions", "--disable-infobars", "--blink-settings=imagesEnabled=false");
-    org.openqa.selenium.WebDriver d = new org.openqa.selenium.chrome.ChromeDriver(opts);
-    d.manage().timeouts().pageLoadTimeout(java.time.Duration.ofSeconds(12));
-    d.manage().timeouts().scriptTimeout(java.time.Duration.ofSeconds(10));
-    return d;
+  protected void restartDriver() {
+    DriverFactory.quitDriver();
+    wait.remove();
+    pageObjects.get().clear();
+    TestListener.setDriver(driver());
   }
 
   protected void safeOpen(String url) {
     try {
-      driver.navigate().to(url);
+      driver().navigate().to(url);
     } catch (WebDriverException e) {
       if (isDeadSession(e)) {
         restartDriver();
-        driver.navigate().to(url);
+        driver().navigate().to(url);
       } else {
         logger.severe("Driver crashed.");
         throw e;
@@ -158,83 +194,62 @@ public abstract class BaseUiTest {
   }
 
   /**
-   * On failure, attach a screenshot to Allure.
+   * Attach the test's command timings (failure screenshots come from TestListener).
    */
   @AfterMethod(alwaysRun = true)
   protected void afterEach(ITestResult result) {
-    if (!result.isSuccess() && driver instanceof TakesScreenshot ts) {
-      attachScreenshot(ts.getScreenshotAs(OutputType.BYTES));
+    if (Timings.ENABLED) {
+      String name = getClass().getSimpleName() + "." + result.getMethod().getMethodName();
+      long nanos = (result.getEndMillis() - result.getStartMillis()) * 1_000_000;
+      // Allure.addAttachment works without the AspectJ weaver @Attachment relies on
+      Allure.addAttachment("Command Timings", "text/plain", Timings.finishTest(name, nanos));
     }
   }
 
-  @Attachment(value = "Failure Screenshot", type = "image/png")
-  private byte[] attachScreenshot(byte[] bytes) {
-    return bytes;
-  }
-
   /**
-   * Quit and cleanup the temp Chrome profile.
+   * Hand this thread's driver back to the pool for the next class. Worker threads used by
+   * parallel methods keep their session until the suite finishes.
    */
   @AfterClass(alwaysRun = true)
   public void tearDownBase() throws Exception {
-    if (driver != null) {
-      try {
-        driver.quit();
-      } catch (Exception ignored) {
-      }
-    }
-    if (userDataDir != null) {
-      try {
-        Files.walk(userDataDir)
-            .sorted((a, b) -> b.getNameCount() - a.getNameCount()) // delete children first
-            .forEach(p -> {
-              try {
-                Files.deleteIfExists(p);
-              } catch (Exception ignored) {
-              }
-            });
-      } catch (Exception ignored) {
-      }
+    WebDriver leased = DriverFactory.currentDriver();
+    if (leased != null) {
+      NavigationCapture.release(leased);
     }
+    DriverFactory.releaseDriver();
+    TestListener.setDriver(null);
+    wait.remove();
+    pageObjects.remove();
   }
 
   //JavaScriptExecutor helper
-  public JavascriptExecutor jsHelper() { return js(driver); }
+  public JavascriptExecutor jsHelper() { return js(driver()); }
 
   //=============== Checkable subclass =========================//
 
-  // === By-based Checkable factories ===
+  // === By-based Checkable factories (batched by checkAll) ===
   protected Checkable present(By by) {
-    return () -> !driver.findElements(by).isEmpty();
+    return new LocatorCheck(by, counts -> counts.found > 0);
   }
 
   protected Checkable displayed(By by) {
-    return () -> driver.findElements(by).stream().anyMatch(WebElement::isDisplayed);
+    return new LocatorCheck(by, Visibility.Counts::anyDisplayed);
   }
 
   protected Checkable allDisplayed(By by) {
-    return () -> {
-      var els = driver.findElements(by);
-      return !els.isEmpty() && els.stream().allMatch(WebElement::isDisplayed);
-    };
+    return new LocatorCheck(by, Visibility.Counts::allDisplayed);
   }
 
   protected Checkable countAtLeast(By by, int n) {
-    return () -> driver.findElements(by).size() >= n;
+    return new LocatorCheck(by, counts -> counts.found >= n);
   }
 
   protected Checkable visibleWithin(By by, Duration timeout) {
-    return () -> {
-      new WebDriverWait(driver, timeout).until(ExpectedConditions.visibilityOfElementLocated(by));
-      return true;
-    };
+    return new WaitCheck(ExpectedConditions.visibilityOfElementLocated(by), timeout);
   }
 
   protected Checkable clickableWithin(By by, java.time.Duration timeout) {
-    return () -> {
-      new WebDriverWait(driver, timeout).until(ExpectedConditions.elementToBeClickable(by));
-      return true;
-    };
+    return new WaitCheck(ExpectedConditions.elementToBeClickable(by), timeout);
   }
 
   // === Convenience wrappers ===
@@ -246,6 +261,24 @@ public abstract class BaseUiTest {
     checkElement(displayed(by), warningMessage);
   }
 
+  /**
+   * Warns once per element that is not displayed; one visibility script for the whole list.
+   */
+  protected void checkDisplayed(List<WebElement> elements, String warningMessage) {
+    List<Boolean> shown;
+    try {
+      shown = Visibility.displayed(driver(), elements);
+    } catch (WebDriverException e) {
+      // e.g. a stale element: per-element checks let cached elements re-resolve
+      elements.forEach(el -> checkElement(el::isDisplayed, warningMessage));
+      return;
+    }
+    shown.stream().filter(ok -> !ok).forEach(ok -> {
+      warnings().add(warningMessage);
+      logger.warning(warningMessage);
+    });
+  }
+
   protected void checkVisibleWithin(By by, Duration timeout, String warningMessage) {
     checkElement(visibleWithin(by, timeout), warningMessage);
   }
@@ -288,7 +321,7 @@ public abstract class BaseUiTest {
       ok = false;
     }
     if (!ok) {
-      warnings.add(warningMessage);
+      warnings().add(warningMessage);
       logger.warning(warningMessage);
     }
     return ok;
@@ -313,45 +346,210 @@ public abstract class BaseUiTest {
   protected void checkElement(Checkable condition, String warningMessage) {
     try {
       if (!condition.check()) {
-        warnings.add(warningMessage);
+        warnings().add(warningMessage);
         logger.warning(warningMessage);
       }
     } catch (Exception e) {
       String msg = warningMessage + " (exception: " + e.getMessage() + ")";
-      warnings.add(msg);
+      warnings().add(msg);
       logger.warning(msg);
     }
   }
 
   /**
-   * Multi-check version. Returns true if all pass, false if any fail.
+   * Multi-check version. Returns true if all pass, false if any fail. Locator-based checks
+   * (present/displayed/allDisplayed/countAtLeast) are evaluated together in one script; with
+   * {@code checks.mode=shared} the timed checks (visibleWithin/clickableWithin) wait in one
+   * polling loop, so the worst case is the longest timeout rather than their sum. Warnings are
+   * reported in argument order either way.
    */
   protected boolean checkAll(Check... checks) {
     boolean allPassed = true;
-    for (Check c : checks) {
-      try {
-        if (!c.condition.check()) {
-          allPassed = false;
-          warnings.add(c.warningMessage);
-          logger.warning(c.warningMessage);
-        }
-      } catch (Exception e) {
+    for (String failure : evaluate(checks)) {
+      if (failure != null) {
         allPassed = false;
-        String msg = c.warningMessage + " (exception: " + e.getMessage() + ")";
-        warnings.add(msg);
-        logger.warning(msg);
+        warnings().add(failure);
+        logger.warning(failure);
       }
     }
     return allPassed;
   }
 
+  /**
+   * Like {@link #checkAll(Check...)}, but scored against the category's threshold: fails the
+   * test when more than {@code <category>.threshold} of the checks fail.
+   */
+  protected boolean checkAll(Scoreboard.Category category, Check... checks) {
+    Scoreboard.Tally tally = Scoreboard.start(category, checks.length);
+    for (String failure : evaluate(checks)) {
+      if (failure != null) {
+        warnings().add(failure);
+      }
+      tally.record(failure == null, failure);
+    }
+    tally.finish();
+    return tally.failures().isEmpty();
+  }
+
+  // Warning message per failed check (null where it passed), in argument order
+  private String[] evaluate(Check[] checks) {
+    Boolean[] batched = evaluateLocatorChecks(checks);
+    String[] errors = new String[checks.length];
+    if (SHARED_WAITS) {
+      awaitTogether(checks, batched, errors);
+    }
+    String[] failures = new String[checks.length];
+    for (int i = 0; i < checks.length; i++) {
+      Check c = checks[i];
+      if (errors[i] != null) {
+        failures[i] = c.warningMessage + " (exception: " + errors[i] + ")";
+        continue;
+      }
+      try {
+        boolean ok = batched[i] != null ? batched[i] : c.condition.check();
+        failures[i] = ok ? null : c.warningMessage;
+      } catch (Exception e) {
+        failures[i] = c.warningMessage + " (exception: " + e.getMessage() + ")";
+      }
+    }
+    return failures;
+  }
+
+  // Results of the LocatorChecks among checks (null elsewhere, or for all if the batch failed)
+  private Boolean[] evaluateLocatorChecks(Check[] checks) {
+    Boolean[] results = new Boolean[checks.length];
+    List<Integer> indexes = new ArrayList<>();
+    List<By> locators = new ArrayList<>();
+    for (int i = 0; i < checks.length; i++) {
+      if (checks[i].condition instanceof LocatorCheck lc) {
+        indexes.add(i);
+        locators.add(lc.by);
+      }
+    }
+    if (indexes.size() < 2) {
+      return results;
+    }
+    try {
+      List<Visibility.Counts> counts = Visibility.count(driver(), locators);
+      for (int k = 0; k < indexes.size(); k++) {
+        int i = indexes.get(k);
+        results[i] = ((LocatorCheck) checks[i].condition).test.test(counts.get(k));
+      }
+    } catch (WebDriverException e) {
+      logger.fine(() -> "Batched checks failed, checking one by one: " + e.getMessage());
+      Arrays.fill(results, null);
+    }
+    return results;
+  }
+
+  // Polls every pending WaitCheck on each tick until it holds, fails or runs out of its own time
+  private void awaitTogether(Check[] checks, Boolean[] results, String[] errors) {
+    List<Integer> pending = new ArrayList<>();
+    for (int i = 0; i < checks.length; i++) {
+      if (results[i] == null && checks[i].condition instanceof WaitCheck) {
+        pending.add(i);
+      }
+    }
+    if (pending.size() < 2) {
+      return;
+    }
+    long start = System.nanoTime();
+    while (!pending.isEmpty()) {
+      Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+      for (Iterator<Integer> it = pending.iterator(); it.hasNext(); ) {
+        int i = it.next();
+        WaitCheck w = (WaitCheck) checks[i].condition;
+        try {
+          Object value = w.condition.apply(driver());
+          if (value != null && !Boolean.FALSE.equals(value)) {
+            results[i] = true;
+            it.remove();
+            continue;
+          }
+        } catch (NotFoundException | StaleElementReferenceException e) {
+          // not there yet; WebDriverWait ignores these too
+        } catch (WebDriverException e) {
+          errors[i] = e.getMessage();
+          it.remove();
+          continue;
+        }
+        if (elapsed.compareTo(w.timeout) >= 0) {
+          errors[i] = "Expected condition failed: waiting for " + w.condition + " (tried for "
+              + w.timeout.toMillis() + " ms)";
+          it.remove();
+        }
+      }
+      if (!pending.isEmpty()) {
+        try {
+          Thread.sleep(WAIT_POLL.toMillis());
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          pending.forEach(i -> errors[i] = "interrupted");
+          return;
+        }
+      }
+    }
+  }
+
   // ===== Utility methods =====
+
+  // Thread-local value tied to the driver it was built for
+  private static final class Bound {
+
+    final WebDriver driver;
+    final Object value;
+
+    Bound(WebDriver driver, Object value) {
+      this.driver = driver;
+      this.value = value;
+    }
+  }
+
   @FunctionalInterface
   public interface Checkable {
 
     boolean check();
   }
 
+  /**
+   * Condition on the matches of one locator, so several can share one visibility script.
+   */
+  protected final class LocatorCheck implements Checkable {
+
+    final By by;
+    final Predicate<Visibility.Counts> test;
+
+    LocatorCheck(By by, Predicate<Visibility.Counts> test) {
+      this.by = by;
+      this.test = test;
+    }
+
+    @Override
+    public boolean check() {
+      return test.test(Visibility.count(driver(), List.of(by)).get(0));
+    }
+  }
+
+  /**
+   * Condition waited for up to a timeout; checkAll can wait for several at once.
+   */
+  protected final class WaitCheck implements Checkable {
+
+    final ExpectedCondition<?> condition;
+    final Duration timeout;
+
+    WaitCheck(ExpectedCondition<?> condition, Duration timeout) {
+      this.condition = condition;
+      this.timeout = timeout;
+    }
+
+    @Override
+    public boolean check() {
+      new WebDriverWait(driver(), timeout).until(condition);
+      return true;
+    }
+  }
+
   public static class Check {
 
     final Checkable condition;
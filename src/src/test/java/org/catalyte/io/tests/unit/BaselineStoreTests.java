@@ -0,0 +1,107 @@
+package org.catalyte.io.tests.unit;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.catalyte.io.utils.BaselineStore;
+import org.catalyte.io.utils.Baselines;
+import org.catalyte.io.utils.DomFingerprint;
+import org.catalyte.io.utils.DomSweep;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Offline checks for the binary baseline store and the hash-based structural diff.
+ */
+public class BaselineStoreTests {
+
+  private static Document page(String resource) {
+    try (InputStream in = BaselineStoreTests.class.getClassLoader()
+        .getResourceAsStream(resource)) {
+      Assert.assertNotNull(in, "Missing test resource " + resource);
+      return Jsoup.parse(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+    } catch (IOException e) {
+      throw new IllegalStateException("Failed to read " + resource, e);
+    }
+  }
+
+  private static BaselineStore.Baseline stored(Document page) throws IOException {
+    Path file = Files.createTempDirectory("baselines").resolve("page" + BaselineStore.EXTENSION);
+    BaselineStore.write(file, DomFingerprint.of(page));
+    return BaselineStore.open(file);
+  }
+
+  @Test
+  public void storedBaselineRoundTrips() throws IOException {
+    DomFingerprint fingerprint = DomFingerprint.of(page("home.html"));
+    BaselineStore.Baseline baseline = stored(page("home.html"));
+
+    Assert.assertEquals(baseline.count(), fingerprint.count());
+    Assert.assertEquals(baseline.rootHash(), fingerprint.rootHash());
+    for (int i = 0; i < fingerprint.count(); i++) {
+      Assert.assertEquals(baseline.hash(i), fingerprint.hash(i));
+      Assert.assertEquals(baseline.size(i), fingerprint.size(i));
+      Assert.assertEquals(baseline.label(i), fingerprint.label(i));
+      Assert.assertEquals(baseline.text(i), fingerprint.text(i));
+    }
+    Assert.assertFalse(baseline.title().isEmpty());
+    Assert.assertTrue(BaselineStore.diff(baseline, fingerprint).identical());
+  }
+
+  @Test
+  public void diffSkipsUnchangedSubtrees() throws IOException {
+    Document live = page("home.html");
+    BaselineStore.Baseline baseline = stored(page("home.html"));
+    live.selectFirst("h2").text("Renamed heading");
+    live.selectFirst("#menu-item-11090").parent().appendElement("li").text("New menu entry");
+    live.select("section").last().remove();
+
+    BaselineStore.Diff diff = BaselineStore.diff(baseline, DomFingerprint.of(live));
+
+    Assert.assertFalse(diff.identical());
+    Assert.assertEquals(diff.changed.size(), 1, diff.changed.toString());
+    Assert.assertEquals(diff.changed.get(0).liveText, "renamed heading");
+    Assert.assertEquals(diff.added.size(), 1, diff.added.toString());
+    Assert.assertEquals(diff.added.get(0).liveText, "new menu entry");
+    Assert.assertEquals(diff.removed.size(), 1, diff.removed.toString());
+    Assert.assertTrue(diff.removed.get(0).path.contains("section"), diff.removed.toString());
+    // Everything off the edited paths is taken on its hash
+    Assert.assertTrue(diff.skippedSubtrees() > 0);
+    Assert.assertTrue(diff.similarity() > 0.8, diff.toString());
+  }
+
+  @Test
+  public void sweepComparesSavedPagesAgainstStoredBaselines() {
+    List<DomSweep.Capture> captures = new ArrayList<>();
+    for (Baselines.PageSource page : Baselines.PAGES) {
+      captures.add(new DomSweep.Capture(Baselines.nameFor(page.url()), page.url(),
+          page(page.html).outerHtml(), null, 0));
+    }
+
+    List<DomSweep.PageResult> results = DomSweep.compare(captures);
+
+    Assert.assertEquals(results.size(), Baselines.PAGES.size());
+    for (DomSweep.PageResult result : results) {
+      Assert.assertTrue(result.compared(), result.toString());
+      Assert.assertTrue(result.structure.identical(), result.toString());
+      Assert.assertEquals(result.keys.missingTextPercent(), 0.0, result.toString());
+    }
+  }
+
+  @Test
+  public void runtimeOnlyDifferencesAreIgnored() {
+    Document baseline = Jsoup.parse("<div class='hero elementor-invisible'><h1>Hire</h1>"
+        + "<a href='https://www.catalyte.io/contact/?utm=x'>Contact</a></div><script>a()</script>");
+    Document live = Jsoup.parse("<div class='hero animated fadeInUp'><h1>  HIRE </h1>"
+        + "<a href='/contact/'>Contact</a></div><script>b()</script><style>p{}</style>");
+
+    Assert.assertEquals(DomFingerprint.of(live).rootHash(),
+        DomFingerprint.of(baseline).rootHash());
+  }
+}
@@ -0,0 +1,75 @@
+package org.catalyte.io.tests.unit;
+
+import java.time.Duration;
+import java.util.Map;
+import org.catalyte.io.utils.ConfigSnapshot;
+import org.catalyte.io.utils.ConfigUtil;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Offline checks for configuration layering and typed values.
+ */
+public class ConfigSnapshotTests {
+
+  @Test
+  public void systemBeatsEnvironmentBeatsFile() {
+    ConfigSnapshot config = new ConfigSnapshot(
+        Map.of("wait.timeout", "20s", "parallel.threads", "2", "site.mode", "live"),
+        Map.of("CATALYTE_WAIT_TIMEOUT", "30s", "CATALYTE_PARALLEL_THREADS", "4"),
+        Map.of("wait.timeout", "45s", "site.mode", " "));
+
+    Assert.assertEquals(config.getDuration("wait.timeout", Duration.ZERO), Duration.ofSeconds(45));
+    Assert.assertEquals(config.getInt("parallel.threads", 0), 4);
+    // Blank values fall through to the next layer
+    Assert.assertEquals(config.getString("site.mode", "replay"), "live");
+    Assert.assertEquals(config.getString("missing", "fallback"), "fallback");
+  }
+
+  @Test
+  public void unprefixedEnvironmentIsIgnored() {
+    ConfigSnapshot config = new ConfigSnapshot(Map.of("log.level", "INFO"),
+        Map.of("LOG_LEVEL", "debug", "BROWSER", "/usr/bin/firefox"), Map.of());
+
+    Assert.assertEquals(config.getString("log.level", null), "INFO");
+    Assert.assertEquals(config.getString("browser", "chrome"), "chrome");
+  }
+
+  @Test
+  public void durationsAndBooleans() {
+    ConfigSnapshot config = new ConfigSnapshot(Map.of("a", "750ms", "b", "2m", "c", "PT1.5S",
+        "d", "12", "e", "yes", "f", "soon"), Map.of(), Map.of());
+
+    Assert.assertEquals(config.getDuration("a", null), Duration.ofMillis(750));
+    Assert.assertEquals(config.getDuration("b", null), Duration.ofMinutes(2));
+    Assert.assertEquals(config.getDuration("c", null), Duration.ofMillis(1500));
+    Assert.assertEquals(config.getDuration("d", null), Duration.ofSeconds(12));
+    Assert.assertTrue(config.getBoolean("e", false));
+    Assert.assertThrows(IllegalArgumentException.class, () -> config.getDuration("f", null));
+    Assert.assertThrows(IllegalArgumentException.class, () -> config.getBoolean("f", false));
+  }
+
+  @Test
+  public void testPropertiesResolveToTypedValues() {
+    Assert.assertEquals(ConfigUtil.getDuration("wait.timeout", Duration.ZERO),
+        Duration.ofSeconds(20));
+    Assert.assertEquals(ConfigUtil.getDouble("images.threshold", -1), 0.5);
+  }
+
+  @Test
+  public void reloadKeepsLastGoodSnapshotWhenTypedValueBreaks() {
+    String key = "config.tests.reload.timeout";
+    try {
+      System.setProperty(key, "5s");
+      ConfigUtil.reload();
+      Assert.assertEquals(ConfigUtil.getDuration(key, Duration.ZERO), Duration.ofSeconds(5));
+
+      System.setProperty(key, "soon");
+      Assert.assertThrows(IllegalArgumentException.class, ConfigUtil::reload);
+      Assert.assertEquals(ConfigUtil.getDuration(key, Duration.ZERO), Duration.ofSeconds(5));
+    } finally {
+      System.clearProperty(key);
+      ConfigUtil.reload();
+    }
+  }
+}
@@ -0,0 +1,70 @@
+package org.catalyte.io.tests.unit;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import org.catalyte.io.utils.DomComparator;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Offline checks for the indexed DOM diff engine, using the saved page dumps.
+ */
+public class DomComparatorTests {
+
+  private static Document page(String resource) {
+    try (InputStream in = DomComparatorTests.class.getClassLoader()
+        .getResourceAsStream(resource)) {
+      Assert.assertNotNull(in, "Missing test resource " + resource);
+      return Jsoup.parse(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+    } catch (IOException e) {
+      throw new IllegalStateException("Failed to read " + resource, e);
+    }
+  }
+
+  @Test
+  public void identicalPagesHaveNoDifferences() {
+    DomComparator.Report report = DomComparator.compare(page("home.html"), page("home.html"));
+
+    Assert.assertTrue(report.removed.isEmpty(), "removed: " + report.removed);
+    Assert.assertTrue(report.added.isEmpty(), "added: " + report.added);
+    Assert.assertEquals(report.missingTextPercent(), 0.0);
+    Assert.assertTrue(report.similarity() > 0.99, report.toString());
+  }
+
+  @Test
+  public void reportsRemovedChangedAndAddedNodes() {
+    Document baseline = Jsoup.parse("<h1 id='hero'>Blazing the path (to better hiring)</h1>"
+        + "<h2>Apprenticeships that work</h2><a href='/x'>Contact sales</a><button></button>");
+    Document live = Jsoup.parse("<h1 id='hero'>Blazing the path to the better hire</h1>"
+        + "<h2>Apprenticeships that work</h2><a href='/y'>Get started</a>");
+
+    DomComparator.Report report = DomComparator.compare(baseline, live);
+
+    // Parentheses in text used to break the :containsOwn selector
+    Assert.assertEquals(report.changed.size(), 1, report.changed.toString());
+    Assert.assertEquals(report.changed.get(0).baselineText, "blazing the path (to better hiring)");
+    Assert.assertEquals(report.removed.size(), 1, report.removed.toString());
+    Assert.assertEquals(report.removed.get(0).baselineText, "contact sales");
+    Assert.assertEquals(report.added.size(), 2, report.added.toString());
+    Assert.assertEquals(report.keyCount(), 4);
+    Assert.assertEquals(report.missingTextPercent(), 25.0);
+    Assert.assertEquals(report.missingIds(Set.of("hero", "footer")), List.of("footer"));
+  }
+
+  @Test
+  public void shortTextsMatchInsideOwnText() {
+    Document baseline = Jsoup.parse("<a>FAQs</a><a>Jobs</a>");
+    Document live = Jsoup.parse("<p>Read the FAQs first</p><a>Careers</a>");
+
+    DomComparator.Report report = DomComparator.compare(baseline, live);
+
+    Assert.assertEquals(report.changed.size(), 1);
+    Assert.assertEquals(report.removed.size(), 1);
+    Assert.assertEquals(report.removed.get(0).baselineText, "jobs");
+  }
+}
@@ -0,0 +1,66 @@
+package org.catalyte.io.tests.unit;
+
+import io.qameta.allure.testng.AllureTestNg;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import org.catalyte.io.pages.PageFooter;
+import org.catalyte.io.utils.Baselines;
+import org.catalyte.io.utils.DomSweep;
+import org.catalyte.io.utils.LocatorMapper;
+import org.catalyte.io.utils.Scoreboard;
+import org.catalyte.io.utils.TestListener;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+import org.testng.asserts.SoftAssert;
+
+/**
+ * DOM regression sweep: every known page is loaded once in this class's browser, then compared
+ * against its stored baseline in parallel. Each page's key texts are scored against
+ * {@code dom.text.threshold}; a page over it is reported and the sweep goes on with the rest.
+ */
+@Listeners({AllureTestNg.class, TestListener.class})
+public class DomRegressionSweepTest extends BaseUiTest {
+
+  @Override
+  protected String startUrlForThisClass() {
+    return "about:blank";
+  }
+
+  @Test
+  public void sweepKnownPagesAgainstBaselines() {
+    PageFooter footer = new PageFooter(driver());
+    Set<String> urls = new LinkedHashSet<>();
+    Baselines.PAGES.forEach(page -> urls.add(page.url()));
+    urls.addAll(footer.getPageURLs());
+    new LocatorMapper(footer).getAllowedUrls().values().forEach(urls::addAll);
+
+    long start = System.nanoTime();
+    List<DomSweep.Capture> captures = DomSweep.capture(driver(), urls);
+    long captured = System.nanoTime();
+    List<DomSweep.PageResult> results = DomSweep.compare(captures);
+    long compared = System.nanoTime();
+    logger.info(String.format("DOM sweep: %d pages, capture %.0fms, compare %.0fms (wall)",
+        results.size(), (captured - start) / 1e6, (compared - captured) / 1e6));
+
+    SoftAssert softAssert = new SoftAssert();
+    for (DomSweep.PageResult result : results) {
+      logger.info(result.toString());
+      softAssert.assertNull(result.capture.error, "Could not load " + result.capture.url);
+      if (!result.compared()) {
+        continue;
+      }
+      List<String> missingTexts = result.keys.removed.stream()
+          .map(c -> "Text might have changed or missing on " + result.capture.url + ": \""
+              + c.baselineText + "\"")
+          .toList();
+      try {
+        Scoreboard.start(Scoreboard.Category.DOM_TEXT, result.keys.keyCount())
+            .recordAll(result.keys.keyCount(), missingTexts.size(), missingTexts);
+      } catch (AssertionError e) {
+        softAssert.fail(result.capture.url + ": " + e.getMessage());
+      }
+    }
+    softAssert.assertAll("DOM regressions found on one or more pages.");
+  }
+}
@@ -1,18 +1,19 @@
 package org.catalyte.io.tests.unit;
 
 import io.qameta.allure.testng.AllureTestNg;
-import java.nio.file.Files;
-import java.nio.file.Paths;
+import java.util.List;
 import java.util.Set;
-import org.catalyte.io.pages.HomePage;
+import org.catalyte.io.utils.BaselineStore;
+import org.catalyte.io.utils.Baselines;
+import org.catalyte.io.utils.DomComparator;
+import org.catalyte.io.utils.DomFingerprint;
 import org.catalyte.io.utils.LoggerUtil;
+import org.catalyte.io.utils.Scoreboard;
+import org.catalyte.io.utils.SiteUrls;
+import org.catalyte.io.utils.StringNormalizer;
 import org.catalyte.io.utils.TestListener;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
-import org.jsoup.nodes.Element;
-import org.jsoup.select.Elements;
-import org.testng.Assert;
-import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Listeners;
 import org.testng.annotations.Test;
@@ -22,71 +23,64 @@ public class HomepageDOMComparisonTest extends BaseUiTest {
 
   private static final java.util.logging.Logger logger = LoggerUtil.getLogger(
       HomepageDOMComparisonTest.class);
-
-  private HomePage home;
+  private static final Set<String> MAJOR_SECTIONS = Set.of("header", "nav", "main", "footer");
+  private final StringNormalizer normalizer = new StringNormalizer();
 
   @BeforeClass(alwaysRun = true)
-  public void setUp() throws Exception {
-    super.setUpBase();
-    open("https://www.catalyte.io/hire-talent/hire-apprentices/");
-    home = new HomePage(driver);
-    driver.manage().window().maximize();
+  public void setUp() {
+    open(SiteUrls.resolve("https://www.catalyte.io/hire-talent/hire-apprentices/"));
+    driver().manage().window().maximize();
   }
 
   @Test
-  public void compareBaselineWithLivePageLenientThreshold() throws Exception {
-    String baselineHtml = new String(Files.readAllBytes(Paths.get("src/test/resources/home.html")));
-    Document baseline = Jsoup.parse(baselineHtml);
+  public void compareBaselineWithLivePageLenientThreshold() {
+    // Preprocessed fingerprint of home.html, memory-mapped; nothing to read or parse here
+    BaselineStore.Baseline baseline = Baselines.load("home");
 
-    driver.get("https://catalyte.io");
-    String liveHtml = driver.getPageSource();
+    driver().get(SiteUrls.resolve("https://catalyte.io"));
+    String liveHtml = driver().getPageSource();
     Document updated = Jsoup.parse(liveHtml);
 
     logger.info("Starting DOM comparison test...");
 
     // 1. Page title check (warning only)
-    if (!updated.title().equals(baseline.title())) {
+    String liveTitle = normalizer.normalize(updated.title());
+    if (!liveTitle.equals(baseline.title())) {
       logger.warning(
-          "Warning: Page title changed from \"" + baseline.title() + "\" to \"" + updated.title()
+          "Warning: Page title changed from \"" + baseline.title() + "\" to \"" + liveTitle
               + "\"");
     }
 
-    // 2. Critical IDs with threshold
+    // Structural diff; unchanged subtrees are accepted on their hash alone
+    BaselineStore.Diff structure = BaselineStore.diff(baseline, DomFingerprint.of(updated));
+    logger.info("Structural diff: " + structure);
+    structure.changed.forEach(c -> logger.fine(() -> "Changed: " + c));
+
+    // One index over the live page; every check below is a lookup
+    DomComparator.Report report = DomComparator.compare(
+        baseline.keys(DomFingerprint.KEY_TAGS), DomComparator.Index.of(updated),
+        DomComparator.DEFAULT_KEY_SELECTOR);
+    logger.info("DOM comparison: " + report);
+
+    // 2. Critical IDs, scored against dom.ids.threshold
     Set<String> criticalIds = Set.of("mainNav", "heroSection", "footer");
-    int missingCriticalIds = 0;
-    for (Element e : baseline.select("[id]")) {
-      String id = e.id();
-      if (criticalIds.contains(id) && updated.getElementById(id) == null) {
-        logger.severe("Warning: Missing critical element with id: " + id);
-        missingCriticalIds++;
-      }
-    }
-    double missingPercent = (missingCriticalIds * 100.0) / criticalIds.size();
-    Assert.assertTrue(missingPercent < 50,
-        "Too many critical elements missing! Missing " + missingPercent + "%");
+    Set<String> baselineIds = baseline.ids();
+    List<String> missingCriticalIds = report.missingIds(criticalIds).stream()
+        .filter(baselineIds::contains)
+        .map(id -> "Missing critical element with id: " + id)
+        .toList();
+    Scoreboard.start(Scoreboard.Category.DOM_IDS, criticalIds.size())
+        .recordAll(criticalIds.size(), missingCriticalIds.size(), missingCriticalIds);
 
-    // 3. Text content check (lenient partial match)
-    Elements baselineTexts = baseline.select("h1, h2, h3, button, a");
-    int missingTextCount = 0;
-    for (Element e : baselineTexts) {
-      String text = e.text().trim();
-      if (!text.isEmpty()) {
-        boolean exists =
-            !updated.select("*:containsOwn(" + text.substring(0, Math.min(10, text.length())) + ")")
-                .isEmpty();
-        if (!exists) {
-          logger.warning("Warning: Text might have changed or missing: \"" + text + "\"");
-          missingTextCount++;
-        }
-      }
-    }
-    double missingTextPercent = (missingTextCount * 100.0) / baselineTexts.size();
-    if (missingTextPercent > 30) { // fail only if more than 30% of key texts are missing
-      Assert.fail("Too many key texts missing: " + missingTextPercent + "%");
-    }
+    // 3. Text content, scored against dom.text.threshold (lenient partial match)
+    List<String> missingTexts = report.removed.stream()
+        .map(c -> "Text might have changed or missing: \"" + c.baselineText + "\"")
+        .toList();
+    Scoreboard.start(Scoreboard.Category.DOM_TEXT, report.keyCount())
+        .recordAll(report.keyCount(), missingTexts.size(), missingTexts);
 
     // 4. Structural elements count (warning only)
-    int baselineSections = baseline.select("header, nav, main, footer").size();
+    int baselineSections = baseline.countTags(MAJOR_SECTIONS);
     int updatedSections = updated.select("header, nav, main, footer").size();
     if (baselineSections != updatedSections) {
       logger.warning(
@@ -94,11 +88,4 @@ public class HomepageDOMComparisonTest extends BaseUiTest {
               + updatedSections);
     }
   }
-
-  @AfterClass
-  public void tearDown() {
-    if (driver != null) {
-      driver.quit();
-    }
-  }
-}
\ No newline at end of file
+}
@@ -0,0 +1,40 @@
+package org.catalyte.io.tests.unit;
+
+import java.util.Map;
+import org.catalyte.io.utils.LatencyHistogram;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Offline checks for the power-of-two latency histogram behind the timing metrics.
+ */
+public class LatencyHistogramTests {
+
+  @Test
+  public void percentilesStayWithinTheirBucket() {
+    LatencyHistogram h = new LatencyHistogram();
+    for (int i = 1; i <= 100; i++) {
+      h.record(i * 1_000_000L); // 1..100 ms
+    }
+
+    Assert.assertEquals(h.count(), 100);
+    Assert.assertEquals(h.totalNanos(), 5050 * 1_000_000L);
+    Assert.assertEquals(h.maxNanos(), 100_000_000L);
+    long p50 = h.percentileNanos(0.5);
+    Assert.assertTrue(p50 >= 50_000_000L && p50 <= 100_000_000L, "p50=" + p50);
+    long p90 = h.percentileNanos(0.9);
+    Assert.assertTrue(p90 >= 90_000_000L && p90 <= 100_000_000L, "p90=" + p90);
+  }
+
+  @Test
+  public void emptyAndTinySamples() {
+    LatencyHistogram h = new LatencyHistogram();
+    Assert.assertEquals(h.percentileNanos(0.99), 0);
+    h.record(10); // below 1 µs lands in the first bucket
+    Assert.assertEquals(h.percentileNanos(0.99), 10);
+
+    Map<String, Object> map = h.toMap();
+    Assert.assertEquals(map.get("count"), 1L);
+    Assert.assertTrue(map.containsKey("p99Ms"));
+  }
+}
@@ -0,0 +1,180 @@
+package org.catalyte.io.tests.unit;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import org.catalyte.io.utils.LocatorCompiler;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.support.locators.RelativeLocator;
+import org.openqa.selenium.support.pagefactory.ByChained;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Offline checks that compiled chains select what the segment-by-segment ByChained lookup selects
+ * (evaluated with jsoup on the saved homepage).
+ */
+public class LocatorCompilerTests {
+
+  private static Document home() {
+    return page("home.html");
+  }
+
+  private static Document page(String name) {
+    try (InputStream in = LocatorCompilerTests.class.getClassLoader()
+        .getResourceAsStream(name)) {
+      Assert.assertNotNull(in, "Missing test resource " + name);
+      return Jsoup.parse(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+    } catch (IOException e) {
+      throw new IllegalStateException("Failed to read " + name, e);
+    }
+  }
+
+  // ByChained semantics: each segment is evaluated inside every element the previous one found
+  private static List<Element> chained(Document page, boolean xpath, String... segments) {
+    Set<Element> scopes = null;
+    for (String segment : segments) {
+      Set<Element> next = new LinkedHashSet<>();
+      for (Element scope : scopes == null ? List.of((Element) page) : new ArrayList<>(scopes)) {
+        List<Element> found = xpath ? scope.selectXpath(segment) : scope.select(segment);
+        found.stream().filter(e -> e != scope).forEach(next::add);
+      }
+      scopes = next;
+    }
+    return page.getAllElements().stream().filter(scopes::contains).toList();
+  }
+
+  private static String value(By by) {
+    String text = by.toString();
+    return text.substring(text.indexOf(": ") + 2);
+  }
+
+  @Test
+  public void cssChainsMergeIntoOneSelector() {
+    Document page = home();
+    By compiled = LocatorCompiler.chain(By.cssSelector(".elementor-element-3d4a7b62"),
+        By.cssSelector(".elementor-element"));
+
+    Assert.assertTrue(compiled.toString().startsWith("By.cssSelector: "), compiled.toString());
+    List<Element> expected =
+        chained(page, false, ".elementor-element-3d4a7b62", ".elementor-element");
+    Assert.assertFalse(expected.isEmpty());
+    Assert.assertEquals(page.select(value(compiled)), expected);
+  }
+
+  @Test
+  public void nativeLocatorsBecomeCss() {
+    By compiled = LocatorCompiler.chain(By.id("ast-desktop-header"), By.className("menu-link"),
+        By.tagName("span"), By.cssSelector("h1, h2"));
+
+    Assert.assertEquals(value(compiled),
+        "[id=\"ast-desktop-header\"] .menu-link span :is(h1, h2)");
+  }
+
+  @Test
+  public void laterSegmentsWithCombinatorsAreNotMerged() {
+    // Hire page FAQ: the header selector repeats the root, which lies outside the root's scope
+    Document page = page("hire-apprentices.html");
+    String root = "#eael-adv-accordion-493eab1";
+    String headers = "#eael-adv-accordion-493eab1 .eael-accordion-header";
+    By compiled = LocatorCompiler.chain(By.cssSelector(root), By.cssSelector(headers));
+
+    Assert.assertFalse(compiled.toString().startsWith("By.cssSelector"), compiled.toString());
+    Assert.assertEquals(page.select(root + " " + headers).size(), 0);
+    Assert.assertEquals(chained(page, false, root, headers).size(), 4);
+
+    for (String combinator : new String[]{"a > span", "li + li", "h2 ~ p", "h1, div p"}) {
+      By chain = LocatorCompiler.chain(By.cssSelector("footer"), By.cssSelector(combinator));
+      Assert.assertFalse(chain.toString().startsWith("By.cssSelector"), combinator);
+    }
+    // Compound segments still merge, including escaped class names and :not(...) lists
+    Assert.assertEquals(value(LocatorCompiler.chain(By.cssSelector("footer a"),
+            By.className("x:y"), By.cssSelector("li:not(.a, .b)"))),
+        "footer a .x\\3a y li:not(.a, .b)");
+  }
+
+  @Test
+  public void xpathChainsMergeIntoOnePath() {
+    Document page = home();
+    String[] segments = {"//ul[@id='ast-hf-menu-1']", ".//li[contains(@class,'menu-item')]", "a"};
+    By compiled = LocatorCompiler.chain(By.xpath(segments[0]), By.xpath(segments[1]),
+        By.xpath(segments[2]));
+
+    Assert.assertEquals(value(compiled),
+        "//ul[@id='ast-hf-menu-1']//li[contains(@class,'menu-item')]/a");
+    List<Element> expected = chained(page, true, segments);
+    Assert.assertFalse(expected.isEmpty());
+    Assert.assertEquals(page.selectXpath(value(compiled)), expected);
+  }
+
+  @Test
+  public void otherChainsKeepSegments() {
+    By mixed = LocatorCompiler.chain(By.cssSelector("#ast-hf-menu-1"), By.xpath(".//li"));
+    Assert.assertEquals(mixed.toString(),
+        "By.chained({By.cssSelector: #ast-hf-menu-1,By.xpath: .//li})");
+    // Nested chains are flattened into one walk
+    By nested = LocatorCompiler.chain(mixed, By.cssSelector("a.menu-link"));
+    Assert.assertTrue(nested.toString().endsWith(",By.cssSelector: a.menu-link})"), nested + "");
+
+    By absolute = LocatorCompiler.chain(By.xpath("//ul"), By.xpath("(//li)[1]"));
+    Assert.assertFalse(absolute.toString().startsWith("By.xpath"), absolute.toString());
+
+    By relative = LocatorCompiler.chain(By.cssSelector("footer"),
+        RelativeLocator.with(By.tagName("h6")).above(By.id("menu")));
+    Assert.assertTrue(relative instanceof ByChained, relative.toString());
+  }
+
+  @Test
+  public void scriptChainsRunThroughTheCallersDriver() {
+    List<Object> ran = new ArrayList<>();
+    WebElement found = proxy(WebElement.class, (p, m, a) -> null);
+    WebDriver raw = proxy(WebDriver.class, (p, m, a) -> {
+      throw new AssertionError("ran on the unwrapped driver: " + m.getName());
+    });
+    // Stands in for the event-firing decorator: a driver that also wraps the raw one
+    WebDriver decorated = (WebDriver) Proxy.newProxyInstance(getClass().getClassLoader(),
+        new Class<?>[]{WebDriver.class, JavascriptExecutor.class, WrapsDriver.class},
+        (p, m, a) -> switch (m.getName()) {
+          case "getWrappedDriver" -> raw;
+          case "executeScript" -> {
+            ran.add(((Object[]) a[1])[0]);
+            yield List.of(found);
+          }
+          default -> null;
+        });
+    By mixed = LocatorCompiler.chain(By.cssSelector("#menu"), By.xpath(".//li"));
+
+    Assert.assertSame(mixed.findElements(decorated).get(0), found);
+    // A decorated element hands back the decorated driver; cache wrappers around it are peeled
+    WebElement element = (WebElement) Proxy.newProxyInstance(getClass().getClassLoader(),
+        new Class<?>[]{WebElement.class, WrapsDriver.class, WrapsElement.class},
+        (p, m, a) -> m.getName().equals("getWrappedDriver") ? decorated : null);
+    WebElement cached = (WebElement) Proxy.newProxyInstance(getClass().getClassLoader(),
+        new Class<?>[]{WebElement.class, WrapsElement.class},
+        (p, m, a) -> m.getName().equals("getWrappedElement") ? element : null);
+
+    Assert.assertSame(mixed.findElements(cached).get(0), found);
+    Assert.assertEquals(ran.size(), 2);
+    Assert.assertNull(ran.get(0));
+    Assert.assertSame(ran.get(1), element);
+  }
+
+  private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+    return type.cast(Proxy.newProxyInstance(LocatorCompilerTests.class.getClassLoader(),
+        new Class<?>[]{type}, handler));
+  }
+}
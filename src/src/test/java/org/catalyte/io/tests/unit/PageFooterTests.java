@@ -2,21 +2,22 @@ package org.catalyte.io.tests.unit;
 
 import io.qameta.allure.testng.AllureTestNg;
 import java.net.URL;
-import java.time.Duration;
-import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
+import java.util.Optional;
 import org.catalyte.io.pages.PageFooter;
 import org.catalyte.io.utils.ButtonNavHelper;
+import org.catalyte.io.utils.LinkCheckEngine;
 import org.catalyte.io.utils.LocatorMapper;
+import org.catalyte.io.utils.NavigationCapture;
+import org.catalyte.io.utils.Scoreboard;
+import org.catalyte.io.utils.SiteUrls;
 import org.catalyte.io.utils.TestListener;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
-import org.testng.Assert;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Listeners;
@@ -26,46 +27,43 @@ import org.testng.asserts.SoftAssert;
 @Listeners({AllureTestNg.class, TestListener.class})
 public class PageFooterTests extends BaseUiTest {
 
-  private final String startPageUrl = "https://www.catalyte.io/";
+  private final String startPageUrl = SiteUrls.resolve("https://www.catalyte.io/");
   ButtonNavHelper buttonNavHelper;
-  private PageFooter footer;
-  private LocatorMapper mapper;
 
   @BeforeClass(alwaysRun = true)
   public void setUpPages() {
-    if (driver == null) {
-      throw new IllegalStateException("Driver is null in setUpPages()");
-    }
     open(startPageUrl);
-    footer = new PageFooter(driver);
-    mapper = new LocatorMapper(footer);
     buttonNavHelper = new ButtonNavHelper();
   }
 
+  // Page objects bound to the current thread's driver
+  private PageFooter footer() {
+    return pageObject(PageFooter.class, PageFooter::new);
+  }
+
+  private LocatorMapper mapper() {
+    return pageObject(LocatorMapper.class, d -> new LocatorMapper(footer()));
+  }
+
   @BeforeMethod(alwaysRun = true)
   @Override
   protected String startUrlForThisClass() {
     return startPageUrl;
   }
 
-  @BeforeMethod(alwaysRun = true)
-  protected List<String> failures() {
-    return new ArrayList<>();
-  }
-
   // === Methods For Footer Common To All Pages === //
   @Test
   public void verifyAllFooterElementsPresentAcrossAllPages() {
 
     SoftAssert softAssert = new SoftAssert();
 
-    for (String url : footer.getPageURLs()) {
-      driver.get(url);
+    for (String url : footer().getPageURLs()) {
+      driver().get(url);
       boolean footerFound = waitForFooter();
       softAssert.assertTrue(footerFound, "Footer container not found on page " + url);
       logger.info("Testing page " + url);
 
-      for (By locator : footer.getFooterLocatorsAsList()) {
+      for (By locator : footer().getFooterLocatorsAsList()) {
         boolean present = isPresent(locator);
         softAssert.assertTrue(present, "Missing footer element [" + locator + "] on page " + url);
       }
@@ -80,69 +78,37 @@ public class PageFooterTests extends BaseUiTest {
     safeOpen(startPageUrl);
     wait.until(ExpectedConditions.presenceOfElementLocated(By.cssSelector("section.footer-menu")));
 
-    Map<String, List<String>> menus = new LinkedHashMap<>();
-    for (String heading : mapper.headingKeys()) {
-      mapper.linksInMenuBy(heading).ifPresent(linksBy -> {
-        List<String> hrefs = driver.findElements(linksBy).stream()
-            .map(a -> a.getAttribute("href"))
-            .filter(Objects::nonNull).distinct().toList();
-        menus.put(heading, hrefs);
-      });
+    // One page load: every menu's links come back from a single script per menu
+    Map<String, List<LinkCheckEngine.Link>> menus = new LinkedHashMap<>();
+    for (String heading : mapper().headingKeys()) {
+      mapper().menuBy(heading).ifPresent(
+          menuBy -> menus.put(heading, LinkCheckEngine.collect(driver(), menuBy)));
     }
 
+    // Scored against menu.threshold; stops clicking once the threshold can no longer be met
+    Scoreboard.Tally menu = Scoreboard.start(Scoreboard.Category.MENU,
+        menus.values().stream().mapToInt(List::size).sum());
     for (var entry : menus.entrySet()) {
       String heading = entry.getKey();
       String separator = "\n --------------- \n";
       logger.info(separator + "Testing nav menu with heading " + heading + separator);
 
-      for (String href : entry.getValue()) {
-        safeOpen(startPageUrl);
-        wait.until(
-            ExpectedConditions.presenceOfElementLocated(By.cssSelector("section.footer-menu")));
-
-        By menuBy = mapper.menuBy(heading).orElseThrow();
-        By linkBy = mapper.linkInMenuBy(heading, href).orElseThrow();
-
-        WebElement link = wait.until(ExpectedConditions.elementToBeClickable(linkBy));
-        String menuLinkText = link.getText();
-        logger.info("Testing nav menu link " + menuLinkText);
-
-        jsHelper().executeScript("arguments[0].removeAttribute('target');",
-            link);
-        String before = driver.getCurrentUrl();
-
-        // JS-click to avoid full-load waits
-        jsHelper().executeScript("arguments[0].click();", link);
-
-        boolean changed = footer.waitForUrlChangeOrHash(
-            new WebDriverWait(driver, Duration.ofSeconds(10)), before, href);
-        if (changed) {
-          try {
-            jsHelper().executeScript("window.stop();");
-          } catch (Exception ignored) {
-          }
-        }
-
-        String current = driver.getCurrentUrl();
-        boolean ok = changed && allowedForHeading(heading, current, href);
-        if (!ok) {
-          failures().add(
-              String.format("[Footer][%s][%s] %s → %s", heading, menuLinkText, href, current));
-        }
+      // Destinations resolved concurrently over HTTP; script-driven links are clicked instead
+      // (all links with links.check.mode=browser|intercept)
+      for (LinkCheckEngine.Result r : LinkCheckEngine.check(entry.getValue(), defaultWait)) {
+        logger.info("Testing nav menu link " + r.link.text);
+        Optional<String> failure = r.scripted()
+            ? clickMenuLink(heading, r.link.href)
+            : resolvedLinkFailure(heading, r);
+        menu.record(failure.isEmpty(), failure.orElse(null));
       }
     }
-
-    if (!failures().isEmpty()) {
-      String msg =
-          "Footer nav warnings (" + failures().size() + "):\n" + String.join("\n", failures());
-      logger.warning(msg);
-    }
-    Assert.assertTrue(true); // always pass by design
+    menu.finish();
   }
 
   @Test
   public void verifyTopFooterSectionTextDisplayed() {
-    for (WebElement e : footer.getTopFooterSectionText()) {
+    for (WebElement e : footer().getTopFooterSectionText()) {
       logger.info(e.getText());
       checkElement(e::isDisplayed,
           "One or more top footer section text elements missing");
@@ -151,39 +117,38 @@ public class PageFooterTests extends BaseUiTest {
 
   @Test
   public void verifyTopFooterSectionButtonsDisplayedAndFunctionalLenient() {
-    driver.get(startPageUrl);
+    driver().get(startPageUrl);
     getWait().until(
         ExpectedConditions.presenceOfElementLocated(By.cssSelector("section.footer-menu")));
 
     var buttons = ButtonNavHelper.snapshotButtons(
-        footer.getTopFooterSectionButtons()); // (text, href)
+        footer().getTopFooterSectionButtons()); // (text, href)
     Map<String, String> expect = Map.of(
         "Learn more", "/apprenticeships/",
         "Connect now", "/about/contact-sales/"
     );
 
-    By TOP_FOOTER = footer.getPageFooterSectionTopLocator();
+    By TOP_FOOTER = footer().getPageFooterSectionTopLocator();
     By FOOTER_DID_LOAD = By.cssSelector("section.footer-menu");
-    Duration defaultWait = Duration.ofSeconds(10);
 
     for (var b : buttons) {
-      ButtonNavHelper.verifyButton(driver, startPageUrl, FOOTER_DID_LOAD, TOP_FOOTER, b, expect,
+      ButtonNavHelper.verifyButton(driver(), startPageUrl, FOOTER_DID_LOAD, TOP_FOOTER, b, expect,
               defaultWait)
-          .ifPresent(failures()::add);
+          .ifPresent(warnings()::add);
     }
-    failures().forEach(logger::warning);
+    warnings().forEach(logger::warning);
   }
 
   //==== Footer test helpers ==== //
   private boolean isPresent(By locator) {
-    return !driver.findElements(locator).isEmpty();
+    return !driver().findElements(locator).isEmpty();
   }
 
   private boolean waitForFooter() {
     try {
-      WebElement footerElement = wait.until(
+      WebElement footerElement = getWait().until(
           ExpectedConditions.presenceOfElementLocated
-              (footer.getFooterLocatorsAsList().get(0)));
+              (footer().getFooterLocatorsAsList().get(0)));
       return footerElement != null;
     } catch (Exception e) {
       return false;
@@ -202,8 +167,42 @@ public class PageFooterTests extends BaseUiTest {
     }
   }
 
+  private Optional<String> resolvedLinkFailure(String heading, LinkCheckEngine.Result r) {
+    boolean ok = r.status > 0 && r.status < 400
+        && allowedForHeading(heading, r.finalUrl, r.link.href);
+    return ok ? Optional.empty() : Optional.of(String.format("[Footer][%s][%s] %s → %s",
+        heading, r.link.text, r.link.href, r.error != null ? r.error : r.finalUrl));
+  }
+
+  // Browser path for links that only navigate through script (every link outside http mode)
+  private Optional<String> clickMenuLink(String heading, String href) {
+    WebDriverWait wait = getWait();
+    if (!NavigationCapture.stayedOn(driver(), startPageUrl)) {
+      safeOpen(startPageUrl);
+    }
+    wait.until(ExpectedConditions.presenceOfElementLocated(By.cssSelector("section.footer-menu")));
+
+    By linkBy = mapper().linkInMenuBy(heading, href).orElseThrow();
+    WebElement link = wait.until(ExpectedConditions.elementToBeClickable(linkBy));
+    String menuLinkText = link.getText();
+
+    jsHelper().executeScript("arguments[0].removeAttribute('target');", link);
+    String before = driver().getCurrentUrl();
+
+    Optional<String> landed;
+    try (NavigationCapture nav = NavigationCapture.arm(driver(), before, href)) {
+      // JS-click to avoid full-load waits
+      jsHelper().executeScript("arguments[0].click();", link);
+      landed = nav.await(defaultWait);
+    }
+    String current = landed.orElseGet(driver()::getCurrentUrl);
+    boolean ok = landed.isPresent() && allowedForHeading(heading, current, href);
+    return ok ? Optional.empty() : Optional.of(
+        String.format("[Footer][%s][%s] %s → %s", heading, menuLinkText, href, current));
+  }
+
   private boolean allowedForHeading(String heading, String actualUrl, String expectedHref) {
-    Map<String, List<String>> allowed = mapper.getAllowedUrls();
+    Map<String, List<String>> allowed = mapper().getAllowedUrls();
     List<String> list = allowed.get(heading);
     if (list == null || list.isEmpty()) {
       return urlsMatchLenient(expectedHref, actualUrl);
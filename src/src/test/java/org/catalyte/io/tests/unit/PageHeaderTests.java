@@ -2,81 +2,75 @@ package org.catalyte.io.tests.unit;
 
 import static org.openqa.selenium.support.ui.ExpectedConditions.presenceOfElementLocated;
 
-import java.time.Duration;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.Callable;
 import org.catalyte.io.pages.PageHeader;
 import org.catalyte.io.utils.ButtonNavHelper;
 import org.catalyte.io.utils.LocatorMapper;
-import org.openqa.selenium.By;
+import org.catalyte.io.utils.NavigationCapture;
+import org.catalyte.io.utils.Scoreboard;
+import org.catalyte.io.utils.SiteUrls;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.pagefactory.ByChained;
-import org.openqa.selenium.support.ui.WebDriverWait;
-import org.testng.Assert;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
 public class PageHeaderTests extends BaseUiTest {
 
-  private final String startPageUrl = "https://www.catalyte.io/";
+  private final String startPageUrl = SiteUrls.resolve("https://www.catalyte.io/");
   ButtonNavHelper buttonNavHelper;
-  private PageHeader header;
-  private LocatorMapper mapper;
 
   @BeforeClass(alwaysRun = true)
   public void setUpPages() {
-    if (driver == null) {
-      throw new IllegalStateException("Driver is null in setUpPages()");
-    }
     open(startPageUrl);
-    header = new PageHeader(driver);
-    mapper = new LocatorMapper(header);
     buttonNavHelper = new ButtonNavHelper();
   }
 
+  // Page objects bound to the current thread's driver
+  private PageHeader header() {
+    return pageObject(PageHeader.class, PageHeader::new);
+  }
+
+  private LocatorMapper mapper() {
+    return pageObject(LocatorMapper.class, d -> new LocatorMapper(header()));
+  }
+
   @BeforeMethod(alwaysRun = true)
   @Override
   protected String startUrlForThisClass() {
     return startPageUrl;
   }
 
-  @BeforeMethod(alwaysRun = true)
-  protected List<String> failures() {
-    return new ArrayList<>();
-  }
-
   /**
    * Basic smoke: header present, logo visible, primary/secondary menus present.
    */
   @Test
   public void verifyHeaderScaffoldPresent() {
-    driver.get(startPageUrl);
-    wait.until(presenceOfElementLocated(header.headerRootBy()));
-
-    // By-based, warn-only checks (similar to your Checkable pattern)
-    checkPresent(header.logoBy(), "Header: logo link missing");
-    checkPresent(header.primaryMenuUlBy(), "Header: primary menu missing");
-    checkPresent(header.secondaryMenuUlBy(), "Header: secondary menu missing");
-
-    // lenient test
-    Assert.assertTrue(true);
+    driver().get(startPageUrl);
+    getWait().until(presenceOfElementLocated(header().headerRootBy()));
+
+    // By-based, warn-only checks (evaluated together in one script)
+    checkAll(
+        presentCheck(header().logoBy(), "Header: logo link missing"),
+        presentCheck(header().primaryMenuUlBy(), "Header: primary menu missing"),
+        presentCheck(header().secondaryMenuUlBy(), "Header: secondary menu missing"));
   }
 
   /**
-   * Top-level desktop links navigate (lenient; allow fan-out paths per label).
+   * Top-level desktop links navigate (allow fan-out paths per label; scored against
+   * menu.threshold).
    */
   @Test
   public void verifyPrimaryTopLinksNavigateLenient() {
-    driver.get(startPageUrl);
-    header.waitForHeaderReady();
+    driver().get(startPageUrl);
+    header().waitForHeaderReady();
 
     // Snapshot once to avoid staleness
-    List<PageHeader.Link> topLinks = header.snapshotTopLinks();
+    List<PageHeader.Link> topLinks = header().snapshotTopLinks();
 
     // Allowed paths per top label (fan-out acceptable)
     Map<String, List<String>> ALLOW = Map.of(
@@ -88,127 +82,109 @@ public class PageHeaderTests extends BaseUiTest {
         "Insights", List.of("/insights/")
     );
 
-    for (PageHeader.Link link : topLinks) {
-      String label = link.text;
-      if (label == null || label.isBlank()) {
-        continue;
-      }
+    List<String> labels = topLinks.stream().map(l -> l.text)
+        .filter(label -> label != null && !label.isBlank()).toList();
+    Scoreboard.Tally menu = Scoreboard.start(Scoreboard.Category.MENU, labels.size());
+    for (String label : labels) {
 
       // Some headers (with mega menus) may intercept; we click the label explicitly
-      driver.get(startPageUrl);
-      header.waitForHeaderReady();
+      reopenStartPage();
 
-      String before = driver.getCurrentUrl();
+      String before = driver().getCurrentUrl();
       logger.info("Header top-link: " + label + " -> click");
-      boolean clicked = header.clickTopLinkByLabel(label);
-      if (!clicked) {
-        warnings.add("Top link not found: " + label);
-        continue;
-      }
-
-      boolean changed = waitForUrlChange(Duration.ofSeconds(10), before);
-      if (changed) {
-        stopLoading();
+      Optional<String> landed;
+      try (NavigationCapture nav = NavigationCapture.arm(driver(), before, null)) {
+        if (!header().clickTopLinkByLabel(label)) {
+          menu.fail("[Header][Top] Link not found: " + label);
+          continue;
+        }
+        landed = nav.await(defaultWait);
       }
 
-      String finalUrl = driver.getCurrentUrl().toLowerCase(Locale.ROOT);
+      String finalUrl = landed.orElseGet(driver()::getCurrentUrl).toLowerCase(Locale.ROOT);
       boolean ok = allowed(finalUrl, ALLOW.getOrDefault(label, List.of()));
-      if (!ok) {
-        warnings.add(String.format("[Header][Top] '%s' → %s", label, finalUrl));
-      }
+      menu.record(ok, String.format("[Header][Top] '%s' → %s", label, finalUrl));
     }
-
-    dumpWarnings();
-    Assert.assertTrue(true); // lenient
+    menu.finish();
   }
 
   /**
-   * Submenu links under key top items navigate (lenient).
+   * Submenu links under key top items navigate (scored against menu.threshold).
    */
   @Test
   public void verifyPrimarySubmenusNavigateLenient() {
-    driver.get(startPageUrl);
-    header.waitForHeaderReady();
+    driver().get(startPageUrl);
+    header().waitForHeaderReady();
 
     List<String> topWithSubmenus = List.of("Services", "Engagement models", "Success stories",
         "Job Seekers");
 
+    // Collect every menu's hrefs first so the navigations below have a known total
+    Map<String, List<String>> submenus = new LinkedHashMap<>();
+    List<String> problems = new ArrayList<>();
     for (String menu : topWithSubmenus) {
-      driver.get(startPageUrl);
-      header.waitForHeaderReady();
+      driver().get(startPageUrl);
+      header().waitForHeaderReady();
 
-      if (!header.expandTopMenu(menu)) {
-        warnings.add("[Header][Submenu] Could not expand: " + menu);
+      if (!header().expandTopMenu(menu)) {
+        problems.add("[Header][Submenu] Could not expand: " + menu);
         continue;
       }
 
-      List<String> hrefs = header.submenuHrefs(menu);
+      List<String> hrefs = header().submenuHrefs(menu);
       if (hrefs.isEmpty()) {
-        warnings.add("[Header][Submenu] No links under: " + menu);
+        problems.add("[Header][Submenu] No links under: " + menu);
         continue;
       }
-
       logger.info("Header submenu '" + menu + "' hrefs: " + hrefs.size());
-      for (String href : hrefs) {
-        driver.get(startPageUrl);
-        header.waitForHeaderReady();
+      submenus.put(menu, hrefs);
+    }
+
+    Scoreboard.Tally score = Scoreboard.start(Scoreboard.Category.MENU,
+        problems.size() + submenus.values().stream().mapToInt(List::size).sum());
+    problems.forEach(score::fail);
+    for (var entry : submenus.entrySet()) {
+      String menu = entry.getKey();
+      for (String href : entry.getValue()) {
+        reopenStartPage();
         // Re-expand each time to get fresh DOM
-        if (!header.expandTopMenu(menu)) {
-          warnings.add("[Header][Submenu] Re-expand failed: " + menu);
+        if (!header().expandTopMenu(menu)) {
+          score.fail("[Header][Submenu] Re-expand failed: " + menu);
           continue;
         }
 
         // Click by exact href within this menu (absolute hrefs in markup)
-        By liBy = headerPrimaryItemBy(menu);
-        By linkBy = new ByChained(liBy,
-            By.cssSelector("ul.sub-menu a.menu-link[href=\"" + href + "\"]"));
-
-        Optional<WebElement> sub = attempt(() -> driver.findElement(linkBy));
+        Optional<WebElement> sub = header().submenuLink(menu, href);
         if (sub.isEmpty()) {
-          warnings.add(String.format("[Header][Submenu] Link not found: %s → %s", menu, href));
+          score.fail(String.format("[Header][Submenu] Link not found: %s → %s", menu, href));
           continue;
         }
 
-        String before = driver.getCurrentUrl();
+        String before = driver().getCurrentUrl();
         try {
           jsHelper().executeScript("arguments[0].removeAttribute('target');", sub.get());
         } catch (Exception ignored) {
         }
-        header.safeClickDismissCookies(sub.get());
-
-        boolean changed = waitForUrlChange(Duration.ofSeconds(10), before);
-        if (changed) {
-          stopLoading();
+        Optional<String> landed;
+        try (NavigationCapture nav = NavigationCapture.arm(driver(), before, href)) {
+          header().safeClickDismissCookies(sub.get());
+          landed = nav.await(defaultWait);
         }
 
-        String finalUrl = driver.getCurrentUrl();
-        if (!finalUrl.startsWith(href)) {
-          warnings.add(String.format("[Header][Submenu] %s: %s → %s", menu, href, finalUrl));
-        }
+        String finalUrl = landed.orElseGet(driver()::getCurrentUrl);
+        score.record(finalUrl.startsWith(href),
+            String.format("[Header][Submenu] %s: %s → %s", menu, href, finalUrl));
       }
     }
-
-    dumpWarnings();
-    Assert.assertTrue(true); // lenient
-  }
-
-  /**
-   * Wait for URL to change from 'before'.
-   */
-  private boolean waitForUrlChange(Duration timeout, String before) {
-    try {
-      return new WebDriverWait(driver, timeout)
-          .until(d -> !d.getCurrentUrl().equals(before));
-    } catch (Exception e) {
-      return false;
-    }
+    score.finish();
   }
 
-  private void stopLoading() {
-    try {
-      jsHelper().executeScript("window.stop();");
-    } catch (Exception ignored) {
+  // Intercepted clicks leave the start page loaded; anything else navigated away from it
+  private void reopenStartPage() {
+    if (!NavigationCapture.stayedOn(driver(), startPageUrl)) {
+      driver().get(startPageUrl);
     }
+    header().waitForHeaderReady();
   }
 
   private boolean allowed(String url, List<String> allowedPaths) {
@@ -222,29 +198,4 @@ public class PageHeaderTests extends BaseUiTest {
     }
     return false;
   }
-
-  private void dumpWarnings() {
-    if (!warnings.isEmpty()) {
-      logger.warning("Header warnings (" + warnings.size() + "):\n" + String.join("\n", warnings));
-    }
-  }
-
-  /**
-   * Rebuild the same LI locator used by PageHeader (so we can chain beneath it in test).
-   */
-  private By headerPrimaryItemBy(String label) {
-    String lower = label.trim().toLowerCase(Locale.ROOT).replace("'", "''");
-    String xp = ".//li[contains(@class,'menu-item')][.//span[contains(@class,'menu-text') " +
-        "and translate(normalize-space(.),'ABCDEFGHIJKLMNOPQRSTUVWXYZ','abcdefghijklmnopqrstuvwxyz')='"
-        + lower + "']]";
-    return new ByChained(header.primaryMenuUlBy(), By.xpath(xp));
-  }
-
-  private <T> Optional<T> attempt(Callable<T> c) {
-    try {
-      return Optional.ofNullable(c.call());
-    } catch (Exception e) {
-      return Optional.empty();
-    }
-  }
 }
\ No newline at end of file
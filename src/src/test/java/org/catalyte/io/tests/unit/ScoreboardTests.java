@@ -0,0 +1,55 @@
+package org.catalyte.io.tests.unit;
+
+import java.util.List;
+import org.catalyte.io.utils.Scoreboard;
+import org.catalyte.io.utils.Scoreboard.Category;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Offline checks for threshold scoring (test.properties: images 0.5, menu 0.0, dom.text 0.3).
+ */
+public class ScoreboardTests {
+
+  @Test
+  public void failsAsSoonAsThePlanCannotMeetTheThreshold() {
+    Scoreboard.Tally tally = Scoreboard.start(Category.IMAGES, 4);
+    tally.fail("first");
+    tally.fail("second"); // 2 of 4 is still within 50%
+    AssertionError error = Assert.expectThrows(AssertionError.class, () -> tally.fail("third"));
+    Assert.assertTrue(error.getMessage().contains("after 3 of 4 planned checks"),
+        error.getMessage());
+    Assert.assertEquals(tally.failures(), List.of("first", "second", "third"));
+  }
+
+  @Test
+  public void strictCategoryFailsOnFirstFailure() {
+    Scoreboard.Tally tally = Scoreboard.start(Category.MENU, 10);
+    Assert.assertTrue(tally.record(true, "ok"));
+    Assert.assertThrows(AssertionError.class, () -> tally.record(false, "broken link"));
+  }
+
+  @Test
+  public void unplannedTallyIsJudgedAtFinish() {
+    Scoreboard.Tally tally = Scoreboard.start(Category.IMAGES, 0);
+    tally.fail("a");
+    tally.fail("b");
+    tally.pass();
+    Assert.assertThrows(AssertionError.class, tally::finish);
+
+    Scoreboard.Tally within = Scoreboard.start(Category.IMAGES, 0);
+    within.fail("a");
+    within.pass();
+    within.finish();
+    Assert.assertEquals(within.failureRatio(), 0.5);
+  }
+
+  @Test
+  public void batchesUseTheSameThreshold() {
+    // 3 of 10 is exactly 30%: allowed
+    Scoreboard.start(Category.DOM_TEXT, 10).recordAll(10, 3, List.of("x", "y", "z"));
+    Assert.assertThrows(AssertionError.class,
+        () -> Scoreboard.start(Category.DOM_TEXT, 10).recordAll(10, 4, List.of()));
+    Assert.assertTrue(Scoreboard.summary().contains("dom.text"));
+  }
+}
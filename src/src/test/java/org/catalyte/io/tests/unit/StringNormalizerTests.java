@@ -0,0 +1,116 @@
+package org.catalyte.io.tests.unit;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import org.catalyte.io.utils.StringNormalizer;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Element;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * Offline checks that the single-pass normalizer matches the original regex implementation.
+ */
+public class StringNormalizerTests {
+
+  private final StringNormalizer normalizer = new StringNormalizer();
+
+  // The original implementation, kept as the reference
+  private static String legacyNormalize(String s) {
+    return legacyNormalize(s, Locale.getDefault());
+  }
+
+  private static String legacyNormalize(String s, Locale locale) {
+    if (s == null) {
+      return "";
+    }
+    return s.replace('\u00A0', ' ')
+        .replace('\u2022', ' ')
+        .replace('\u2013', '-')
+        .replace('\u2014', '-')
+        .replaceAll("\\s+", " ")
+        .trim()
+        .toLowerCase(locale);
+  }
+
+  @DataProvider(name = "edgeCases")
+  public Object[][] edgeCases() {
+    return new Object[][]{
+        {null}, {""}, {"   "}, {"\u00A0\u2022\t"}, {"Hire  Talent"}, {"  Leading and trailing  "},
+        {"Line\nbreaks\r\nand\ttabs\u000B\f"}, {"\u0001 control \u0002 chars \u0003"},
+        {"a \u0001"}, {"\u001F\u00A0x"}, {"Dash \u2013 and \u2014 bullets \u2022 here"},
+        {"ÀÉÎÕÜ Ñandú"}, {"ΟΔΟΣ ΣΟΦΟΣ"}, {"İstanbul DİYARBAKIR"}, {"𐐀 Deseret"},
+        {"\u2003em space stays\u2003"}, {"100% FREE!"}, {"How does it work?"}
+    };
+  }
+
+  @Test(dataProvider = "edgeCases")
+  public void normalizeMatchesLegacy(String input) {
+    Assert.assertEquals(normalizer.normalize(input), legacyNormalize(input));
+    Assert.assertEquals(normalizer.normalizeLocator(input), legacyNormalize(input));
+  }
+
+  @Test(dataProvider = "edgeCases")
+  public void normalizeMatchesLegacyInTurkishLocale(String input) {
+    // An explicit locale: switching the JVM default would break tests running in parallel
+    Locale turkish = new Locale("tr", "TR");
+    StringNormalizer normalizer = new StringNormalizer(turkish);
+    Assert.assertEquals(normalizer.normalize(input), legacyNormalize(input, turkish));
+  }
+
+  @Test
+  public void containsNormalizedUsesTheConfiguredLocale() {
+    StringNormalizer turkish = new StringNormalizer(new Locale("tr", "TR"));
+    Assert.assertTrue(turkish.containsNormalized("Offices in DİYARBAKIR", "diyarbakır"));
+    Assert.assertFalse(turkish.containsNormalized("Offices in DIYARBAKIR", "diyarbakir"));
+  }
+
+  @Test
+  public void normalizeMatchesLegacyOnPageText() {
+    for (String text : pageTexts()) {
+      Assert.assertEquals(normalizer.normalize(text), legacyNormalize(text));
+    }
+  }
+
+  @Test
+  public void containsNormalizedMatchesNormalizeContains() {
+    List<String> texts = pageTexts();
+    String[] needles = {"paid while learning", "100% FREE", "Be at least  18 years old",
+        "40 hours", "do not take degrees", "apprentice", "  ", "", "zzz-not-there",
+        "aab", "ΣΟΦΟΣ"};
+    for (String text : texts) {
+      for (String needle : needles) {
+        Assert.assertEquals(normalizer.containsNormalized(text, needle),
+            legacyNormalize(text).contains(legacyNormalize(needle)),
+            "needle '" + needle + "' in: " + text);
+      }
+    }
+    // KMP restart on partial matches and whitespace collapse across the boundary
+    Assert.assertTrue(normalizer.containsNormalized("aaab", "AAB"));
+    Assert.assertTrue(normalizer.containsNormalized("Hire\u00A0\n Talent", "hire talent"));
+    Assert.assertFalse(normalizer.containsNormalized("hiretalent", "hire talent"));
+    Assert.assertTrue(normalizer.containsNormalized("ΟΔΟΣ ΣΟΦΟΣ", "οδος"));
+  }
+
+  private static List<String> pageTexts() {
+    List<String> texts = new ArrayList<>();
+    for (String page : List.of("home.html", "get-hired.html", "hire-apprentices.html")) {
+      try (InputStream in = StringNormalizerTests.class.getClassLoader()
+          .getResourceAsStream(page)) {
+        Assert.assertNotNull(in, "Missing test resource " + page);
+        String html = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        for (Element e : Jsoup.parse(html).select("p, li, h1, h2, h3, h6, .elementor-tab-title")) {
+          texts.add(e.wholeText());
+        }
+      } catch (IOException e) {
+        throw new IllegalStateException("Failed to read " + page, e);
+      }
+    }
+    return texts;
+  }
+}
@@ -0,0 +1,175 @@
+package org.catalyte.io.utils;
+
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Offline checks for the lock-free log ring and the handler draining it (same package: both are
+ * package-private).
+ */
+public class AsyncLogHandlerTests {
+
+  private static final int PRODUCERS = 4;
+  private static final int PER_PRODUCER = 5_000;
+
+  @Test
+  public void ringRoundsUpFillsAndWrapsAround() {
+    MpscRingBuffer<Integer> ring = new MpscRingBuffer<>(3); // rounded up to 4
+    for (int round = 0; round < 3; round++) {
+      for (int i = 0; i < 4; i++) {
+        Assert.assertTrue(ring.offer(round * 4 + i));
+      }
+      Assert.assertFalse(ring.offer(-1), "full ring must refuse");
+      for (int i = 0; i < 4; i++) {
+        Assert.assertEquals(ring.poll(), Integer.valueOf(round * 4 + i));
+      }
+      Assert.assertNull(ring.poll());
+    }
+  }
+
+  @Test
+  public void concurrentProducersKeepTheirOrderThroughAFullRing() throws Exception {
+    MpscRingBuffer<long[]> ring = new MpscRingBuffer<>(8);
+    List<Thread> producers = new ArrayList<>();
+    for (int p = 0; p < PRODUCERS; p++) {
+      long id = p;
+      producers.add(new Thread(() -> {
+        for (long n = 0; n < PER_PRODUCER; n++) {
+          while (!ring.offer(new long[]{id, n})) {
+            Thread.yield(); // full: let the consumer run (single-CPU sandboxes)
+          }
+        }
+      }));
+    }
+    producers.forEach(Thread::start);
+
+    long[] next = new long[PRODUCERS];
+    int received = 0;
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+    while (received < PRODUCERS * PER_PRODUCER && System.nanoTime() < deadline) {
+      long[] item = ring.poll();
+      if (item == null) {
+        Thread.yield();
+        continue;
+      }
+      Assert.assertEquals(item[1], next[(int) item[0]], "producer " + item[0] + " out of order");
+      next[(int) item[0]]++;
+      received++;
+    }
+    for (Thread t : producers) {
+      t.join(1_000);
+    }
+    Assert.assertEquals(received, PRODUCERS * PER_PRODUCER);
+    Assert.assertNull(ring.poll());
+  }
+
+  @Test
+  public void concurrentPublishersAreAllWrittenInOrder() throws Exception {
+    StringWriter out = new StringWriter();
+    AsyncLogHandler handler = new AsyncLogHandler(16, false, out);
+    List<Thread> publishers = new ArrayList<>();
+    for (int p = 0; p < PRODUCERS; p++) {
+      String id = "p" + p;
+      publishers.add(new Thread(() -> {
+        for (int n = 0; n < 500; n++) {
+          handler.publish(record(id + ":" + n));
+        }
+      }));
+    }
+    publishers.forEach(Thread::start);
+    for (Thread t : publishers) {
+      t.join(30_000);
+    }
+    handler.close();
+
+    List<String> messages = messages(out.toString());
+    Assert.assertEquals(messages.size(), PRODUCERS * 500);
+    int[] next = new int[PRODUCERS];
+    for (String m : messages) {
+      int p = m.charAt(1) - '0';
+      Assert.assertEquals(Integer.parseInt(m.substring(3)), next[p]++, m);
+    }
+  }
+
+  @Test
+  public void fullRingBlocksInsteadOfOvertaking() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    StringWriter lines = new StringWriter();
+    Writer gated = new Writer() {
+      @Override
+      public void write(char[] buf, int off, int len) {
+        try {
+          release.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        lines.write(buf, off, len);
+      }
+
+      @Override
+      public void flush() {
+      }
+
+      @Override
+      public void close() {
+      }
+    };
+    AsyncLogHandler handler = new AsyncLogHandler(4, false, gated);
+    Thread publisher = new Thread(() -> {
+      for (int n = 0; n < 20; n++) {
+        handler.publish(record("m" + n));
+      }
+    });
+    publisher.start();
+
+    // The writer holds one record and the ring four more: the publisher has to wait
+    publisher.join(500);
+    Assert.assertTrue(publisher.isAlive(), "publisher should block on a full ring");
+
+    release.countDown();
+    publisher.join(10_000);
+    handler.flush(10_000);
+    List<String> messages = messages(lines.toString());
+    Assert.assertEquals(messages.size(), 20);
+    for (int n = 0; n < 20; n++) {
+      Assert.assertEquals(messages.get(n), "m" + n);
+    }
+  }
+
+  @Test
+  public void flushDrainsEverythingPublished() {
+    StringWriter out = new StringWriter();
+    AsyncLogHandler handler = new AsyncLogHandler(1024, true, out);
+    Set<String> expected = new HashSet<>();
+    for (int n = 0; n < 300; n++) {
+      handler.publish(record("line " + n));
+      expected.add("line " + n);
+    }
+    handler.flush();
+
+    String written = out.toString();
+    Assert.assertEquals(written.lines().count(), 300);
+    expected.forEach(m -> Assert.assertTrue(written.contains("\"msg\":\"" + m + "\""), m));
+  }
+
+  private static LogRecord record(String message) {
+    LogRecord record = new LogRecord(Level.INFO, message);
+    record.setLoggerName(AsyncLogHandlerTests.class.getName());
+    return record;
+  }
+
+  // Text lines end in " | message"
+  private static List<String> messages(String output) {
+    return output.lines().map(l -> l.substring(l.indexOf(" | ") + 3)).toList();
+  }
+}
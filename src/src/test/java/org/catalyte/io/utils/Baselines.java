@@ -0,0 +1,133 @@
+package org.catalyte.io.utils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import org.catalyte.io.utils.BaselineStore.Baseline;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+
+/**
+ * Stored baselines for the pages the page objects cover, one {@code <name>.dom} file each under
+ * {@code baselines.dir} (default src/test/resources/baselines). A missing file is built once from
+ * the saved page source in src/test/resources; after that tests only map the file.
+ */
+public final class Baselines {
+
+  public static final List<PageSource> PAGES = List.of(
+      new PageSource("home", "/", "home.html"),
+      new PageSource("apprenticeships", "/apprenticeships/", "get-hired.html"),
+      new PageSource("hire-apprentices", "/hire-talent/hire-apprentices/",
+          "hire-apprentices.html"));
+
+  private static final Path DIR = Paths.get(
+      ConfigUtil.getProperty("baselines.dir", "src/test/resources/baselines"));
+  private static final Path SOURCES = Paths.get("src/test/resources");
+  private static final Map<String, Baseline> cache = new ConcurrentHashMap<>();
+  private static final StringNormalizer normalizer = new StringNormalizer();
+
+  private Baselines() {
+  }
+
+  /**
+   * Mapped baseline for one of {@link #PAGES}, building the file first if it does not exist.
+   */
+  public static Baseline load(String name) {
+    return cache.computeIfAbsent(name, n -> {
+      Path file = file(n);
+      if (!Files.exists(file)) {
+        PageSource page = page(n);
+        LoggerUtil.info(Baselines.class, "Building baseline " + file + " from " + page.html);
+        BaselineStore.write(file, DomFingerprint.of(parse(SOURCES.resolve(page.html))));
+      }
+      return BaselineStore.open(file);
+    });
+  }
+
+  /**
+   * Stored baseline for any page name: {@link #load} for covered pages, otherwise the file if one
+   * has been recorded.
+   */
+  public static Optional<Baseline> find(String name) {
+    if (PAGES.stream().anyMatch(p -> p.name.equals(name))) {
+      return Optional.of(load(name));
+    }
+    Baseline cached = cache.get(name);
+    if (cached != null) {
+      return Optional.of(cached);
+    }
+    Path file = file(name);
+    return Files.exists(file)
+        ? Optional.of(cache.computeIfAbsent(name, n -> BaselineStore.open(file)))
+        : Optional.empty();
+  }
+
+  /**
+   * Replace the stored baseline of {@code name} with the given (live) page fingerprint.
+   */
+  public static synchronized void record(String name, Fingerprint page) {
+    BaselineStore.write(file(name), page);
+    cache.remove(name);
+  }
+
+  /**
+   * Baseline name for a URL: the covered page with that path, else a slug of the path
+   * ("/about/contact-sales/" -> "about-contact-sales"). Query and fragment are ignored.
+   */
+  public static String nameFor(String url) {
+    String path = DomFingerprint.urlPath(url);
+    for (PageSource page : PAGES) {
+      if (page.path.equals(path)) {
+        return page.name;
+      }
+    }
+    String slug = normalizer.slugify(path.replace('/', ' '));
+    return slug.isEmpty() ? "home" : slug;
+  }
+
+  public static Path file(String name) {
+    return DIR.resolve(name + BaselineStore.EXTENSION);
+  }
+
+  public static PageSource page(String name) {
+    return PAGES.stream()
+        .filter(p -> p.name.equals(name))
+        .findFirst()
+        .orElseThrow(() -> new IllegalArgumentException("No baseline page named " + name));
+  }
+
+  private static Document parse(Path html) {
+    try {
+      return Jsoup.parse(Files.readString(html, StandardCharsets.UTF_8));
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to read " + html, e);
+    }
+  }
+
+  /**
+   * A covered page: baseline name, site path and the saved page source it was built from.
+   */
+  public static final class PageSource {
+
+    public final String name;
+    public final String path;
+    public final String html;
+
+    PageSource(String name, String path, String html) {
+      this.name = name;
+      this.path = path;
+      this.html = html;
+    }
+
+    public String url() {
+      return SiteUrls.resolve(path);
+    }
+  }
+}
@@ -3,10 +3,13 @@ package org.catalyte.io.utils;
 import java.net.URL;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import org.catalyte.io.pages.DomNode;
+import org.catalyte.io.pages.DomSnapshot;
 import org.openqa.selenium.By;
 import org.openqa.selenium.ElementClickInterceptedException;
 import org.openqa.selenium.JavascriptException;
@@ -16,7 +19,6 @@ import org.openqa.selenium.StaleElementReferenceException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.WrapsDriver;
-import org.openqa.selenium.support.pagefactory.ByChained;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
@@ -80,7 +82,7 @@ public final class ButtonNavHelper {
    * Snapshot a single button (text+href) using a locator on the current page.
    */
   public static List<Btn> snapshotButton(WebDriver driver, By buttonBy) {
-    return snapshotButton(driver.findElements(buttonBy));
+    return snapshotButtons(driver, buttonBy);
   }
 
   /**
@@ -101,15 +103,24 @@ public final class ButtonNavHelper {
    * Snapshot multiple buttons (text+href) using a locator on the current page.
    */
   public static List<Btn> snapshotButtons(WebDriver driver, By buttonsBy) {
-    return snapshotButtons(driver.findElements(buttonsBy));
+    Map<String, Btn> byHref = new LinkedHashMap<>();
+    for (DomNode el : DomSnapshot.capture(driver, buttonsBy).roots()) {
+      String href = el.attr("href");
+      if (href != null && !href.isBlank()) {
+        byHref.putIfAbsent(href, new Btn(el.isDisplayed() ? el.text() : "", href));
+      }
+    }
+    return new ArrayList<>(byHref.values());
   }
 
   /**
-   * Open startUrl and wait for a "ready" marker (returns false on failure).
+   * Open startUrl and wait for a "ready" marker (returns false on failure). When the previous
+   * click was intercepted the browser is still there, and it is not reloaded.
    */
   public static boolean openAndWait(WebDriver driver, String startUrl, By isPageLoaded,
       Duration timeout) {
-    return attemptRun(() -> driver.navigate().to(startUrl))
+    return (NavigationCapture.stayedOn(driver, startUrl)
+        || attemptRun(() -> driver.navigate().to(startUrl)))
         && attempt(() -> wait(driver, timeout).until(
         ExpectedConditions.presenceOfElementLocated(isPageLoaded))).isPresent();
   }
@@ -125,7 +136,7 @@ public final class ButtonNavHelper {
    * Build a *menu-scoped* locator for a specific link by href (menuBy is the container).
    */
   public static By linkInMenuByHref(By menuBy, String href) {
-    return new ByChained(menuBy, linkByHref(href));
+    return LocatorCompiler.chain(menuBy, linkByHref(href));
   }
 
   /**
@@ -147,20 +158,6 @@ public final class ButtonNavHelper {
     });
   }
 
-  /**
-   * Wait for URL change or hash appearance within timeout.
-   */
-  public static boolean waitForUrlChangeOrHash(WebDriver driver, Duration timeout, String before,
-      String expectedHref) {
-    return attempt(() -> {
-      WebDriverWait w = wait(driver, timeout);
-      if (expectedHref != null && expectedHref.contains("#")) {
-        return w.until(d -> d.getCurrentUrl().contains("#"));
-      }
-      return w.until(d -> !d.getCurrentUrl().equals(before));
-    }).orElse(false);
-  }
-
   /**
    * Validate destination: per-text fragment rule OR lenient href match (host+path, tolerate
    * redirects).
@@ -188,18 +185,18 @@ public final class ButtonNavHelper {
     List<By> candidates = linkCandidatesByHrefAndText(b.href, b.text);
 
     String before = driver.getCurrentUrl();
-    boolean clicked = clickCandidateSameTabWithRetry(driver, locator, candidates, timeout, 3);
-    if (!clicked) {
-      return Optional.of("Click failed: href=%s (btn='%s')".formatted(b.href, b.text));
-    }
-
-    boolean changed = waitForUrlChangeOrHash(driver, timeout, before, b.href);
-    if (changed) {
-      attemptRun(() -> js(driver).executeScript("window.stop();"));
+    Optional<String> landed;
+    try (NavigationCapture nav = NavigationCapture.arm(driver, before, b.href)) {
+      boolean clicked = clickCandidateSameTabWithRetry(driver, locator, candidates, timeout, 3);
+      if (!clicked) {
+        return Optional.of("Click failed: href=%s (btn='%s')".formatted(b.href, b.text));
+      }
+      // Returns at commit (or intercepted response) without loading the rest of the destination
+      landed = nav.await(timeout);
     }
-
-    String finalUrl = driver.getCurrentUrl();
-    boolean ok = changed && validateDestination(b.text, b.href, finalUrl, expectContains);
+    String finalUrl = landed.orElseGet(driver::getCurrentUrl);
+    boolean ok = landed.isPresent()
+        && validateDestination(b.text, b.href, finalUrl, expectContains);
     return ok ? Optional.empty()
         : Optional.of("Button '%s' href=%s → final=%s".formatted(b.text, b.href, finalUrl));
   }
@@ -222,27 +219,33 @@ public final class ButtonNavHelper {
     }
 
     String before = driver.getCurrentUrl();
-    if (clickSameTab(driver, linkOpt.get())) {
-      return Optional.of(String.format("Click failed (menu): href=%s (btn='%s')", b.href, b.text));
-    }
-
-    boolean changed = waitForUrlChangeOrHash(driver, timeout, before, b.href);
-    if (changed) {
-      attemptRun(() -> ((JavascriptExecutor) driver).executeScript("window.stop();"));
+    Optional<String> landed;
+    try (NavigationCapture nav = NavigationCapture.arm(driver, before, b.href)) {
+      if (clickSameTab(driver, linkOpt.get())) {
+        return Optional.of(
+            String.format("Click failed (menu): href=%s (btn='%s')", b.href, b.text));
+      }
+      landed = nav.await(timeout);
     }
-
-    String finalUrl = driver.getCurrentUrl();
-    boolean ok = changed && validateDestination(b.text, b.href, finalUrl, expectContains);
+    String finalUrl = landed.orElseGet(driver::getCurrentUrl);
+    boolean ok = landed.isPresent()
+        && validateDestination(b.text, b.href, finalUrl, expectContains);
     return ok ? Optional.empty()
         : Optional.of(String.format("Button '%s' href=%s → final=%s", b.text, b.href, finalUrl));
   }
 
   /**
-   * Verify many buttons (page-wide); returns all failure messages (empty = all OK).
+   * Verify many buttons (page-wide); returns all failure messages (empty = all OK). Destinations
+   * are resolved concurrently by {@link LinkCheckEngine}; only script-driven links are clicked.
+   * Set {@code links.check.mode=browser} (or {@code intercept}) to click every button instead.
    */
   public static List<String> verifyButtons(
       WebDriver driver, String startUrl, By locator, By readyBy,
       List<Btn> buttons, Map<String, String> expectContains, Duration timeout) {
+    if (!LinkCheckEngine.clicksAll()) {
+      return LinkCheckEngine.verify(buttons, expectContains, timeout,
+          b -> verifyButton(driver, startUrl, readyBy, locator, b, expectContains, timeout));
+    }
     List<String> failures = new ArrayList<>();
     for (Btn b : buttons) {
       verifyButton(driver, startUrl, readyBy, locator, b, expectContains, timeout).ifPresent(
@@ -257,6 +260,10 @@ public final class ButtonNavHelper {
   public static List<String> verifyButtonsInMenu(
       WebDriver driver, String startUrl, By readyBy, By menuBy,
       List<Btn> buttons, Map<String, String> expectContains, Duration timeout) {
+    if (!LinkCheckEngine.clicksAll()) {
+      return LinkCheckEngine.verify(buttons, expectContains, timeout,
+          b -> verifyButtonInMenu(driver, startUrl, readyBy, menuBy, b, expectContains, timeout));
+    }
     List<String> failures = new ArrayList<>();
     for (Btn b : buttons) {
       verifyButtonInMenu(driver, startUrl, readyBy, menuBy, b, expectContains, timeout).ifPresent(
@@ -365,12 +372,12 @@ public final class ButtonNavHelper {
   }
 
   /**
-   * Same as above, but scoped to a container (e.g., top-footer section) via ByChained.
+   * Same as above, but scoped to a container (e.g., top-footer section) via a compiled chain.
    */
   public static Optional<WebElement> findClickableInContainerOld(WebDriver driver, By container,
       List<By> candidates, Duration timeout) {
     for (By by : candidates) {
-      By scoped = new ByChained(container, by);
+      By scoped = LocatorCompiler.chain(container, by);
       Optional<WebElement> el = attempt(() -> wait(driver, timeout)
           .ignoring(NoSuchElementException.class)
           .ignoring(StaleElementReferenceException.class)
@@ -384,20 +391,13 @@ public final class ButtonNavHelper {
 
   public static Optional<WebElement> findClickableInContainer(
       WebDriver driver, By container, By candidate, Duration timeout) {
-    By scoped = new ByChained(container, candidate);
+    By scoped = LocatorCompiler.chain(container, candidate);
     return attempt(() -> wait(driver, timeout)
         .ignoring(NoSuchElementException.class)
         .ignoring(StaleElementReferenceException.class)
         .until(ExpectedConditions.elementToBeClickable(scoped)));
   }
 
-  private static void scrollCenter(WebDriver driver, WebElement el) {
-    try {
-      js(driver).executeScript("arguments[0].scrollIntoView({block:'center',inline:'center'})", el);
-    } catch (Exception ignored) {
-    }
-  }
-
   public static boolean clickCandidateSameTabWithRetry(
       WebDriver driver, By container, List<By> candidates, Duration timeout, int attempts) {
 
@@ -409,7 +409,7 @@ public final class ButtonNavHelper {
         }
         WebElement el = elOpt.get();
         try {
-          scrollCenter(driver, el);
+          Settle.forClick(driver, el);
           JavascriptExecutor exec = js(driver);
           exec.executeScript("arguments[0].removeAttribute('target');", el);
           try {
@@ -422,10 +422,8 @@ public final class ButtonNavHelper {
           // re-loop to re-resolve & retry
         }
       }
-      try {
-        Thread.sleep(120);
-      } catch (InterruptedException ignored) {
-      }
+      // let re-renders finish before re-resolving
+      Settle.quiet(driver);
     }
     return false;
   }
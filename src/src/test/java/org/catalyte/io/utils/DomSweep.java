@@ -0,0 +1,155 @@
+package org.catalyte.io.utils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import org.catalyte.io.utils.BaselineStore.Baseline;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+/**
+ * DOM regression sweep over many pages. Page sources are captured serially with one browser
+ * (pooled Chrome sessions use the EAGER load strategy, so a capture ends at DOMContentLoaded);
+ * parsing, fingerprinting and diffing against the stored {@link Baselines} then run on a ForkJoin
+ * pool, so browser time is the only serial part.
+ * <p>
+ * {@code dom.sweep.threads} sizes the pool (0 = one per core). With {@code baselines.record=true},
+ * pages without a stored baseline get one recorded from the capture.
+ */
+public final class DomSweep {
+
+  private static final int THREADS = ConfigUtil.getInt("dom.sweep.threads", 0);
+  private static final boolean RECORD = ConfigUtil.getBoolean("baselines.record", false);
+
+  private DomSweep() {
+  }
+
+  /**
+   * Load each page once (URLs differing only in query/fragment count as one) and keep its source.
+   * Pages that fail to load are returned with an error instead of a source.
+   */
+  public static List<Capture> capture(WebDriver driver, Collection<String> urls) {
+    Map<String, String> byName = new LinkedHashMap<>();
+    for (String url : urls) {
+      byName.putIfAbsent(Baselines.nameFor(url), url);
+    }
+    List<Capture> captures = new ArrayList<>(byName.size());
+    byName.forEach((name, url) -> {
+      long start = System.nanoTime();
+      try {
+        driver.get(url);
+        String html = driver.getPageSource();
+        captures.add(new Capture(name, url, html, null, System.nanoTime() - start));
+      } catch (WebDriverException e) {
+        LoggerUtil.warning(DomSweep.class, "Could not capture " + url + ": " + e.getMessage());
+        captures.add(new Capture(name, url, null, e.getClass().getSimpleName(),
+            System.nanoTime() - start));
+      }
+    });
+    return captures;
+  }
+
+  /**
+   * Parse and diff every capture in parallel; results keep the capture order.
+   */
+  public static List<PageResult> compare(List<Capture> captures) {
+    ForkJoinPool pool = THREADS > 0 ? new ForkJoinPool(THREADS) : new ForkJoinPool();
+    try {
+      List<ForkJoinTask<PageResult>> tasks = new ArrayList<>(captures.size());
+      for (Capture capture : captures) {
+        tasks.add(pool.submit(() -> compare(capture)));
+      }
+      return tasks.stream().map(ForkJoinTask::join).toList();
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  private static PageResult compare(Capture capture) {
+    if (capture.html == null) {
+      return new PageResult(capture, null, null, false, 0);
+    }
+    long start = System.nanoTime();
+    Document page = Jsoup.parse(capture.html, capture.url);
+    DomFingerprint fingerprint = DomFingerprint.of(page);
+    Optional<Baseline> baseline = Baselines.find(capture.name);
+    if (baseline.isEmpty()) {
+      if (RECORD) {
+        Baselines.record(capture.name, fingerprint);
+      }
+      return new PageResult(capture, null, null, RECORD, System.nanoTime() - start);
+    }
+    BaselineStore.Diff structure = BaselineStore.diff(baseline.get(), fingerprint);
+    DomComparator.Report keys = DomComparator.compare(
+        baseline.get().keys(DomFingerprint.KEY_TAGS), DomComparator.Index.of(page),
+        DomComparator.DEFAULT_KEY_SELECTOR);
+    return new PageResult(capture, structure, keys, false, System.nanoTime() - start);
+  }
+
+  /**
+   * Page source of one URL as loaded by the browser ({@code html} is null if loading failed).
+   */
+  public static final class Capture {
+
+    public final String name;
+    public final String url;
+    public final String html;
+    public final String error;
+    public final long nanos;
+
+    public Capture(String name, String url, String html, String error, long nanos) {
+      this.name = name;
+      this.url = url;
+      this.html = html;
+      this.error = error;
+      this.nanos = nanos;
+    }
+  }
+
+  /**
+   * Outcome for one page. {@code structure}/{@code keys} are null when there was no baseline to
+   * compare against or the capture failed.
+   */
+  public static final class PageResult {
+
+    public final Capture capture;
+    public final BaselineStore.Diff structure;
+    public final DomComparator.Report keys;
+    public final boolean recorded;
+    public final long compareNanos;
+
+    PageResult(Capture capture, BaselineStore.Diff structure, DomComparator.Report keys,
+        boolean recorded, long compareNanos) {
+      this.capture = capture;
+      this.structure = structure;
+      this.keys = keys;
+      this.recorded = recorded;
+      this.compareNanos = compareNanos;
+    }
+
+    public boolean compared() {
+      return structure != null;
+    }
+
+    @Override
+    public String toString() {
+      String outcome;
+      if (capture.error != null) {
+        outcome = "capture failed (" + capture.error + ")";
+      } else if (!compared()) {
+        outcome = recorded ? "baseline recorded" : "no baseline";
+      } else {
+        outcome = "structure: " + structure + "; keys: " + keys;
+      }
+      return String.format("%s [%s] capture=%.0fms compare=%.0fms %s", capture.name, capture.url,
+          capture.nanos / 1e6, compareNanos / 1e6, outcome);
+    }
+  }
+}
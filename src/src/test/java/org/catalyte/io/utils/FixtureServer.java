@@ -0,0 +1,234 @@
+package org.catalyte.io.utils;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Embedded HTTP server that replays recorded snapshots of the site (HTML, CSS, JS, images) from
+ * {@code fixtures.dir}, so page loads are local and deterministic.
+ * <p>
+ * {@code site.mode}: {@code live} (default, server off), {@code replay} (fixtures only, misses are
+ * 404) or {@code record} (serve fixtures, fetch and save misses from the live site). When running,
+ * {@code site.base.url} points at the server and {@link SiteUrls#resolve} maps test URLs onto it.
+ * Origin URLs inside served text content are rewritten to the local base as well.
+ */
+public final class FixtureServer {
+
+  private static final String HOST = URI.create(SiteUrls.ORIGIN).getHost();
+  private static final Map<String, String> CONTENT_TYPES = Map.ofEntries(
+      Map.entry("html", "text/html; charset=utf-8"),
+      Map.entry("css", "text/css; charset=utf-8"),
+      Map.entry("js", "application/javascript; charset=utf-8"),
+      Map.entry("json", "application/json; charset=utf-8"),
+      Map.entry("xml", "application/xml; charset=utf-8"),
+      Map.entry("svg", "image/svg+xml"),
+      Map.entry("png", "image/png"),
+      Map.entry("jpg", "image/jpeg"),
+      Map.entry("jpeg", "image/jpeg"),
+      Map.entry("gif", "image/gif"),
+      Map.entry("webp", "image/webp"),
+      Map.entry("ico", "image/x-icon"),
+      Map.entry("woff", "font/woff"),
+      Map.entry("woff2", "font/woff2"),
+      Map.entry("ttf", "font/ttf"));
+
+  private static HttpServer server;
+  private static Path root;
+  private static boolean record;
+  private static HttpClient client;
+  private static String previousBase; // site.base.url system property before start
+
+  private FixtureServer() {
+  }
+
+  /**
+   * Start the server once per JVM if {@code site.mode} asks for it; no-op otherwise.
+   */
+  public static synchronized void startIfEnabled() {
+    String mode = ConfigUtil.getProperty("site.mode", "live").toLowerCase(Locale.ROOT);
+    if (server != null || "live".equals(mode)) {
+      return;
+    }
+    if (!"replay".equals(mode) && !"record".equals(mode)) {
+      throw new IllegalArgumentException("Unknown site.mode: " + mode);
+    }
+    record = "record".equals(mode);
+    root = Paths.get(ConfigUtil.getProperty("fixtures.dir", "src/test/resources/fixtures"))
+        .toAbsolutePath().normalize();
+    if (record) {
+      client = HttpClient.newBuilder()
+          .followRedirects(HttpClient.Redirect.NORMAL)
+          .connectTimeout(Duration.ofSeconds(10))
+          .build();
+    }
+
+    try {
+      server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    } catch (IOException e) {
+      throw new IllegalStateException("Could not start fixture server", e);
+    }
+    AtomicInteger ids = new AtomicInteger();
+    server.setExecutor(Executors.newCachedThreadPool(r -> {
+      Thread t = new Thread(r, "fixture-server-" + ids.incrementAndGet());
+      t.setDaemon(true);
+      return t;
+    }));
+    server.createContext("/", FixtureServer::handle);
+    server.start();
+
+    String base = "http://127.0.0.1:" + server.getAddress().getPort();
+    previousBase = System.setProperty("site.base.url", base);
+    ConfigUtil.reload(); // the snapshot was taken before the port was known
+    Runtime.getRuntime().addShutdownHook(new Thread(FixtureServer::stop, "fixture-server-stop"));
+    LoggerUtil.info(FixtureServer.class,
+        "Fixture server (" + mode + ") at " + base + " serving " + root);
+  }
+
+  public static synchronized void stop() {
+    if (server != null) {
+      server.stop(0);
+      server = null;
+      if (previousBase == null) {
+        System.clearProperty("site.base.url");
+      } else {
+        System.setProperty("site.base.url", previousBase);
+      }
+      ConfigUtil.reload();
+    }
+  }
+
+  /* ================= Request handling ================= */
+
+  private static void handle(HttpExchange exchange) throws IOException {
+    try {
+      URI uri = exchange.getRequestURI();
+      Path file = fixturePath(uri);
+      if (file == null) {
+        respond(exchange, 400, "text/plain", "Bad path".getBytes(StandardCharsets.UTF_8));
+        return;
+      }
+      if (!Files.isRegularFile(file) && record) {
+        recordFixture(uri, file);
+      }
+      if (!Files.isRegularFile(file)) {
+        LoggerUtil.warning(FixtureServer.class, "No fixture for " + uri + " (" + file + ")");
+        respond(exchange, 404, "text/plain",
+            ("No fixture for " + uri).getBytes(StandardCharsets.UTF_8));
+        return;
+      }
+      String type = contentType(file);
+      byte[] body = Files.readAllBytes(file);
+      if (isText(type)) {
+        body = rewriteOrigin(new String(body, StandardCharsets.UTF_8))
+            .getBytes(StandardCharsets.UTF_8);
+      }
+      respond(exchange, 200, type, body);
+    } finally {
+      exchange.close();
+    }
+  }
+
+  private static void respond(HttpExchange exchange, int status, String type, byte[] body)
+      throws IOException {
+    exchange.getResponseHeaders().set("Content-Type", type);
+    exchange.getResponseHeaders().set("Cache-Control", "max-age=3600");
+    if ("HEAD".equalsIgnoreCase(exchange.getRequestMethod())) {
+      exchange.sendResponseHeaders(status, -1);
+      return;
+    }
+    exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(body);
+    }
+  }
+
+  // Fetch a missing fixture from the live origin and save it verbatim (2xx only)
+  private static void recordFixture(URI uri, Path file) {
+    URI live = URI.create(SiteUrls.ORIGIN + uri.getRawPath()
+        + (uri.getRawQuery() == null ? "" : "?" + uri.getRawQuery()));
+    try {
+      HttpResponse<byte[]> resp = client.send(HttpRequest.newBuilder(live)
+              .timeout(Duration.ofSeconds(30))
+              .header("User-Agent", "Mozilla/5.0 (X11; Linux x86_64) fixture-recorder")
+              .GET().build(),
+          HttpResponse.BodyHandlers.ofByteArray());
+      if (resp.statusCode() / 100 != 2) {
+        LoggerUtil.warning(FixtureServer.class,
+            "Not recording " + live + " (HTTP " + resp.statusCode() + ")");
+        return;
+      }
+      Files.createDirectories(file.getParent());
+      Files.write(file, resp.body());
+      LoggerUtil.info(FixtureServer.class, "Recorded " + live + " → " + root.relativize(file));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (IOException e) {
+      LoggerUtil.warning(FixtureServer.class, "Recording " + live + " failed: " + e);
+    }
+  }
+
+  /* ================= Helpers ================= */
+
+  /**
+   * fixtures/<host>/<path>; directory-style paths map to index.html, a query string becomes a
+   * hash suffix before the extension. Returns null for paths escaping the fixture root.
+   */
+  static Path fixturePath(URI uri) {
+    String path = uri.getPath() == null || uri.getPath().isEmpty() ? "/" : uri.getPath();
+    String last = path.substring(path.lastIndexOf('/') + 1);
+    if (last.isEmpty()) {
+      path += "index.html";
+    } else if (last.indexOf('.') < 0) {
+      path += "/index.html";
+    }
+    if (uri.getRawQuery() != null) {
+      int dot = path.lastIndexOf('.');
+      path = path.substring(0, dot) + "__q" + Integer.toHexString(uri.getRawQuery().hashCode())
+          + path.substring(dot);
+    }
+    Path hostRoot = root.resolve(HOST);
+    Path file = hostRoot.resolve(path.substring(1)).normalize();
+    return file.startsWith(hostRoot) ? file : null;
+  }
+
+  private static String contentType(Path file) {
+    String name = file.getFileName().toString();
+    String ext = name.substring(name.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
+    return CONTENT_TYPES.getOrDefault(ext, "application/octet-stream");
+  }
+
+  private static boolean isText(String type) {
+    return type.startsWith("text/") || type.contains("javascript") || type.contains("json")
+        || type.contains("xml");
+  }
+
+  // Keep navigation and asset requests on the local server
+  private static String rewriteOrigin(String content) {
+    String base = SiteUrls.base();
+    String escapedBase = base.replace("/", "\\/");
+    for (String scheme : new String[]{"https://", "http://"}) {
+      for (String host : new String[]{"www.catalyte.io", "catalyte.io"}) {
+        content = content.replace(scheme + host, base)
+            .replace((scheme + host).replace("/", "\\/"), escapedBase);
+      }
+    }
+    return content;
+  }
+}
@@ -0,0 +1,44 @@
+package org.catalyte.io.utils;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Offline check that a started {@link FixtureServer} is where {@link SiteUrls} sends tests.
+ */
+public class FixtureServerTests {
+
+  @AfterMethod(alwaysRun = true)
+  public void restore() {
+    FixtureServer.stop();
+    System.clearProperty("site.mode");
+    ConfigUtil.reload();
+  }
+
+  @Test
+  public void siteUrlsFollowTheServer() throws Exception {
+    System.setProperty("site.mode", "replay");
+    ConfigUtil.reload();
+    FixtureServer.startIfEnabled();
+
+    String base = SiteUrls.base();
+    Assert.assertTrue(base.startsWith("http://127.0.0.1:"), base);
+    Assert.assertFalse(SiteUrls.isLive());
+    Assert.assertEquals(SiteUrls.resolve(SiteUrls.ORIGIN + "/hire-apprentices/"),
+        base + "/hire-apprentices/");
+
+    // Replay answers misses itself instead of reaching the live site
+    HttpResponse<Void> resp = HttpClient.newHttpClient().send(
+        HttpRequest.newBuilder(URI.create(base + "/no-such-page/")).GET().build(),
+        HttpResponse.BodyHandlers.discarding());
+    Assert.assertEquals(resp.statusCode(), 404);
+
+    FixtureServer.stop();
+    Assert.assertEquals(SiteUrls.base(), SiteUrls.ORIGIN);
+  }
+}
@@ -0,0 +1,241 @@
+package org.catalyte.io.utils;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.catalyte.io.utils.ButtonNavHelper.Btn;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+/**
+ * Batch link verification. Collects every link under a container with one script, then checks
+ * the destinations concurrently over HTTP (HEAD, falling back to GET) on a bounded executor. Only
+ * script-driven links (javascript:, bare '#', onclick handlers) need a real browser click.
+ * <p>
+ * Concurrency comes from {@code links.check.threads} (default 8). With
+ * {@code links.check.mode=browser} or {@code intercept} nothing is fetched here and every link is
+ * left for a click (see {@link NavigationCapture}).
+ */
+public final class LinkCheckEngine {
+
+  private static final int THREADS = ConfigUtil.getInt("links.check.threads", 8);
+  private static final boolean CLICK_ALL = !"http".equalsIgnoreCase(
+      ConfigUtil.getProperty("links.check.mode", "http"));
+  private static final String USER_AGENT =
+      "Mozilla/5.0 (X11; Linux x86_64) AppleWebKit/537.36 (KHTML, like Gecko) link-check";
+
+  /**
+   * Collect text + resolved href of every anchor under the given roots (or the whole document),
+   * flagging links that only work through script.
+   */
+  private static final String COLLECT_LINKS = """
+      var roots = (arguments[0] && arguments[0].length) ? arguments[0] : [document];
+      var out = [];
+      roots.forEach(function (root) {
+        var anchors = root.matches && root.matches('a') ? [root] : [];
+        anchors = anchors.concat(Array.prototype.slice.call(root.querySelectorAll('a')));
+        anchors.forEach(function (a) {
+          var raw = a.getAttribute('href');
+          var scripted = raw == null || raw.trim() === '' || raw.trim() === '#'
+              || /^javascript:/i.test(raw.trim()) || a.hasAttribute('onclick');
+          out.push({text: (a.innerText || '').trim(), href: a.href || raw || '',
+              scripted: scripted});
+        });
+      });
+      return out;
+      """;
+
+  private static final HttpClient client = HttpClient.newBuilder()
+      .followRedirects(HttpClient.Redirect.NORMAL)
+      .connectTimeout(Duration.ofSeconds(10))
+      .build();
+
+  private static final AtomicInteger threadIds = new AtomicInteger();
+  private static final ExecutorService executor = Executors.newFixedThreadPool(THREADS, r -> {
+    Thread t = new Thread(r, "link-check-" + threadIds.incrementAndGet());
+    t.setDaemon(true);
+    return t;
+  });
+
+  private LinkCheckEngine() {
+  }
+
+  /**
+   * All links under a container (de-duped by href) from a single script execution.
+   */
+  public static List<Link> collect(WebDriver driver, By containerBy) {
+    List<WebElement> roots = containerBy == null ? List.of() : driver.findElements(containerBy);
+    if (containerBy != null && roots.isEmpty()) {
+      return List.of();
+    }
+    Object raw = ButtonNavHelper.js(driver).executeScript(COLLECT_LINKS, roots);
+
+    Map<String, Link> byHref = new LinkedHashMap<>();
+    if (raw instanceof List<?> list) {
+      for (Object o : list) {
+        if (o instanceof Map<?, ?> m) {
+          String href = String.valueOf(m.get("href"));
+          if (!href.isBlank()) {
+            byHref.putIfAbsent(href, new Link(String.valueOf(m.get("text")), href,
+                Boolean.TRUE.equals(m.get("scripted"))));
+          }
+        }
+      }
+    }
+    return new ArrayList<>(byHref.values());
+  }
+
+  /**
+   * Resolve the destination of every link concurrently. Script-driven links, and every link when
+   * the mode clicks in the browser, are returned unresolved (see {@link Result#scripted()}).
+   * Results keep the order of {@code links}.
+   */
+  public static List<Result> check(List<Link> links, Duration timeout) {
+    List<CompletableFuture<Result>> futures = new ArrayList<>();
+    for (Link link : links) {
+      if (CLICK_ALL || link.scripted || !isHttp(link.href)) {
+        futures.add(CompletableFuture.completedFuture(new Result(link, -1, null, null)));
+      } else {
+        futures.add(CompletableFuture.supplyAsync(() -> fetch(link, timeout), executor));
+      }
+    }
+    return futures.stream().map(CompletableFuture::join).toList();
+  }
+
+  /**
+   * Verify buttons against expected destinations. HTTP-checkable links are resolved in parallel;
+   * the rest go through {@code browserFallback} (a real click) one by one. Returns all failure
+   * messages (empty = all OK), in the order of {@code buttons}.
+   */
+  public static List<String> verify(List<Btn> buttons, Map<String, String> expectContains,
+      Duration timeout, Function<Btn, Optional<String>> browserFallback) {
+    List<Link> links = buttons.stream()
+        .map(b -> new Link(b.text, b.href, isScripted(b.href)))
+        .toList();
+
+    List<String> failures = new ArrayList<>();
+    for (Result r : check(links, timeout)) {
+      Btn b = new Btn(r.link.text, r.link.href);
+      if (r.scripted()) {
+        browserFallback.apply(b).ifPresent(failures::add);
+        continue;
+      }
+      boolean ok = r.status > 0 && r.status < 400
+          && ButtonNavHelper.validateDestination(b.text, b.href, r.finalUrl, expectContains);
+      if (!ok) {
+        failures.add(r.error != null
+            ? "Button '%s' href=%s → error=%s".formatted(b.text, b.href, r.error)
+            : "Button '%s' href=%s → final=%s (HTTP %d)".formatted(b.text, b.href, r.finalUrl,
+                r.status));
+      }
+    }
+    return failures;
+  }
+
+  /**
+   * True when {@code links.check.mode} sends every link through a browser click.
+   */
+  public static boolean clicksAll() {
+    return CLICK_ALL;
+  }
+
+  /* ================= Helpers ================= */
+
+  private static Result fetch(Link link, Duration timeout) {
+    try {
+      URI uri = URI.create(link.href);
+      HttpResponse<Void> resp = client.send(request(uri, "HEAD", timeout),
+          HttpResponse.BodyHandlers.discarding());
+      // Some servers/CDNs reject HEAD; retry those with a GET
+      if (resp.statusCode() == 405 || resp.statusCode() == 403 || resp.statusCode() == 501) {
+        resp = client.send(request(uri, "GET", timeout), HttpResponse.BodyHandlers.discarding());
+      }
+      return new Result(link, resp.statusCode(), withFragment(resp.uri(), uri), null);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return new Result(link, -1, null, "interrupted");
+    } catch (Exception e) {
+      return new Result(link, -1, null, e.getClass().getSimpleName() + ": " + e.getMessage());
+    }
+  }
+
+  private static HttpRequest request(URI uri, String method, Duration timeout) {
+    return HttpRequest.newBuilder(uri)
+        .timeout(timeout)
+        .header("User-Agent", USER_AGENT)
+        .method(method, HttpRequest.BodyPublishers.noBody())
+        .build();
+  }
+
+  // HTTP never sends the fragment; carry it over so hash links validate like a browser would
+  private static String withFragment(URI finalUri, URI requested) {
+    String url = finalUri.toString();
+    return requested.getRawFragment() == null || finalUri.getRawFragment() != null
+        ? url
+        : url + "#" + requested.getRawFragment();
+  }
+
+  private static boolean isHttp(String href) {
+    return href != null && (href.startsWith("http://") || href.startsWith("https://"));
+  }
+
+  private static boolean isScripted(String href) {
+    if (href == null || href.isBlank()) {
+      return true;
+    }
+    String h = href.trim();
+    return h.endsWith("#") || h.toLowerCase().startsWith("javascript:");
+  }
+
+  public static final class Link {
+
+    public final String text, href;
+    public final boolean scripted;
+
+    public Link(String text, String href, boolean scripted) {
+      this.text = text;
+      this.href = href;
+      this.scripted = scripted;
+    }
+
+    @Override
+    public String toString() {
+      return "Link{text='" + text + "', href='" + href + "', scripted=" + scripted + "}";
+    }
+  }
+
+  public static final class Result {
+
+    public final Link link;
+    public final int status;        // -1 when not fetched
+    public final String finalUrl;   // null when not fetched
+    public final String error;      // null unless the request failed
+
+    Result(Link link, int status, String finalUrl, String error) {
+      this.link = link;
+      this.status = status;
+      this.finalUrl = finalUrl;
+      this.error = error;
+    }
+
+    /**
+     * True when the link was left for a browser click (script-driven or non-HTTP).
+     */
+    public boolean scripted() {
+      return status < 0 && error == null;
+    }
+  }
+}
@@ -0,0 +1,321 @@
+package org.catalyte.io.utils;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonInput;
+
+/**
+ * Where a click navigates to. Arm it before the click and await it afterwards:
+ * <pre>
+ * try (NavigationCapture nav = NavigationCapture.arm(driver, before, href)) {
+ *   link.click();
+ *   Optional&lt;String&gt; url = nav.await(timeout);
+ * }
+ * </pre>
+ * With {@code links.check.mode=intercept} on a Chromium session, DevTools Fetch pauses main-frame
+ * document responses while armed. Redirects are let through, so the browser follows them and the
+ * next hop pauses too. The first other response is recorded and answered locally with
+ * 204 No Content, which keeps the current page. A check costs one click and the destination's
+ * response headers; its body, scripts and assets never load, and the start page stays usable for
+ * the next click.
+ * <p>
+ * In other modes, on other browsers and for same-document (hash) links the navigation really
+ * happens and its commit is awaited through {@link NavigationObserver}.
+ */
+public final class NavigationCapture implements AutoCloseable {
+
+  private static final boolean INTERCEPT =
+      "intercept".equalsIgnoreCase(ConfigUtil.getProperty("links.check.mode", "http"));
+  private static final Function<JsonInput, Map<String, Object>> AS_MAP =
+      input -> input.read(Json.MAP_TYPE);
+
+  // Interceptors hold no reference to their driver, so entries go away with the session
+  static final Map<WebDriver, Optional<Interceptor>> interceptors =
+      Collections.synchronizedMap(new WeakHashMap<>());
+
+  private final WebDriver driver;
+  private final String before;
+  private final String expectedHref;
+  private final Interceptor interceptor; // null: observe the real navigation
+  private final long mark; // observer commits before the click
+  private final CompletableFuture<String> destination = new CompletableFuture<>();
+
+  NavigationCapture(WebDriver driver, String before, String expectedHref,
+      Interceptor interceptor) {
+    this.driver = driver;
+    this.before = before;
+    this.expectedHref = expectedHref;
+    this.interceptor = interceptor;
+    this.mark = interceptor == null ? NavigationObserver.of(driver).mark() : 0;
+  }
+
+  /**
+   * True when link checks on this session are answered locally instead of loading destinations.
+   */
+  public static boolean intercepting(WebDriver driver) {
+    return INTERCEPT && interceptor(driver) != null;
+  }
+
+  /**
+   * True when intercepted clicks left the browser on {@code url}, so it need not be reopened.
+   */
+  public static boolean stayedOn(WebDriver driver, String url) {
+    if (!intercepting(driver)) {
+      return false;
+    }
+    try {
+      return trimUrl(driver.getCurrentUrl()).equals(trimUrl(url));
+    } catch (RuntimeException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Start capturing the navigation away from {@code before} (the URL before the click) towards
+   * {@code expectedHref} (may be null).
+   */
+  public static NavigationCapture arm(WebDriver driver, String before, String expectedHref) {
+    Interceptor interceptor = INTERCEPT && !sameDocument(before, expectedHref)
+        ? interceptor(driver) : null;
+    NavigationCapture capture = new NavigationCapture(driver, before, expectedHref, interceptor);
+    if (interceptor != null && !interceptor.arm(capture)) {
+      return new NavigationCapture(driver, before, expectedHref, null);
+    }
+    return capture;
+  }
+
+  /**
+   * Destination URL after redirects (with the href's fragment), or empty if the click did not
+   * navigate within the timeout.
+   */
+  public Optional<String> await(Duration timeout) {
+    if (interceptor == null) {
+      return NavigationObserver.awaitNavigation(driver, before, expectedHref, mark, timeout);
+    }
+    try {
+      return Optional.of(withFragment(destination.get(timeout.toMillis(), TimeUnit.MILLISECONDS)));
+    } catch (TimeoutException e) {
+      return Optional.empty();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return Optional.empty();
+    } catch (ExecutionException e) {
+      LoggerUtil.warning(NavigationCapture.class,
+          "Navigation to " + expectedHref + " failed: " + e.getCause().getMessage());
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Stop intercepting on this session when its lease ends: Fetch is disabled and the session's
+   * DevTools listeners are removed (the navigation observer re-attaches on the next lease).
+   */
+  public static void release(WebDriver driver) {
+    Optional<Interceptor> interceptor = interceptors.remove(driver);
+    if (interceptor != null && interceptor.isPresent()) {
+      interceptor.get().detach();
+      NavigationObserver.forget(driver);
+    }
+  }
+
+  @Override
+  public void close() {
+    if (interceptor != null) {
+      interceptor.disarm(this);
+    }
+  }
+
+  private static Interceptor interceptor(WebDriver driver) {
+    return interceptors.computeIfAbsent(driver, Interceptor::attach).orElse(null);
+  }
+
+  // Hash links on the current document never request a document
+  private static boolean sameDocument(String before, String href) {
+    return before != null && href != null && href.contains("#")
+        && stripFragment(href).equals(stripFragment(before));
+  }
+
+  private static String stripFragment(String url) {
+    int hash = url.indexOf('#');
+    return hash < 0 ? url : url.substring(0, hash);
+  }
+
+  private static String trimUrl(String url) {
+    String u = stripFragment(url);
+    return u.endsWith("/") ? u.substring(0, u.length() - 1) : u;
+  }
+
+  // Requests never carry the fragment; keep the href's so hash links validate as in a browser
+  private String withFragment(String url) {
+    int hash = expectedHref == null ? -1 : expectedHref.indexOf('#');
+    return hash < 0 || url.contains("#") ? url : url + expectedHref.substring(hash);
+  }
+
+  /**
+   * DevTools calls made by an {@link Interceptor}; tests drive the handler through a fake.
+   */
+  interface Channel {
+
+    /**
+     * Send a command; throws if the session rejects it.
+     */
+    void send(String method, Map<String, Object> params);
+
+    /**
+     * Remove every event listener of the session.
+     */
+    void clearListeners();
+  }
+
+  private record DevToolsChannel(DevTools devTools) implements Channel {
+
+    @Override
+    public void send(String method, Map<String, Object> params) {
+      devTools.send(new Command<>(method, params));
+    }
+
+    @Override
+    public void clearListeners() {
+      devTools.clearListeners();
+    }
+  }
+
+  /**
+   * Fetch handler of one session. Interception is only enabled while a capture is armed.
+   */
+  static final class Interceptor {
+
+    private static final List<Map<String, Object>> PATTERNS = List.of(Map.of(
+        "urlPattern", "*", "resourceType", "Document", "requestStage", "Response"));
+
+    private final Channel channel;
+    private final String mainFrameId;
+    private volatile NavigationCapture active;
+    private volatile boolean detached;
+
+    Interceptor(Channel channel, String mainFrameId) {
+      this.channel = channel;
+      this.mainFrameId = mainFrameId;
+    }
+
+    static Optional<Interceptor> attach(WebDriver driver) {
+      if (!(driver instanceof HasDevTools hasDevTools)) {
+        return Optional.empty();
+      }
+      try {
+        DevTools devTools = hasDevTools.getDevTools();
+        devTools.createSessionIfThereIsNotOne();
+        Map<String, Object> tree =
+            devTools.send(new Command<>("Page.getFrameTree", Map.of(), AS_MAP));
+        Object frameId = asMap(asMap(tree.get("frameTree")).get("frame")).get("id");
+        Interceptor interceptor =
+            new Interceptor(new DevToolsChannel(devTools), String.valueOf(frameId));
+        Consumer<Map<String, Object>> onPaused = interceptor::paused;
+        devTools.addListener(new Event<>("Fetch.requestPaused", AS_MAP), onPaused);
+        return Optional.of(interceptor);
+      } catch (RuntimeException e) {
+        LoggerUtil.fine(NavigationCapture.class,
+            () -> "Request interception unavailable: " + e.getMessage());
+        return Optional.empty();
+      }
+    }
+
+    boolean arm(NavigationCapture capture) {
+      if (detached) {
+        return false;
+      }
+      active = capture;
+      try {
+        channel.send("Fetch.enable", Map.of("patterns", PATTERNS));
+        return true;
+      } catch (RuntimeException e) {
+        active = null;
+        return false;
+      }
+    }
+
+    void disarm(NavigationCapture capture) {
+      if (active == capture) {
+        active = null;
+      }
+      send("Fetch.disable", Map.of());
+    }
+
+    // Lease over: nothing stays paused and the listener goes with the session's others
+    void detach() {
+      detached = true;
+      active = null;
+      send("Fetch.disable", Map.of());
+      try {
+        channel.clearListeners();
+      } catch (RuntimeException e) {
+        LoggerUtil.fine(NavigationCapture.class, () -> "Clearing listeners failed: " + e);
+      }
+    }
+
+    // DevTools thread
+    void paused(Map<String, Object> params) {
+      String requestId = String.valueOf(params.get("requestId"));
+      NavigationCapture capture = active;
+      if (capture == null || !"Document".equals(params.get("resourceType"))
+          || !mainFrameId.equals(params.get("frameId"))) {
+        send("Fetch.continueRequest", Map.of("requestId", requestId));
+        return;
+      }
+      String url = String.valueOf(asMap(params.get("request")).get("url"));
+      Object error = params.get("responseErrorReason");
+      if (error != null) {
+        capture.destination.completeExceptionally(new IllegalStateException(url + ": " + error));
+        send("Fetch.failRequest", Map.of("requestId", requestId, "errorReason", "Aborted"));
+        return;
+      }
+      int status = params.get("responseStatusCode") instanceof Number n ? n.intValue() : 0;
+      if (status >= 300 && status < 400 && hasLocation(params.get("responseHeaders"))) {
+        send("Fetch.continueRequest", Map.of("requestId", requestId)); // next hop pauses again
+        return;
+      }
+      capture.destination.complete(url);
+      send("Fetch.fulfillRequest", Map.of("requestId", requestId, "responseCode", 204,
+          "responseHeaders", List.of()));
+    }
+
+    private void send(String method, Map<String, Object> params) {
+      try {
+        channel.send(method, params);
+      } catch (RuntimeException e) {
+        // Request already gone (tab navigated or closed); nothing left to release
+        LoggerUtil.fine(NavigationCapture.class, () -> method + " failed: " + e.getMessage());
+      }
+    }
+
+    private static boolean hasLocation(Object headers) {
+      if (!(headers instanceof List<?> list)) {
+        return false;
+      }
+      return list.stream().anyMatch(h -> "location".equals(
+          String.valueOf(asMap(h).get("name")).toLowerCase(Locale.ROOT)));
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Map<String, Object> asMap(Object value) {
+    return value instanceof Map ? (Map<String, Object>) value : Map.of();
+  }
+}
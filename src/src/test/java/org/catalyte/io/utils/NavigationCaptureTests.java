@@ -0,0 +1,145 @@
+package org.catalyte.io.utils;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Offline checks for the Fetch handler behind intercepted link checks, driven through a fake
+ * DevTools channel with {@code Fetch.requestPaused} payloads.
+ */
+public class NavigationCaptureTests {
+
+  private static final Duration SHORT = Duration.ofMillis(50);
+  private static final String START = "https://example.test/";
+
+  /**
+   * Records commands instead of sending them.
+   */
+  private static final class FakeChannel implements NavigationCapture.Channel {
+
+    final List<String> sent = new ArrayList<>();
+    final List<Map<String, Object>> params = new ArrayList<>();
+    boolean listenersCleared;
+
+    @Override
+    public void send(String method, Map<String, Object> p) {
+      sent.add(method);
+      params.add(p);
+    }
+
+    @Override
+    public void clearListeners() {
+      listenersCleared = true;
+    }
+
+    String last() {
+      return sent.get(sent.size() - 1);
+    }
+  }
+
+  private static Map<String, Object> paused(String id, String frameId, String type, String url,
+      Integer status, List<Map<String, Object>> headers) {
+    Map<String, Object> event = new HashMap<>(Map.of("requestId", id,
+        "frameId", frameId, "resourceType", type, "request", Map.of("url", url)));
+    if (status != null) {
+      event.put("responseStatusCode", status);
+      event.put("responseHeaders", headers);
+    }
+    return event;
+  }
+
+  private static NavigationCapture armed(NavigationCapture.Interceptor interceptor,
+      String href) {
+    NavigationCapture capture = new NavigationCapture(null, START, href, interceptor);
+    Assert.assertTrue(interceptor.arm(capture));
+    return capture;
+  }
+
+  @Test
+  public void finalDocumentIsAnsweredLocallyAfterRedirects() {
+    FakeChannel channel = new FakeChannel();
+    NavigationCapture.Interceptor interceptor = new NavigationCapture.Interceptor(channel, "main");
+    NavigationCapture capture = armed(interceptor, "https://example.test/old#team");
+    Assert.assertEquals(channel.last(), "Fetch.enable");
+
+    interceptor.paused(paused("1", "main", "Document", "https://example.test/old", 301,
+        List.of(Map.of("name", "Location", "value", "/new"))));
+    Assert.assertEquals(channel.last(), "Fetch.continueRequest");
+    Assert.assertEquals(capture.await(SHORT), Optional.empty());
+
+    interceptor.paused(paused("2", "main", "Document", "https://example.test/new", 200,
+        List.of()));
+    Assert.assertEquals(channel.last(), "Fetch.fulfillRequest");
+    Assert.assertEquals(channel.params.get(channel.params.size() - 1).get("responseCode"), 204);
+    // The request never carries the fragment; the href's is kept
+    Assert.assertEquals(capture.await(SHORT), Optional.of("https://example.test/new#team"));
+
+    capture.close();
+    Assert.assertEquals(channel.last(), "Fetch.disable");
+  }
+
+  @Test
+  public void otherRequestsAndFramesPassThrough() {
+    FakeChannel channel = new FakeChannel();
+    NavigationCapture.Interceptor interceptor = new NavigationCapture.Interceptor(channel, "main");
+    // Not armed: every paused request continues
+    interceptor.paused(paused("0", "main", "Document", START + "jobs", 200, List.of()));
+    Assert.assertEquals(channel.last(), "Fetch.continueRequest");
+
+    NavigationCapture capture = armed(interceptor, START + "jobs");
+    interceptor.paused(paused("1", "main", "Script", START + "app.js", 200, List.of()));
+    Assert.assertEquals(channel.last(), "Fetch.continueRequest");
+    interceptor.paused(paused("2", "ad", "Document", "https://ads.example.test/", 200,
+        List.of()));
+    Assert.assertEquals(channel.last(), "Fetch.continueRequest");
+    // A 3xx without Location is a final answer, not a redirect
+    interceptor.paused(paused("3", "main", "Document", START + "jobs", 304, List.of()));
+    Assert.assertEquals(channel.last(), "Fetch.fulfillRequest");
+    Assert.assertEquals(capture.await(SHORT), Optional.of(START + "jobs"));
+  }
+
+  @Test
+  public void networkErrorsFailTheCheck() {
+    FakeChannel channel = new FakeChannel();
+    NavigationCapture.Interceptor interceptor = new NavigationCapture.Interceptor(channel, "main");
+    NavigationCapture capture = armed(interceptor, "https://gone.example.test/");
+    Map<String, Object> event =
+        paused("1", "main", "Document", "https://gone.example.test/", null, null);
+    event.put("responseErrorReason", "NameNotResolved");
+
+    interceptor.paused(event);
+    Assert.assertEquals(channel.last(), "Fetch.failRequest");
+    Assert.assertEquals(capture.await(SHORT), Optional.empty());
+  }
+
+  @Test
+  public void releaseDisablesFetchAndRemovesTheListener() {
+    FakeChannel channel = new FakeChannel();
+    NavigationCapture.Interceptor interceptor = new NavigationCapture.Interceptor(channel, "main");
+    WebDriver driver = (WebDriver) Proxy.newProxyInstance(getClass().getClassLoader(),
+        new Class<?>[]{WebDriver.class}, (p, m, a) -> switch (m.getName()) {
+          case "hashCode" -> System.identityHashCode(p);
+          case "equals" -> p == a[0];
+          default -> null;
+        });
+    NavigationCapture.interceptors.put(driver, Optional.of(interceptor));
+    armed(interceptor, START + "jobs");
+
+    NavigationCapture.release(driver);
+    Assert.assertFalse(NavigationCapture.interceptors.containsKey(driver));
+    Assert.assertEquals(channel.last(), "Fetch.disable");
+    Assert.assertTrue(channel.listenersCleared);
+    // A detached interceptor neither arms again nor holds requests
+    Assert.assertFalse(interceptor.arm(new NavigationCapture(null, START, null, interceptor)));
+    interceptor.paused(paused("1", "main", "Document", START + "jobs", 200, List.of()));
+    Assert.assertEquals(channel.last(), "Fetch.continueRequest");
+  }
+}
@@ -0,0 +1,94 @@
+package org.catalyte.io.utils;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Offline checks for the commit bookkeeping behind {@link NavigationObserver}, fed with the
+ * DevTools event payloads it listens to (same package: the bookkeeping is package-private).
+ */
+public class NavigationObserverTests {
+
+  private static final Duration SHORT = Duration.ofMillis(50);
+
+  private static Map<String, Object> frame(String id, String parentId, String url) {
+    return parentId == null
+        ? Map.of("frame", Map.of("id", id, "url", url))
+        : Map.of("frame", Map.of("id", id, "parentId", parentId, "url", url));
+  }
+
+  @Test
+  public void commitsBeforeTheMarkAreNotTheDestination() {
+    NavigationObserver.Commits commits = new NavigationObserver.Commits(null);
+    commits.frameNavigated(frame("main", null, "https://example.test/"));
+    commits.frameNavigated(frame("main", null, "https://example.test/previous"));
+    long mark = commits.mark();
+
+    // The last commit differs from 'before' but happened before the click
+    Assert.assertEquals(commits.await("https://example.test/", false, mark, SHORT),
+        Optional.empty());
+
+    commits.frameNavigated(frame("main", null, "https://example.test/next"));
+    Assert.assertEquals(commits.await("https://example.test/", false, mark, SHORT),
+        Optional.of("https://example.test/next"));
+  }
+
+  @Test
+  public void waitsForACommitFromAnotherThread() throws Exception {
+    NavigationObserver.Commits commits = new NavigationObserver.Commits(null);
+    commits.frameNavigated(frame("main", null, "https://example.test/"));
+    long mark = commits.mark();
+    Thread devTools = new Thread(() -> {
+      try {
+        Thread.sleep(100);
+      } catch (InterruptedException e) {
+        return;
+      }
+      commits.frameNavigated(frame("main", null, "https://example.test/jobs"));
+    });
+    devTools.start();
+
+    Assert.assertEquals(
+        commits.await("https://example.test/", false, mark, Duration.ofSeconds(10)),
+        Optional.of("https://example.test/jobs"));
+    devTools.join();
+  }
+
+  @Test
+  public void iframesAndOtherFramesDoNotCount() {
+    NavigationEpoch epoch = new NavigationEpoch();
+    NavigationObserver.Commits commits = new NavigationObserver.Commits(epoch);
+    commits.frameNavigated(frame("main", null, "https://example.test/"));
+    long mark = commits.mark();
+    long epochBefore = epoch.current();
+
+    commits.frameNavigated(frame("ad", "main", "https://ads.example.test/"));
+    commits.navigatedWithinDocument(Map.of("frameId", "ad", "url", "https://ads.example.test/#x"));
+    Assert.assertEquals(commits.await("https://example.test/", false, mark, SHORT),
+        Optional.empty());
+    Assert.assertEquals(epoch.current(), epochBefore);
+
+    commits.navigatedWithinDocument(Map.of("frameId", "main", "url", "https://example.test/#faq"));
+    Assert.assertEquals(commits.await("https://example.test/", true, mark, SHORT),
+        Optional.of("https://example.test/#faq"));
+    Assert.assertEquals(epoch.current(), epochBefore + 1);
+  }
+
+  @Test
+  public void hashLinksWaitForAUrlWithAFragment() {
+    NavigationObserver.Commits commits = new NavigationObserver.Commits(null);
+    long mark = commits.mark();
+    commits.frameNavigated(frame("main", null, "https://example.test/faq"));
+
+    Assert.assertEquals(commits.await("https://example.test/", true, mark, SHORT),
+        Optional.empty());
+
+    commits.frameNavigated(Map.of("frame",
+        Map.of("id", "main", "url", "https://example.test/faq", "urlFragment", "#q1")));
+    Assert.assertEquals(commits.await("https://example.test/", true, mark, SHORT),
+        Optional.of("https://example.test/faq#q1"));
+  }
+}
@@ -0,0 +1,56 @@
+package org.catalyte.io.utils;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import org.testng.IAlterSuiteListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlSuite.ParallelMode;
+
+/**
+ * Switches every suite to the parallel mode configured in test.properties.
+ * <p>
+ * {@code parallel.mode} is one of methods/classes/tests/none and {@code parallel.threads} the
+ * worker count (0 = one per core). Both can be overridden with -D on the command line. The driver
+ * pool is sized to the thread count unless {@code -Ddriver.pool.size} is given explicitly.
+ */
+public class ParallelSuiteListener implements IAlterSuiteListener, ISuiteListener {
+
+  @Override
+  public void alter(List<XmlSuite> suites) {
+    ParallelMode mode = ParallelMode.getValidParallel(
+        ConfigUtil.getProperty("parallel.mode", "none"));
+    int threads = ConfigUtil.getInt("parallel.threads", 0);
+    if (threads <= 0) {
+      threads = Runtime.getRuntime().availableProcessors();
+    }
+
+    for (XmlSuite suite : suites) {
+      suite.setParallel(mode);
+      suite.setThreadCount(threads);
+      suite.setDataProviderThreadCount(threads);
+    }
+    LoggerUtil.info(ParallelSuiteListener.class,
+        "Parallel mode '" + mode + "' with " + threads + " thread(s)");
+  }
+
+  @Override
+  public void onFinish(ISuite suite) {
+    // Worker threads keep their pooled session until the suite is done
+    DriverFactory.quitAll();
+    ScreenshotPipeline.drain();
+    LoggerUtil.info(ParallelSuiteListener.class, ScreenshotPipeline.summary());
+    LoggerUtil.info(ParallelSuiteListener.class, Settle.summary());
+    LoggerUtil.info(ParallelSuiteListener.class, ElementCache.summary());
+    LoggerUtil.info(ParallelSuiteListener.class, Scoreboard.summary());
+    if (Timings.ENABLED) {
+      Path file =
+          Paths.get(ConfigUtil.getProperty("metrics.dir", "target/metrics"), "timings.json");
+      Timings.writeSummary(file);
+      LoggerUtil.info(ParallelSuiteListener.class, Timings.summary() + "\n  -> " + file);
+    }
+    LoggerUtil.flush();
+  }
+}
@@ -0,0 +1,181 @@
+package org.catalyte.io.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Threshold-driven scoring for lenient checks. A test opens a {@link Tally} for a category with
+ * the number of checks it is about to run and records each outcome as it happens. Once the
+ * failures exceed {@code <category>.threshold} of the planned checks, the threshold is missed
+ * whatever the remaining checks return, so the tally fails the test right there instead of
+ * running the remaining navigations. Outcomes also add up per category for the suite summary.
+ * <p>
+ * Thresholds apply per test, not to the run: with methods running in parallel a run-wide limit
+ * would fail whichever test happened to cross it rather than the one that found the problem, and
+ * the verdict would depend on scheduling. The run-wide ratios are reported in {@link #summary()}.
+ * <p>
+ * Thresholds are the tolerated failure ratio: 0.0 = every check must pass, 1.0 = never fail.
+ */
+public final class Scoreboard {
+
+  public enum Category {
+    MENU("menu", 0.0),
+    IMAGES("images", 0.5),
+    ACCORDIONS("accordions", 0.0),
+    DOM_IDS("dom.ids", 0.5),
+    DOM_TEXT("dom.text", 0.3);
+
+    private final String key;
+    private final double defaultThreshold;
+
+    Category(String key, double defaultThreshold) {
+      this.key = key;
+      this.defaultThreshold = defaultThreshold;
+    }
+
+    public double threshold() {
+      return ConfigUtil.getDouble(key + ".threshold", defaultThreshold);
+    }
+
+    @Override
+    public String toString() {
+      return key;
+    }
+  }
+
+  private static final Map<Category, Totals> totals = new EnumMap<>(Category.class);
+
+  static {
+    for (Category c : Category.values()) {
+      totals.put(c, new Totals());
+    }
+  }
+
+  private Scoreboard() {
+  }
+
+  /**
+   * Start scoring {@code planned} checks of a category (0 if unknown: then only
+   * {@link Tally#finish()} judges).
+   */
+  public static Tally start(Category category, int planned) {
+    return new Tally(category, category.threshold(), planned);
+  }
+
+  public static String summary() {
+    StringBuilder sb = new StringBuilder("Scoreboard:");
+    totals.forEach((category, t) -> {
+      long checks = t.checks.sum();
+      if (checks > 0) {
+        long failed = t.failures.sum();
+        sb.append(String.format(Locale.ROOT, " %s %d/%d failed (%.0f%%, threshold %.0f%%, "
+                + "%d over);", category, failed, checks, failed * 100.0 / checks,
+            category.threshold() * 100, t.breaches.sum()));
+      }
+    });
+    return sb.toString();
+  }
+
+  /**
+   * Outcomes of one category within one test; confined to the test's thread.
+   */
+  public static final class Tally {
+
+    private final Category category;
+    private final double threshold;
+    private int planned;
+    private int checks;
+    private final List<String> failures = new ArrayList<>();
+
+    private Tally(Category category, double threshold, int planned) {
+      this.category = category;
+      this.threshold = threshold;
+      this.planned = Math.max(0, planned);
+    }
+
+    /**
+     * Record one outcome; fails the test as soon as the planned checks can no longer meet the
+     * threshold.
+     */
+    public boolean record(boolean passed, String detail) {
+      checks++;
+      totals.get(category).checks.increment();
+      if (!passed) {
+        failures.add(detail);
+        totals.get(category).failures.increment();
+        LoggerUtil.warning(Scoreboard.class, "[" + category + "] " + detail);
+        if (planned > 0 && exceeds(Math.max(planned, checks))) {
+          breach("after " + checks + " of " + Math.max(planned, checks) + " planned checks");
+        }
+      }
+      return passed;
+    }
+
+    public void pass() {
+      record(true, null);
+    }
+
+    public void fail(String detail) {
+      record(false, detail);
+    }
+
+    /**
+     * Record a batch scored elsewhere (e.g. a DOM comparison): {@code total} checks of which
+     * {@code failed} failed, described by {@code details}.
+     */
+    public void recordAll(int total, int failed, List<String> details) {
+      planned = Math.max(planned, checks + total);
+      checks += total;
+      totals.get(category).checks.add(total);
+      totals.get(category).failures.add(failed);
+      for (int i = 0; i < failed; i++) {
+        failures.add(i < details.size() ? details.get(i) : "(unnamed)");
+      }
+      details.forEach(d -> LoggerUtil.warning(Scoreboard.class, "[" + category + "] " + d));
+      if (exceeds(planned)) {
+        breach("after " + checks + " of " + planned + " planned checks");
+      }
+    }
+
+    /**
+     * Judge the checks that actually ran; call once the test has recorded everything.
+     */
+    public void finish() {
+      if (exceeds(checks)) {
+        breach("over " + checks + " checks");
+      }
+    }
+
+    public List<String> failures() {
+      return Collections.unmodifiableList(failures);
+    }
+
+    public double failureRatio() {
+      return checks == 0 ? 0.0 : (double) failures.size() / checks;
+    }
+
+    private boolean exceeds(int denominator) {
+      // Small epsilon so 0.3 * 10 counts as 3 failures allowed
+      return denominator > 0 && failures.size() > threshold * denominator + 1e-9;
+    }
+
+    private void breach(String when) {
+      totals.get(category).breaches.increment();
+      throw new AssertionError(String.format(Locale.ROOT,
+          "%s threshold %.0f%% exceeded: %d failed %s:%n%s", category, threshold * 100,
+          failures.size(), when, String.join(System.lineSeparator(), failures)));
+    }
+  }
+
+  private static final class Totals {
+
+    final LongAdder checks = new LongAdder();
+    final LongAdder failures = new LongAdder();
+    final LongAdder breaches = new LongAdder();
+  }
+}
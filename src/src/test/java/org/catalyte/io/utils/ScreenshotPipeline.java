@@ -0,0 +1,161 @@
+package org.catalyte.io.utils;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import java.io.ByteArrayInputStream;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.HasCdp;
+
+/**
+ * Screenshots for test outcomes. The test thread only fetches the encoded image (one command) and
+ * registers the attachment with the running Allure test; decoding and writing the file happen on
+ * a background writer.
+ * <p>
+ * {@code screenshots.mode}: failures (default), sampled (failures plus every
+ * {@code screenshots.sample.every}-th other outcome) or all. With {@code screenshots.format=jpeg}
+ * Chromium sessions capture through CDP Page.captureScreenshot at
+ * {@code screenshots.jpeg.quality}, optionally limited to {@code screenshots.clip=x,y,width,height}
+ * (CSS px); other browsers fall back to PNG.
+ */
+public final class ScreenshotPipeline {
+
+  private static final String MODE =
+      ConfigUtil.getProperty("screenshots.mode", "failures").toLowerCase(Locale.ROOT);
+  private static final int SAMPLE_EVERY =
+      Math.max(1, ConfigUtil.getInt("screenshots.sample.every", 10));
+  private static final boolean JPEG =
+      "jpeg".equalsIgnoreCase(ConfigUtil.getProperty("screenshots.format", "png"));
+  private static final int JPEG_QUALITY = ConfigUtil.getInt("screenshots.jpeg.quality", 70);
+  private static final String CLIP = ConfigUtil.getProperty("screenshots.clip", "");
+
+  private static final ExecutorService writer = Executors.newFixedThreadPool(2, r -> {
+    Thread t = new Thread(r, "screenshot-writer");
+    t.setDaemon(true);
+    return t;
+  });
+  // Registered party per queued write, so drain() can wait for all of them
+  private static final Phaser pending = new Phaser(1);
+  private static final AtomicLong outcomes = new AtomicLong();
+  private static final LongAdder captured = new LongAdder();
+  private static final LongAdder failed = new LongAdder();
+  private static final LongAdder bytes = new LongAdder();
+  private static final LongAdder captureNanos = new LongAdder();
+
+  private ScreenshotPipeline() {
+  }
+
+  /**
+   * Screenshot for a finished test if the mode asks for one ({@code failure}: the test failed).
+   */
+  public static void onOutcome(WebDriver driver, String name, boolean failure) {
+    if (driver == null || !wanted(failure)) {
+      return;
+    }
+    long start = System.nanoTime();
+    Image image;
+    try {
+      image = fetch(driver);
+    } catch (WebDriverException | ClassCastException e) {
+      failed.increment();
+      LoggerUtil.fine(ScreenshotPipeline.class, () -> "Screenshot failed: " + e.getMessage());
+      return;
+    } finally {
+      captureNanos.add(System.nanoTime() - start);
+    }
+    AllureLifecycle lifecycle = Allure.getLifecycle();
+    if (lifecycle.getCurrentTestCaseOrStep().isEmpty()) {
+      return;
+    }
+    String source = lifecycle.prepareAttachment(name, image.type, image.extension);
+    pending.register();
+    writer.execute(() -> {
+      try {
+        byte[] decoded = Base64.getMimeDecoder().decode(image.base64);
+        bytes.add(decoded.length);
+        lifecycle.writeAttachment(source, new ByteArrayInputStream(decoded));
+        captured.increment();
+      } catch (RuntimeException e) {
+        failed.increment();
+        LoggerUtil.warning(ScreenshotPipeline.class, "Could not write " + source + ": " + e);
+      } finally {
+        pending.arriveAndDeregister();
+      }
+    });
+  }
+
+  /**
+   * Block until every queued screenshot is on disk (call before the report is generated).
+   */
+  public static void drain() {
+    pending.arriveAndAwaitAdvance();
+  }
+
+  public static String summary() {
+    long n = captured.sum();
+    return String.format(
+        "Screenshots (%s): %d written, %d failed, %.0f KB avg, %.0f ms on test threads",
+        MODE, n, failed.sum(), n == 0 ? 0 : bytes.sum() / 1024.0 / n, captureNanos.sum() / 1e6);
+  }
+
+  private static boolean wanted(boolean failure) {
+    return switch (MODE) {
+      case "all" -> true;
+      case "sampled" -> failure || outcomes.incrementAndGet() % SAMPLE_EVERY == 0;
+      default -> failure;
+    };
+  }
+
+  // Encoded image straight from the browser; decoding is left to the writer
+  private static Image fetch(WebDriver driver) {
+    if (JPEG && driver instanceof HasCdp cdp) {
+      Map<String, Object> params = new LinkedHashMap<>();
+      params.put("format", "jpeg");
+      params.put("quality", JPEG_QUALITY);
+      Map<String, Object> clip = clip();
+      if (clip != null) {
+        params.put("clip", clip);
+      }
+      Object data = cdp.executeCdpCommand("Page.captureScreenshot", params).get("data");
+      return new Image((String) data, "image/jpeg", "jpg");
+    }
+    return new Image(((TakesScreenshot) driver).getScreenshotAs(OutputType.BASE64), "image/png",
+        "png");
+  }
+
+  private static Map<String, Object> clip() {
+    String[] parts = CLIP.split(",");
+    if (parts.length != 4) {
+      return null;
+    }
+    return Map.of("x", Double.parseDouble(parts[0].trim()),
+        "y", Double.parseDouble(parts[1].trim()),
+        "width", Double.parseDouble(parts[2].trim()),
+        "height", Double.parseDouble(parts[3].trim()),
+        "scale", 1);
+  }
+
+  private static final class Image {
+
+    final String base64;
+    final String type;
+    final String extension;
+
+    Image(String base64, String type, String extension) {
+      this.base64 = base64;
+      this.type = type;
+      this.extension = extension;
+    }
+  }
+}
@@ -1,14 +0,0 @@
-package org.catalyte.io.utils;
-
-import io.qameta.allure.Attachment;
-import org.openqa.selenium.OutputType;
-import org.openqa.selenium.TakesScreenshot;
-import org.openqa.selenium.WebDriver;
-
-public class ScreenshotUtil {
-
-  @Attachment(value = "Screenshot", type = "image/png")
-  public static byte[] takeScreenshot(WebDriver driver) {
-    return ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
-  }
-}
\ No newline at end of file
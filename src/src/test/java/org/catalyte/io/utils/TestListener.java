@@ -6,30 +6,45 @@ import org.testng.ITestResult;
 
 public class TestListener implements ITestListener {
 
-  private static WebDriver driver;
+  // One driver per test thread so parallel methods screenshot their own browser
+  private static final ThreadLocal<WebDriver> driver = new ThreadLocal<>();
 
   public static void setDriver(WebDriver driverInstance) {
-    driver = driverInstance;
+    if (driverInstance == null) {
+      driver.remove();
+    } else {
+      driver.set(driverInstance);
+    }
+  }
+
+  private static WebDriver driver() {
+    WebDriver d = driver.get();
+    return d != null ? d : DriverFactory.currentDriver();
   }
 
+  // Log records from this thread carry the test name until it finishes
+  @Override
+  public void onTestStart(ITestResult result) {
+    LogContext.setTest(result.getTestClass().getRealClass().getSimpleName() + "."
+        + result.getMethod().getMethodName());
+  }
+
+  // Screenshots go through ScreenshotPipeline: fetched here, written off-thread
   @Override
   public void onTestFailure(ITestResult result) {
-    if (driver != null) {
-      ScreenshotUtil.takeScreenshot(driver);
-    }
+    ScreenshotPipeline.onOutcome(driver(), "Failure Screenshot", true);
+    LogContext.setTest(null);
   }
 
   @Override
   public void onTestSuccess(ITestResult result) {
-    if (driver != null) {
-      ScreenshotUtil.takeScreenshot(driver);
-    }
+    ScreenshotPipeline.onOutcome(driver(), "Screenshot", false);
+    LogContext.setTest(null);
   }
 
   @Override
   public void onTestSkipped(ITestResult result) {
-    if (driver != null) {
-      ScreenshotUtil.takeScreenshot(driver);
-    }
+    ScreenshotPipeline.onOutcome(driver(), "Skipped Screenshot", false);
+    LogContext.setTest(null);
   }
-}
\ No newline at end of file
+}